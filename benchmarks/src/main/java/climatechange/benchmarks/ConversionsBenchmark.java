@@ -0,0 +1,56 @@
+package climatechange.benchmarks;
+
+import climatechange.data.Coordinates;
+import climatechange.gui.rendering.Conversions;
+import javafx.geometry.Point3D;
+import javafx.scene.paint.Color;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions du rendu : température vers couleur, position 3D vers coordonnées géographiques.
+ * Chaque appel traite un lot de {@value #BATCH} valeurs, de l'ordre du nombre de zones du fichier réel.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionsBenchmark {
+    private static final int BATCH = 4096;
+    private static final float MAX_TEMP = 6;
+
+    private final float[] temperatures = new float[BATCH];
+    private final Point3D[] positions = new Point3D[BATCH];
+
+    @Setup(Level.Trial)
+    public void generate() {
+        Random random = new Random(42);
+        for (int i = 0; i < BATCH; i++) {
+            temperatures[i] = random.nextInt(10) == 0 ? Float.NaN : (float) (random.nextDouble() * 2 * MAX_TEMP - MAX_TEMP);
+            positions[i] = Conversions.geoCoordTo3dCoord(random.nextFloat() * 180 - 90, random.nextFloat() * 360 - 180);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void temperatureToColor(Blackhole blackhole) {
+        for (float temperature : temperatures) {
+            Color color = Conversions.temperatureToColor(temperature, -MAX_TEMP, MAX_TEMP);
+            blackhole.consume(color);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void coord3dTogeoCoord(Blackhole blackhole) {
+        for (Point3D position : positions) {
+            Coordinates coordinates = Conversions.coord3dTogeoCoord(position);
+            blackhole.consume(coordinates);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package climatechange.benchmarks;
+
+import climatechange.data.AnomalyCache;
+import climatechange.data.ResourceManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chargement complet d'un fichier d'anomalies par {@link ResourceManager#readTemperatureFile(String, boolean)}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IngestBenchmark {
+    @Param({"4", "2"})
+    public int step;
+
+    @Param({"1880"})
+    public int firstYear;
+
+    @Param({"2020"})
+    public int lastYear;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    public ResourceManager.LoadMode loadMode;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void generate() throws IOException {
+        file = SyntheticDataset.writeTemporary(step, firstYear, lastYear);
+    }
+
+    @TearDown(Level.Trial)
+    public void delete() throws IOException {
+        Files.deleteIfExists(AnomalyCache.cachePath(file));
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Analyse du fichier CSV, sans cache.
+     */
+    @Benchmark
+    public ResourceManager parse() throws IOException {
+        ResourceManager resourceManager = new ResourceManager();
+        resourceManager.setLoadMode(loadMode);
+        resourceManager.readTemperatureFile(file.toString());
+        return resourceManager;
+    }
+
+    /**
+     * Lecture par le cache binaire, écrit au premier appel.
+     */
+    @Benchmark
+    public ResourceManager cached() throws IOException {
+        ResourceManager resourceManager = new ResourceManager();
+        resourceManager.setLoadMode(loadMode);
+        resourceManager.readTemperatureFile(file.toString(), true);
+        return resourceManager;
+    }
+}
@@ -0,0 +1,122 @@
+package climatechange.benchmarks;
+
+import climatechange.data.AnomalySampler;
+import climatechange.data.ResourceManager;
+import climatechange.data.TemperatureMap;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requêtes sur des données chargées : par année, par zone, extremums et accès à une carte.
+ * Les années et les zones interrogées changent à chaque appel pour ne pas mesurer un seul cas.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class QueryBenchmark {
+    @Param({"4", "2"})
+    public int step;
+
+    @Param({"1880"})
+    public int firstYear;
+
+    @Param({"2020"})
+    public int lastYear;
+
+    private ResourceManager resourceManager;
+    private TemperatureMap temperatureMap;
+    private AnomalySampler.Grid renderGrid;
+    private float[] rendered;
+    private float[] anomalies;
+    private int[] latitudes, longitudes;
+    private int yearCount, cellCount, year, cell;
+
+    @Setup(Level.Trial)
+    public void load() throws IOException {
+        Path file = SyntheticDataset.writeTemporary(step, firstYear, lastYear);
+        resourceManager = new ResourceManager();
+        resourceManager.readTemperatureFile(file.toString());
+        Files.delete(file);
+
+        temperatureMap = resourceManager.getMap(lastYear);
+        anomalies = new float[resourceManager.getCube().getCellCount()];
+        // Grille de rendu quatre fois plus fine que celle des données dans chaque direction
+        renderGrid = resourceManager.getSampler().grid(4 * 180 / step, 4 * 360 / step);
+        rendered = new float[renderGrid.getRows() * renderGrid.getColumns()];
+        yearCount = resourceManager.getCube().getYearCount();
+        cellCount = resourceManager.getCube().getCellCount();
+        latitudes = new int[cellCount];
+        longitudes = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            latitudes[i] = resourceManager.getCube().getLatitude(i);
+            longitudes[i] = resourceManager.getCube().getLongitude(i);
+        }
+    }
+
+    private int nextYear() {
+        year = (year + 1) % yearCount;
+        return firstYear + year;
+    }
+
+    private int nextCell() {
+        // Pas premier avec le nombre de zones pour parcourir la grille dans le désordre
+        cell = (cell + 7919) % cellCount;
+        return cell;
+    }
+
+    @Benchmark
+    public Float[] anomaliesByYear() {
+        return resourceManager.getAnomalies(nextYear());
+    }
+
+    @Benchmark
+    public float[] anomalyValuesByYear() {
+        return resourceManager.getAnomalyValues(nextYear(), anomalies);
+    }
+
+    @Benchmark
+    public Float[] anomaliesByArea() {
+        int i = nextCell();
+        return resourceManager.getAnomalies(latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public Float minAnomaly() {
+        return resourceManager.getMinAnomaly();
+    }
+
+    @Benchmark
+    public Float maxAnomaly() {
+        return resourceManager.getMaxAnomaly();
+    }
+
+    @Benchmark
+    public Float temperatureMapGet() {
+        int i = nextCell();
+        return temperatureMap.get(latitudes[i], longitudes[i]);
+    }
+
+    @Benchmark
+    public TemperatureMap temperatureMapBuild() {
+        return resourceManager.getMap(nextYear());
+    }
+
+    @Benchmark
+    public float sampleAnomaly() {
+        int i = nextCell();
+        return resourceManager.getSampler().sample(year, latitudes[i] + 1.3, longitudes[i] - 0.7);
+    }
+
+    @Benchmark
+    public float[] sampleRenderGrid() {
+        nextYear();
+        return renderGrid.sample(year, rendered);
+    }
+}
@@ -0,0 +1,220 @@
+package climatechange.benchmarks;
+
+import climatechange.data.AnomalyCache;
+import climatechange.data.AnomalyCube;
+import climatechange.data.ResourceManager;
+import climatechange.gui.GlobalWarming3D;
+import climatechange.gui.rendering.GridMesh;
+import climatechange.gui.rendering.HistogramMesh;
+import climatechange.gui.rendering.Histograms;
+import climatechange.gui.rendering.MaterialPalette;
+import climatechange.gui.rendering.Quadrilaterals;
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Banc d'essai de la scène 3D sous JavaFX sans écran (Monocle, rendu logiciel).
+ * Pour chaque pas de grille, sur un fichier synthétique de 1880 à 2020 :
+ * <ul>
+ *     <li>construit chaque représentation des anomalies (quadrilatères, histogrammes et leurs maillages fusionnés)
+ *     et mesure le temps, les octets alloués et la mémoire retenue par zone ;</li>
+ *     <li>charge l'interface complète, attend la fin de son chargement et enchaîne les changements d'année par
+ *     {@link GlobalWarming3D#updateTemperatures(int)}, avec des nœuds séparés puis avec les maillages fusionnés.</li>
+ * </ul>
+ * Les arguments sont les pas de grille, en degrés (4 et 2 par défaut).
+ * La JVM doit être lancée avec -Dglass.platform=Monocle -Dmonocle.platform=Headless -Dprism.order=sw.
+ */
+public class SceneBenchmark {
+    private static final int FIRST_YEAR = 1880, LAST_YEAR = 2020;
+    private static final int BUILD_ROUNDS = 5, UPDATE_ROUNDS = 5, MAX_RETAINED_COPIES = 4096;
+    // Mémoire retenue à partir de laquelle la mesure dépasse nettement le bruit du ramasse-miettes
+    private static final long MIN_RETAINED_BYTES = 64 << 20;
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> steps = new ArrayList<>();
+        for (String arg : args) for (String step : arg.trim().split("\\s+")) if (!step.isEmpty()) steps.add(Integer.parseInt(step));
+        if (steps.isEmpty()) steps = List.of(4, 2);
+
+        Platform.startup(() -> {});
+        Platform.setImplicitExit(false);
+        try {
+            System.out.printf("%-5s %7s %-22s %10s %12s %12s %14s%n", "step", "cells", "build", "ms", "alloc MB", "alloc MB/s", "retained B/cell");
+            for (int step : steps) benchmarkBuild(step);
+
+            System.out.println();
+            System.out.printf("%-5s %7s %-22s %10s %14s %12s%n", "step", "cells", "year changes", "ms/change", "alloc KB/change", "alloc MB/s");
+            for (int step : steps) {
+                benchmarkUpdates(step, false);
+                benchmarkUpdates(step, true);
+            }
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Mesure la construction de chaque représentation des anomalies.
+     * @param step Le pas de la grille, en degrés.
+     */
+    private static void benchmarkBuild(int step) throws Exception {
+        Path file = SyntheticDataset.writeTemporary(step, FIRST_YEAR, LAST_YEAR);
+        ResourceManager resourceManager = new ResourceManager();
+        resourceManager.readTemperatureFile(file.toString());
+        Files.delete(file);
+
+        AnomalyCube cube = resourceManager.getCube();
+        int cellCount = cube.getCellCount();
+        int[] latitudes = new int[cellCount], longitudes = new int[cellCount];
+        for (int i = 0; i < cellCount; i++) {
+            latitudes[i] = cube.getLatitude(i);
+            longitudes[i] = cube.getLongitude(i);
+        }
+        float[] temperatures = resourceManager.getAnomalyValues(LAST_YEAR);
+        float maxTemp = resourceManager.getMaxAnomaly();
+        MaterialPalette palette = new MaterialPalette(resourceManager.getMinAnomaly(), maxTemp, MaterialPalette.DEFAULT_SIZE);
+        palette.getRampMaterial();
+
+        // Mêmes constructions que GlobalWarming3D.initQuadrilaterals, initHistograms, initGridMesh et initHistogramMesh
+        benchmarkBuild(step, cellCount, "quadrilaterals", () -> {
+            List<Node> nodes = new ArrayList<>(cellCount);
+            for (int i = 0; i < cellCount; i++)
+                nodes.add(Quadrilaterals.makeCenteredQuadrilateral(latitudes[i], longitudes[i], palette.getMaterial(temperatures[i]), step));
+            return nodes;
+        });
+        benchmarkBuild(step, cellCount, "histograms", () -> {
+            List<Node> nodes = new ArrayList<>(cellCount);
+            for (int i = 0; i < cellCount; i++)
+                nodes.add(Histograms.makeHistogram(latitudes[i], longitudes[i], palette.getMaterial(temperatures[i])));
+            return nodes;
+        });
+        benchmarkBuild(step, cellCount, "grid mesh", () -> new GridMesh(latitudes, longitudes, step, palette));
+        benchmarkBuild(step, cellCount, "histogram mesh", () -> new HistogramMesh(latitudes, longitudes, palette));
+    }
+
+    /**
+     * Mesure une construction sur le thread JavaFX : la meilleure durée sur quelques essais,
+     * les octets alloués par ce thread et la mémoire retenue par le résultat après ramasse-miettes, mesurée sur assez
+     * de copies retenues à la fois pour atteindre {@link #MIN_RETAINED_BYTES}.
+     * @param step Le pas de la grille, en degrés.
+     * @param cellCount Le nombre de zones.
+     * @param name Le nom de la représentation.
+     * @param build La construction.
+     */
+    private static void benchmarkBuild(int step, int cellCount, String name, Callable<Object> build) throws Exception {
+        long bestTime = Long.MAX_VALUE, allocated = 0;
+        for (int round = 0; round < BUILD_ROUNDS; round++) {
+            long[] measure = onFxThread(() -> {
+                long bytes = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+                long start = System.nanoTime();
+                build.call();
+                return new long[] {System.nanoTime() - start, THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes};
+            });
+            if (measure[0] < bestTime) {
+                bestTime = measure[0];
+                allocated = measure[1];
+            }
+        }
+
+        // Copies retenues à la fois, doublées jusqu'à ce que la mesure dépasse nettement le bruit du ramasse-miettes
+        List<Object> results = new ArrayList<>();
+        long before = usedHeap(), used = 0;
+        while (used < MIN_RETAINED_BYTES && results.size() < MAX_RETAINED_COPIES) {
+            for (int copy = Math.max(1, results.size()); copy > 0; copy--) results.add(onFxThread(build));
+            used = Math.max(0, usedHeap() - before);
+        }
+        long retained = used / results.size();
+        Reference.reachabilityFence(results);
+
+        System.out.printf("%-5d %7d %-22s %10.1f %12.1f %12.0f %14d%n", step, cellCount, name, bestTime / 1e6,
+                allocated / 1e6, allocated / 1e6 / (bestTime / 1e9), retained / cellCount);
+    }
+
+    /**
+     * Charge l'interface complète sur un fichier synthétique et enchaîne les changements d'année.
+     * @param step Le pas de la grille, en degrés.
+     * @param merged true pour utiliser les maillages fusionnés, false pour un nœud par zone.
+     */
+    private static void benchmarkUpdates(int step, boolean merged) throws Exception {
+        Path file = SyntheticDataset.writeTemporary(step, FIRST_YEAR, LAST_YEAR);
+        System.setProperty("climatechange.dataFile", file.toString());
+        System.setProperty("climatechange.mergedGrid", Boolean.toString(merged));
+        System.setProperty("climatechange.mergedHistograms", Boolean.toString(merged));
+
+        Stage stage = onFxThread(() -> {
+            FXMLLoader loader = new FXMLLoader(GlobalWarming3D.class.getResource("GlobalWarming3D.fxml"));
+            Parent root = loader.load();
+            Stage window = new Stage();
+            window.setScene(new Scene(root));
+            window.setUserData(loader.getController());
+            window.show();
+            return window;
+        });
+        GlobalWarming3D controller = (GlobalWarming3D) stage.getUserData();
+        controller.getStartup().get();
+        int cellCount = controller.resourceManager.getCube().getCellCount();
+
+        // Le premier tour sert de préchauffage
+        long bestTime = Long.MAX_VALUE, allocated = 0;
+        for (int round = 0; round <= UPDATE_ROUNDS; round++) {
+            long[] measure = onFxThread(() -> {
+                long bytes = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+                long start = System.nanoTime();
+                for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) controller.updateTemperatures(year);
+                return new long[] {System.nanoTime() - start, THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytes};
+            });
+            if (round > 0 && measure[0] < bestTime) {
+                bestTime = measure[0];
+                allocated = measure[1];
+            }
+        }
+
+        int changes = LAST_YEAR - FIRST_YEAR + 1;
+        System.out.printf("%-5d %7d %-22s %10.2f %14.1f %12.0f%n", step, cellCount, merged ? "merged meshes" : "nodes",
+                bestTime / 1e6 / changes, allocated / 1e3 / changes, allocated / 1e6 / (bestTime / 1e9));
+
+        onFxThread(() -> {
+            stage.close();
+            return null;
+        });
+        Files.deleteIfExists(AnomalyCache.cachePath(file));
+        Files.delete(file);
+    }
+
+    /**
+     * Exécute une tâche sur le thread JavaFX et attend son résultat.
+     * @param task La tâche.
+     * @param <T> Le type du résultat.
+     * @return Le résultat de la tâche.
+     */
+    private static <T> T onFxThread(Callable<T> task) throws Exception {
+        FutureTask<T> future = new FutureTask<>(task);
+        Platform.runLater(future);
+        return future.get();
+    }
+
+    /**
+     * Renvoie la mémoire utilisée du tas après ramasse-miettes.
+     * @return Les octets utilisés.
+     */
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
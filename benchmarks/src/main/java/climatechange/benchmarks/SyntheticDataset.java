@@ -0,0 +1,109 @@
+package climatechange.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Random;
+
+/**
+ * Générateur de fichiers d'anomalies au format de tempanomaly_4x4grid.csv :
+ * une ligne d'en-tête "lat","lon","année"..., puis une ligne par zone, les valeurs manquantes valant NA.
+ * Les zones sont centrées sur une grille régulière de pas entier ; la grille par défaut (pas de 4°, 1880-2020)
+ * reproduit les dimensions du fichier réel.
+ */
+public class SyntheticDataset {
+    public static final int DEFAULT_STEP = 4;
+    public static final int DEFAULT_FIRST_YEAR = 1880;
+    public static final int DEFAULT_LAST_YEAR = 2020;
+    public static final double DEFAULT_MISSING_RATIO = 0.3;
+
+    /**
+     * Écrit un fichier d'anomalies synthétique.
+     * Les anomalies suivent une tendance linéaire plus un bruit gaussien, avec une part de valeurs manquantes
+     * plus forte au début de la période, comme dans les relevés réels.
+     * @param path Le chemin du fichier.
+     * @param step Le pas de la grille, en degrés.
+     * @param firstYear La première année.
+     * @param lastYear La dernière année.
+     * @param missingRatio La part moyenne de valeurs manquantes, entre 0 et 1.
+     * @param seed La graine du générateur aléatoire.
+     * @return Le chemin du fichier.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static Path write(Path path, int step, int firstYear, int lastYear, double missingRatio, long seed) throws IOException {
+        if (step < 1 || step > 90 || lastYear < firstYear) throw new IllegalArgumentException("Invalid grid or year span");
+
+        Random random = new Random(seed);
+        int yearCount = lastYear - firstYear + 1;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+            writer.write("\"lat\",\"lon\"");
+            for (int year = firstYear; year <= lastYear; year++) writer.write(",\"" + year + "\"");
+            writer.newLine();
+
+            for (int lat = -90 + step / 2; lat < 90; lat += step) {
+                for (int lon = -180 + step / 2; lon < 180; lon += step) {
+                    writer.write(lat + "," + lon);
+                    for (int i = 0; i < yearCount; i++) {
+                        double progress = yearCount == 1 ? 1 : (double) i / (yearCount - 1);
+                        if (random.nextDouble() < missingRatio * 2 * (1 - progress)) writer.write(",NA");
+                        else writer.write("," + (progress * 1.5 - 0.3 + random.nextGaussian()));
+                    }
+                    writer.newLine();
+                }
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Écrit un fichier synthétique avec la part de valeurs manquantes et la graine par défaut.
+     * @param path Le chemin du fichier.
+     * @param step Le pas de la grille, en degrés.
+     * @param firstYear La première année.
+     * @param lastYear La dernière année.
+     * @return Le chemin du fichier.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static Path write(Path path, int step, int firstYear, int lastYear) throws IOException {
+        return write(path, step, firstYear, lastYear, DEFAULT_MISSING_RATIO, 42);
+    }
+
+    /**
+     * Écrit un fichier synthétique dans le répertoire temporaire, supprimé à l'arrêt de la JVM.
+     * @param step Le pas de la grille, en degrés.
+     * @param firstYear La première année.
+     * @param lastYear La dernière année.
+     * @return Le chemin du fichier.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static Path writeTemporary(int step, int firstYear, int lastYear) throws IOException {
+        Path path = Files.createTempFile("tempanomaly_" + step + "x" + step + "grid_", ".csv");
+        path.toFile().deleteOnExit();
+        return write(path, step, firstYear, lastYear);
+    }
+
+    /**
+     * Point d'entrée en ligne de commande.
+     * @param args Chemin du fichier, puis éventuellement pas de la grille, première et dernière année,
+     *             part de valeurs manquantes et graine.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: SyntheticDataset <file.csv> [step] [firstYear] [lastYear] [missingRatio] [seed]");
+            System.exit(1);
+        }
+        Path path = Paths.get(args[0]);
+        int step = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_STEP;
+        int firstYear = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FIRST_YEAR;
+        int lastYear = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_LAST_YEAR;
+        double missingRatio = args.length > 4 ? Double.parseDouble(args[4]) : DEFAULT_MISSING_RATIO;
+        long seed = args.length > 5 ? Long.parseLong(args[5]) : 42;
+
+        write(path, step, firstYear, lastYear, missingRatio, seed);
+        System.out.println("[Wrote " + path + " (" + Files.size(path) + " bytes)]");
+    }
+}
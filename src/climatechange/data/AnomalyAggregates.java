@@ -0,0 +1,202 @@
+package climatechange.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Agrégats temporels d'un cube d'anomalies, calculés pour toutes les zones à la fois sur une plage d'années :
+ * moyenne (par décennie ou glissante) et tendance linéaire en °C par décennie. Les valeurs NaN sont ignorées.
+ * Le cube est parcouru année par année, et chaque année est accumulée zone par zone dans des tableaux primitifs
+ * par une boucle sans branchement, que le compilateur JIT peut vectoriser.
+ * Les derniers résultats utilisés sont gardés en cache par opération et plage d'années, et ne doivent pas être modifiés ;
+ * le cache est borné, une moyenne glissante jouée année par année créant un nouvel agrégat à chaque année.
+ */
+public class AnomalyAggregates {
+
+    /**
+     * Opérations d'agrégation.
+     */
+    public enum Operation {
+        MEAN, TREND
+    }
+
+    // Nombre maximal d'agrégats gardés, chacun occupant un float par zone
+    private static final int MAX_CACHED = 16;
+
+    private final AnomalyCube cube;
+    private final Map<Query, float[]> cache = new LinkedHashMap<Query, float[]>(MAX_CACHED, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Query, float[]> eldest) {
+            return size() > MAX_CACHED;
+        }
+    };
+
+    /**
+     * Constructeur de la classe.
+     * @param cube Le cube d'anomalies.
+     */
+    public AnomalyAggregates(AnomalyCube cube) {
+        this.cube = cube;
+    }
+
+    /**
+     * Renvoie la moyenne de chaque zone sur une plage d'années.
+     * @param fromYear La première année de la plage.
+     * @param toYear La dernière année de la plage, incluse.
+     * @return La moyenne de chaque zone, dans l'ordre du cube, NaN si la zone n'a aucune valeur sur la plage.
+     */
+    public float[] getMeans(int fromYear, int toYear) {
+        return cached(new Query(Operation.MEAN, fromYear, toYear), () -> computeMeans(fromYear, toYear));
+    }
+
+    /**
+     * Renvoie la moyenne de chaque zone sur une décennie.
+     * @param decade La première année de la décennie (1950 pour 1950-1959).
+     * @return La moyenne de chaque zone, dans l'ordre du cube.
+     */
+    public float[] getDecadeMeans(int decade) {
+        return getMeans(decade, decade + 9);
+    }
+
+    /**
+     * Renvoie la moyenne glissante de chaque zone sur les années précédant une année donnée.
+     * @param year La dernière année de la fenêtre.
+     * @param window Le nombre d'années de la fenêtre.
+     * @return La moyenne de chaque zone, dans l'ordre du cube.
+     */
+    public float[] getRollingMeans(int year, int window) {
+        if (window < 1) throw new IllegalArgumentException("Window must be at least one year");
+        return getMeans(year - window + 1, year);
+    }
+
+    /**
+     * Renvoie la tendance linéaire de chaque zone sur une plage d'années, par la méthode des moindres carrés.
+     * @param fromYear La première année de la plage.
+     * @param toYear La dernière année de la plage, incluse.
+     * @return La pente de chaque zone en °C par décennie, dans l'ordre du cube,
+     *         NaN si la zone a moins de deux valeurs sur la plage.
+     */
+    public float[] getTrends(int fromYear, int toYear) {
+        return cached(new Query(Operation.TREND, fromYear, toYear), () -> computeTrends(fromYear, toYear));
+    }
+
+    /**
+     * Renvoie un agrégat quelconque.
+     * @param operation L'opération.
+     * @param fromYear La première année de la plage.
+     * @param toYear La dernière année de la plage, incluse.
+     * @return La valeur de chaque zone, dans l'ordre du cube.
+     */
+    public float[] get(Operation operation, int fromYear, int toYear) {
+        return operation == Operation.MEAN ? getMeans(fromYear, toYear) : getTrends(fromYear, toYear);
+    }
+
+    /**
+     * Vide le cache des agrégats.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Renvoie un agrégat depuis le cache, en le calculant s'il n'y est pas. Le calcul se fait hors du verrou :
+     * deux threads demandant le même agrégat peuvent le calculer tous les deux.
+     */
+    private float[] cached(Query query, Supplier<float[]> computation) {
+        synchronized (cache) {
+            float[] result = cache.get(query);
+            if (result != null) return result;
+        }
+        float[] result = computation.get();
+        synchronized (cache) {
+            cache.put(query, result);
+        }
+        return result;
+    }
+
+    private float[] computeMeans(int fromYear, int toYear) {
+        int cells = cube.getCellCount();
+        float[] anomalies = new float[cells];
+        double[] sums = new double[cells];
+        int[] counts = new int[cells];
+
+        YearAxis years = cube.getYearAxis();
+        for (int yearIndex = years.ceilingIndex(fromYear); yearIndex < years.size() && years.getYear(yearIndex) <= toYear; yearIndex++) {
+            cube.copyYear(yearIndex, anomalies);
+            for (int i = 0; i < cells; i++) {
+                float anomaly = anomalies[i];
+                boolean present = anomaly == anomaly; // faux pour NaN
+                sums[i] += present ? anomaly : 0;
+                counts[i] += present ? 1 : 0;
+            }
+        }
+
+        float[] means = new float[cells];
+        for (int i = 0; i < cells; i++) means[i] = counts[i] == 0 ? Float.NaN : (float) (sums[i] / counts[i]);
+        return means;
+    }
+
+    private float[] computeTrends(int fromYear, int toYear) {
+        int cells = cube.getCellCount();
+        float[] anomalies = new float[cells];
+        double[] sumX = new double[cells], sumY = new double[cells], sumXY = new double[cells], sumXX = new double[cells];
+        int[] counts = new int[cells];
+
+        // Années centrées sur la plage, pour limiter les erreurs d'arrondi
+        double center = (fromYear + (double) toYear) / 2;
+        YearAxis years = cube.getYearAxis();
+        for (int yearIndex = years.ceilingIndex(fromYear); yearIndex < years.size() && years.getYear(yearIndex) <= toYear; yearIndex++) {
+            cube.copyYear(yearIndex, anomalies);
+            double x = years.getYear(yearIndex) - center;
+            for (int i = 0; i < cells; i++) {
+                float anomaly = anomalies[i];
+                boolean present = anomaly == anomaly;
+                double y = present ? anomaly : 0, weight = present ? 1 : 0;
+                sumX[i] += weight * x;
+                sumY[i] += y;
+                sumXY[i] += y * x;
+                sumXX[i] += weight * x * x;
+                counts[i] += present ? 1 : 0;
+            }
+        }
+
+        float[] trends = new float[cells];
+        for (int i = 0; i < cells; i++) {
+            double denominator = counts[i] * sumXX[i] - sumX[i] * sumX[i];
+            trends[i] = counts[i] < 2 || denominator == 0 ? Float.NaN
+                    : (float) (10 * (counts[i] * sumXY[i] - sumX[i] * sumY[i]) / denominator);
+        }
+        return trends;
+    }
+
+    /**
+     * Clé du cache : une opération sur une plage d'années.
+     */
+    private static final class Query {
+        private final Operation operation;
+        private final int fromYear, toYear;
+
+        private Query(Operation operation, int fromYear, int toYear) {
+            this.operation = operation;
+            this.fromYear = fromYear;
+            this.toYear = toYear;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query query = (Query) o;
+            return operation == query.operation && fromYear == query.fromYear && toYear == query.toYear;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, fromYear, toYear);
+        }
+    }
+}
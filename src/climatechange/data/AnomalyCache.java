@@ -0,0 +1,391 @@
+package climatechange.data;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Classe gérant le cache binaire d'un fichier CSV d'anomalies.
+ * Le cache est un fichier voisin du CSV, en little-endian, composé :
+ * <ul>
+ *     <li>d'un en-tête (signature, version, taille, date de modification et empreinte du CSV,
+ *     géométrie de la grille, nombre d'années et de zones, minimum et maximum des anomalies) ;</li>
+ *     <li>des années, par ordre croissant, puis des latitudes et longitudes des zones ;</li>
+ *     <li>du cube d'anomalies brut, rangé année par année ;</li>
+ *     <li>du même cube rangé zone par zone, pour lire l'historique d'une zone d'un seul bloc.</li>
+ * </ul>
+ * Le cube est projeté en mémoire à l'ouverture, sans copie, par fenêtres d'au plus 1 Go : seules les pages
+ * des années et des zones lues sont chargées, à la demande, et le système peut les libérer. L'ouverture ne parcourt
+ * pas les anomalies, leur minimum et leur maximum étant lus dans l'en-tête. Le cache peut aussi être construit
+ * sans charger le CSV en mémoire, par {@link #convert(Path)}.
+ */
+public class AnomalyCache {
+    public static final String EXTENSION = ".gw3d";
+
+    private static final int MAGIC = 0x44335747; // "GW3D"
+    // 2 : années triées par ordre croissant, 3 : copie rangée zone par zone, 4 : minimum et maximum dans l'en-tête
+    private static final int VERSION = 4;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 8 + 6 * 4 + 4 + 4 + 4 + 4;
+    private static final int RANGE_POSITION = HEADER_SIZE - 8;
+    private static final int SAMPLE_SIZE = 64 * 1024;
+    private static final int TRANSPOSE_BUFFER_SIZE = 16 << 20;
+    private static final long MAX_MAPPING_SIZE = 1 << 30;
+
+    /**
+     * Renvoie le chemin du cache associé à un fichier CSV.
+     * @param source Le fichier CSV.
+     * @return Le chemin du cache.
+     */
+    public static Path cachePath(Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Ouvre le cache d'un fichier CSV s'il existe et correspond toujours au fichier.
+     * @param source Le fichier CSV.
+     * @return Le cube projeté en mémoire, ou null si le cache est absent ou périmé.
+     * @throws IOException Si le cache ou le CSV ne peuvent pas être lus.
+     */
+    public static AnomalyCube read(Path source) throws IOException {
+        return read(source, MAX_MAPPING_SIZE);
+    }
+
+    /**
+     * Ouvre le cache d'un fichier CSV en projetant les anomalies par fenêtres d'une taille donnée.
+     * @param source Le fichier CSV.
+     * @param maxWindowSize La taille maximale d'une fenêtre en octets, au plus 2 Go ; une fenêtre contient
+     *                      toujours au moins une année ou une zone entière.
+     * @return Le cube projeté en mémoire, ou null si le cache est absent ou périmé.
+     * @throws IOException Si le cache ou le CSV ne peuvent pas être lus.
+     */
+    static AnomalyCube read(Path source, long maxWindowSize) throws IOException {
+        Path cache = cachePath(source);
+        if (!Files.isRegularFile(cache)) return null;
+
+        // Seul un cache valide est projeté : un fichier projeté ne peut pas être remplacé sous Windows
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) return null;
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, buffer, 0);
+            buffer.flip();
+
+            // Validation de l'en-tête
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (buffer.getLong() != Files.size(source)
+                    || buffer.getLong() != Files.getLastModifiedTime(source).toMillis()
+                    || buffer.getLong() != fingerprint(source)) {
+                System.out.println("[Cache " + cache + " is outdated]");
+                return null;
+            }
+
+            // Géométrie de la grille (informative)
+            for (int i = 0; i < 6; i++) buffer.getInt();
+            int yearCount = buffer.getInt();
+            int cellCount = buffer.getInt();
+            float[] range = {buffer.getFloat(), buffer.getFloat()};
+            long values = (long) yearCount * cellCount;
+            long index = 4L * (yearCount + 2L * cellCount);
+            if (index > Integer.MAX_VALUE || channel.size() != HEADER_SIZE + index + 8 * values) return null;
+
+            // Index des années et des zones
+            int[] years = new int[yearCount];
+            int[] latitudes = new int[cellCount];
+            int[] longitudes = new int[cellCount];
+            ByteBuffer indexBuffer = ByteBuffer.allocate((int) index).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, indexBuffer, HEADER_SIZE);
+            indexBuffer.flip();
+            indexBuffer.asIntBuffer().get(years).get(latitudes).get(longitudes);
+
+            // Anomalies rangées année par année, puis zone par zone
+            long position = HEADER_SIZE + index;
+            FloatBuffer[] yearWindows = map(channel, position, yearCount, cellCount, maxWindowSize);
+            FloatBuffer[] cellWindows = map(channel, position + 4 * values, cellCount, yearCount, maxWindowSize);
+            return new AnomalyCube(years, latitudes, longitudes, yearWindows, cellWindows, range);
+        }
+    }
+
+    /**
+     * Projette en mémoire des lignes de même longueur, par fenêtres contenant chacune le même nombre
+     * de lignes entières, sauf la dernière.
+     * @param channel Le cache.
+     * @param position La position de la première ligne dans le cache.
+     * @param rowCount Le nombre de lignes.
+     * @param rowLength Le nombre d'anomalies par ligne.
+     * @param maxWindowSize La taille maximale d'une fenêtre en octets, dépassée seulement par une ligne plus longue.
+     * @return Les fenêtres, au moins une.
+     * @throws IOException Si le cache ne peut pas être projeté, ou si une ligne dépasse la taille d'une projection.
+     */
+    private static FloatBuffer[] map(FileChannel channel, long position, int rowCount, int rowLength, long maxWindowSize)
+            throws IOException {
+        if (4L * rowLength > Integer.MAX_VALUE) throw new IOException("Rows of " + rowLength + " anomalies cannot be mapped");
+        int rowsPerWindow = (int) Math.max(1, Math.min(rowCount, maxWindowSize / Math.max(1, 4L * rowLength)));
+        FloatBuffer[] windows = new FloatBuffer[Math.max(1, (rowCount + rowsPerWindow - 1) / rowsPerWindow)];
+        for (int i = 0; i < windows.length; i++) {
+            int rows = Math.min(rowsPerWindow, rowCount - i * rowsPerWindow);
+            windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, position + 4L * i * rowsPerWindow * rowLength,
+                    4L * rows * rowLength).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        }
+        return windows;
+    }
+
+    /**
+     * Écrit le cache d'un fichier CSV. Le cache est d'abord écrit dans un fichier temporaire
+     * puis renommé, pour ne jamais laisser de cache partiel.
+     * @param source Le fichier CSV dont le cube est issu.
+     * @param cube Le cube d'anomalies.
+     * @throws IOException Si le cache ne peut pas être écrit.
+     */
+    public static void write(Path source, AnomalyCube cube) throws IOException {
+        Path cache = cachePath(source);
+        Path temporary = cache.resolveSibling(cache.getFileName() + ".tmp");
+        int yearCount = cube.getYearCount();
+        int cellCount = cube.getCellCount();
+        int[] years = new int[yearCount], latitudes = new int[cellCount], longitudes = new int[cellCount];
+        for (int i = 0; i < yearCount; i++) years[i] = cube.getYear(i);
+        for (int i = 0; i < cellCount; i++) {
+            latitudes[i] = cube.getLatitude(i);
+            longitudes[i] = cube.getLongitude(i);
+        }
+        ByteBuffer header = header(source, years, latitudes, longitudes);
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) channel.write(header);
+
+            // Cube d'anomalies, écrit année par année
+            ByteBuffer year = ByteBuffer.allocate(4 * cellCount).order(ByteOrder.LITTLE_ENDIAN);
+            float[] anomalies = new float[cellCount];
+            float[] range = {Float.NaN, Float.NaN};
+            for (int i = 0; i < yearCount; i++) {
+                year.clear();
+                year.asFloatBuffer().put(cube.copyYear(i, anomalies));
+                while (year.hasRemaining()) channel.write(year);
+                for (float anomaly : anomalies) extend(range, anomaly);
+            }
+
+            // Copie rangée zone par zone
+            ByteBuffer cell = ByteBuffer.allocate(4 * yearCount).order(ByteOrder.LITTLE_ENDIAN);
+            float[] history = new float[yearCount];
+            for (int i = 0; i < cellCount; i++) {
+                cell.clear();
+                cell.asFloatBuffer().put(cube.copyCell(i, history));
+                while (cell.hasRemaining()) channel.write(cell);
+            }
+            writeRange(channel, range);
+        }
+        Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Construit le cache d'un fichier CSV sans charger ses anomalies en mémoire, pour les fichiers très longs.
+     * Le CSV est lu une seule fois, ses lignes étant écrites zone par zone dans un fichier temporaire au fil de la
+     * lecture ; ce fichier est ensuite transposé par tuiles de taille bornée, puis recopié tel quel
+     * comme copie rangée zone par zone. La mémoire utilisée ne dépend que du nombre de zones et d'années.
+     * @param source Le fichier CSV.
+     * @return true si le cache a été écrit, false si le fichier ne contient pas d'en-tête.
+     * @throws IOException Si le CSV ne peut pas être lu ou le cache écrit.
+     */
+    public static boolean convert(Path source) throws IOException {
+        Path cache = cachePath(source);
+        Path temporary = cache.resolveSibling(cache.getFileName() + ".tmp");
+        Path rowsFile = cache.resolveSibling(cache.getFileName() + ".rows");
+
+        try (FileChannel rows = FileChannel.open(rowsFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            AnomalyCube.Builder builder = new AnomalyCsvParser().stream(source.toString(), rows);
+            if (builder == null) return false;
+            int yearCount = builder.getYearCount(), cellCount = builder.getCellCount();
+            ByteBuffer header = header(source, builder.getYears(), builder.getLatitudes(), builder.getLongitudes());
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (header.hasRemaining()) channel.write(header);
+                float[] range = transpose(rows, yearCount, cellCount, channel);
+
+                // Copie rangée zone par zone : le fichier temporaire lui-même
+                long size = rows.size();
+                for (long position = 0; position < size; ) position += rows.transferTo(position, size - position, channel);
+                writeRange(channel, range);
+            }
+            Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(rowsFile);
+            Files.deleteIfExists(temporary);
+        }
+        return true;
+    }
+
+    /**
+     * Écrit année par année des anomalies rangées zone par zone. Les anomalies sont lues et écrites par tuiles
+     * de zones et d'années, de taille bornée, à des positions explicites : aucun des fichiers n'est projeté en mémoire,
+     * pour que le fichier temporaire puisse être supprimé et le cache remplacé aussitôt après, y compris sous Windows.
+     * @param rows Les anomalies rangées zone par zone, en little-endian.
+     * @param yearCount Le nombre d'années.
+     * @param cellCount Le nombre de zones.
+     * @param channel Le fichier dans lequel écrire les anomalies rangées année par année, à sa position courante,
+     *                qui est ensuite avancée à leur fin.
+     * @return Le minimum et le maximum des anomalies, NaN si aucune n'est renseignée.
+     * @throws IOException Si l'un des fichiers ne peut pas être lu ou écrit.
+     */
+    private static float[] transpose(FileChannel rows, int yearCount, int cellCount, FileChannel channel) throws IOException {
+        float[] range = {Float.NaN, Float.NaN};
+        if (yearCount == 0 || cellCount == 0) return range;
+        long start = channel.position();
+
+        // Tuiles à peu près carrées, qui ne se réduisent à une bande que si l'une des dimensions est petite
+        int tileSize = TRANSPOSE_BUFFER_SIZE / 4;
+        int side = (int) Math.sqrt(tileSize);
+        int tileYears = Math.min(yearCount, Math.max(side, tileSize / cellCount));
+        int tileCells = Math.min(cellCount, Math.max(1, tileSize / tileYears));
+        ByteBuffer tile = ByteBuffer.allocate(4 * tileYears * tileCells).order(ByteOrder.LITTLE_ENDIAN);
+        FloatBuffer tileValues = tile.asFloatBuffer();
+        ByteBuffer year = ByteBuffer.allocate(4 * tileCells).order(ByteOrder.LITTLE_ENDIAN);
+        FloatBuffer yearValues = year.asFloatBuffer();
+
+        for (int firstCell = 0; firstCell < cellCount; firstCell += tileCells) {
+            int cells = Math.min(tileCells, cellCount - firstCell);
+            for (int firstYear = 0; firstYear < yearCount; firstYear += tileYears) {
+                int years = Math.min(tileYears, yearCount - firstYear);
+
+                // Lecture des années de la tuile, zone par zone
+                for (int cell = 0; cell < cells; cell++) {
+                    tile.limit(4 * (cell + 1) * years).position(4 * cell * years);
+                    readFully(rows, tile, 4L * ((long) (firstCell + cell) * yearCount + firstYear));
+                }
+
+                // Écriture des zones de la tuile, année par année
+                for (int y = 0; y < years; y++) {
+                    for (int cell = 0; cell < cells; cell++) {
+                        float anomaly = tileValues.get(cell * years + y);
+                        yearValues.put(cell, anomaly);
+                        extend(range, anomaly);
+                    }
+                    year.clear().limit(4 * cells);
+                    long position = start + 4L * ((long) (firstYear + y) * cellCount + firstCell);
+                    while (year.hasRemaining()) channel.write(year, position + year.position());
+                }
+            }
+        }
+        channel.position(start + 4L * yearCount * cellCount);
+        return range;
+    }
+
+    /**
+     * Lit un fichier à partir d'une position jusqu'à remplir un tampon.
+     * @param channel Le fichier.
+     * @param buffer Le tampon, rempli de sa position à sa limite.
+     * @param position La position de la lecture dans le fichier.
+     * @throws IOException Si le fichier ne peut pas être lu ou se termine avant.
+     */
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        long offset = position - buffer.position();
+        while (buffer.hasRemaining())
+            if (channel.read(buffer, offset + buffer.position()) < 0) throw new EOFException("Unexpected end of " + channel);
+    }
+
+    /**
+     * Étend un intervalle à une anomalie, si elle est renseignée.
+     * @param range Le minimum et le maximum, NaN tant qu'aucune anomalie n'est renseignée.
+     * @param anomaly L'anomalie, éventuellement NaN.
+     */
+    private static void extend(float[] range, float anomaly) {
+        if (anomaly != anomaly) return; // NaN
+        if (!(anomaly >= range[0])) range[0] = anomaly;
+        if (!(anomaly <= range[1])) range[1] = anomaly;
+    }
+
+    /**
+     * Écrit le minimum et le maximum des anomalies dans l'en-tête, une fois le cube écrit.
+     * @param channel Le cache en cours d'écriture.
+     * @param range Le minimum et le maximum.
+     * @throws IOException Si le cache ne peut pas être écrit.
+     */
+    private static void writeRange(FileChannel channel, float[] range) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN).putFloat(range[0]).putFloat(range[1]);
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer, RANGE_POSITION + buffer.position());
+    }
+
+    /**
+     * Construit l'en-tête du cache et l'index des années et des zones.
+     * @param source Le fichier CSV.
+     * @param years Les années, par ordre croissant.
+     * @param latitudes Les latitudes des zones.
+     * @param longitudes Les longitudes des zones.
+     * @return L'en-tête, prêt à être écrit.
+     * @throws IOException Si le CSV ne peut pas être lu.
+     */
+    private static ByteBuffer header(Path source, int[] years, int[] latitudes, int[] longitudes) throws IOException {
+        int cellCount = latitudes.length;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + 4 * (years.length + 2 * cellCount)).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(MAGIC).putInt(VERSION);
+        header.putLong(Files.size(source));
+        header.putLong(Files.getLastModifiedTime(source).toMillis());
+        header.putLong(fingerprint(source));
+
+        // Géométrie de la grille : bornes et pas en latitude puis en longitude
+        int minLat = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE, latStep = 0;
+        int minLon = Integer.MAX_VALUE, maxLon = Integer.MIN_VALUE, lonStep = 0;
+        for (int i = 0; i < cellCount; i++) {
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+        for (int i = 0; i < cellCount; i++) {
+            latStep = gcd(latStep, latitudes[i] - minLat);
+            lonStep = gcd(lonStep, longitudes[i] - minLon);
+        }
+        header.putInt(minLat).putInt(maxLat).putInt(latStep).putInt(minLon).putInt(maxLon).putInt(lonStep);
+        header.putInt(years.length).putInt(cellCount);
+        header.putFloat(Float.NaN).putFloat(Float.NaN); // minimum et maximum, écrits une fois le cube parcouru
+
+        // Index des années et des zones
+        for (int year : years) header.putInt(year);
+        for (int latitude : latitudes) header.putInt(latitude);
+        for (int longitude : longitudes) header.putInt(longitude);
+        header.flip();
+        return header;
+    }
+
+    /**
+     * Calcule une empreinte rapide du fichier CSV à partir de son début et de sa fin.
+     * Associée à la taille et à la date de modification, elle suffit à détecter un fichier remplacé.
+     * @param source Le fichier CSV.
+     * @return L'empreinte CRC32 des premiers et derniers octets.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    private static long fingerprint(Path source) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+            for (long position : new long[] {0, Math.max(0, size - SAMPLE_SIZE)}) {
+                sample.clear();
+                while (sample.hasRemaining() && channel.read(sample, position + sample.position()) > 0);
+                sample.flip();
+                crc.update(sample);
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static int gcd(int a, int b) {
+        a = Math.abs(a);
+        b = Math.abs(b);
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+}
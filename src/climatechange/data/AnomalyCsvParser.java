@@ -0,0 +1,525 @@
+package climatechange.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Classe permettant de lire un fichier CSV d'anomalies de températures octet par octet.
+ * Le fichier est lu par fenêtres successives dans un ByteBuffer, et chaque champ est converti
+ * directement dans le cube d'anomalies, sans créer de String ni utiliser d'exceptions
+ * pour les valeurs non renseignées ("NA" ou champ vide).
+ * Les lignes étant indépendantes, le fichier peut aussi être découpé en blocs lus en parallèle.
+ */
+public class AnomalyCsvParser {
+    private static final int WINDOW_SIZE = 1 << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // En-tête du fichier : indice d'année de chaque colonne et années
+    private int[] columns, years;
+    // Position de fin du dernier champ lu
+    private int fieldEnd;
+
+    /**
+     * Lit un fichier CSV d'anomalies dont la première ligne contient les années.
+     * @param path Le chemin du fichier CSV.
+     * @return Le cube d'anomalies, ou null si le fichier ne contient pas d'en-tête.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    public AnomalyCube parse(String path) throws IOException {
+        return parse(path, 1);
+    }
+
+    /**
+     * Lit un fichier CSV d'anomalies en le découpant en blocs de lignes lus en parallèle.
+     * Les blocs sont fusionnés dans l'ordre du fichier, les zones gardent donc l'ordre de lecture.
+     * @param path Le chemin du fichier CSV.
+     * @param threads Le nombre de threads de lecture, 1 pour une lecture séquentielle.
+     * @return Le cube d'anomalies, ou null si le fichier ne contient pas d'en-tête.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    public AnomalyCube parse(String path, int threads) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long headerEnd = readHeader(channel);
+            if (headerEnd < 0) return null;
+
+            // Lecture séquentielle
+            if (threads <= 1 || size - headerEnd < 2 * MIN_CHUNK_SIZE) {
+                AnomalyCube.Builder builder = new AnomalyCube.Builder(years);
+                parseRange(channel, headerEnd, size, builder, null);
+                return builder.build();
+            }
+
+            // Lecture parallèle : un parseur et un cube partiel par bloc
+            long[] bounds = chunkBounds(channel, headerEnd, size,
+                    (int) Math.min((long) threads * CHUNKS_PER_THREAD, (size - headerEnd) / MIN_CHUNK_SIZE));
+            List<Callable<AnomalyCube.Builder>> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                long from = bounds[i], to = bounds[i + 1];
+                tasks.add(() -> {
+                    AnomalyCsvParser parser = new AnomalyCsvParser();
+                    parser.columns = columns;
+                    parser.years = years;
+                    AnomalyCube.Builder builder = new AnomalyCube.Builder(years);
+                    parser.parseRange(channel, from, to, builder, null);
+                    return builder;
+                });
+            }
+
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                List<AnomalyCube.Builder> parts = new ArrayList<>();
+                for (Future<AnomalyCube.Builder> part : pool.invokeAll(tasks)) parts.add(part.get());
+                return AnomalyCube.Builder.merge(years, parts);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while reading " + path, e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+                throw new IOException("Could not read " + path, e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Lit un fichier CSV d'anomalies sans garder ses anomalies en mémoire : après chaque fenêtre lue,
+     * les anomalies des zones sont écrites à la suite d'un fichier, zone par zone.
+     * @param path Le chemin du fichier CSV.
+     * @param rows Le fichier recevant les anomalies, en little-endian.
+     * @return Les années et les zones lues, dont les anomalies ne sont plus en mémoire,
+     *         ou null si le fichier ne contient pas d'en-tête.
+     * @throws IOException Si l'un des fichiers ne peut pas être lu ou écrit.
+     */
+    AnomalyCube.Builder stream(String path, FileChannel rows) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long headerEnd = readHeader(channel);
+            if (headerEnd < 0) return null;
+
+            AnomalyCube.Builder builder = new AnomalyCube.Builder(years);
+            parseRange(channel, headerEnd, channel.size(), builder, rows);
+            return builder;
+        }
+    }
+
+    /**
+     * Lit la ligne d'en-tête du fichier.
+     * @param channel Le fichier.
+     * @return La position du début de la deuxième ligne, ou -1 si le fichier ne contient pas d'en-tête.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    private long readHeader(FileChannel channel) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate(64 * 1024);
+        int lineEnd;
+        while ((lineEnd = lastLineEnd(window.array(), window.position())) < 0) {
+            if (!window.hasRemaining()) {
+                ByteBuffer larger = ByteBuffer.allocate(window.capacity() * 2);
+                window.flip();
+                larger.put(window);
+                window = larger;
+            }
+            if (channel.read(window, window.position()) < 0) {
+                lineEnd = window.position();
+                break;
+            }
+        }
+        // On ne garde que la première ligne
+        byte[] buffer = window.array();
+        int next = nextLine(buffer, 0, lineEnd);
+        int end = Math.min(next, lineEnd);
+
+        columns = parseHeader(buffer, 0, end);
+        if (columns == null) return -1;
+        years = headerYears(buffer, 0, end, columns);
+        return Math.min(next, channel.size());
+    }
+
+    /**
+     * Découpe une plage du fichier en blocs de tailles voisines, alignés sur des débuts de ligne.
+     * @param channel Le fichier.
+     * @param from Le début de la plage.
+     * @param to La fin de la plage.
+     * @param chunkCount Le nombre de blocs souhaité.
+     * @return Les bornes des blocs, de from à to.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    private static long[] chunkBounds(FileChannel channel, long from, long to, int chunkCount) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(from);
+        ByteBuffer probe = ByteBuffer.allocate(64 * 1024);
+
+        for (int i = 1; i < chunkCount; i++) {
+            // Recherche de la première fin de ligne à partir de la borne nominale
+            long position = Math.max(from + (to - from) * i / chunkCount - 1, bounds.get(bounds.size() - 1));
+            long bound = to;
+            while (position < to) {
+                probe.clear();
+                int read = channel.read(probe, position);
+                if (read <= 0) break;
+                int newline = -1;
+                for (int j = 0; j < read && newline < 0; j++) if (probe.get(j) == '\n') newline = j;
+                if (newline >= 0) {
+                    bound = position + newline + 1;
+                    break;
+                }
+                position += read;
+            }
+            if (bound > bounds.get(bounds.size() - 1) && bound < to) bounds.add(bound);
+        }
+        bounds.add(to);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    /**
+     * Lit les lignes de données comprises dans une plage du fichier, par fenêtres successives.
+     * La plage doit commencer et finir sur des débuts de ligne (ou la fin du fichier).
+     * @param channel Le fichier.
+     * @param from Le début de la plage.
+     * @param to La fin de la plage.
+     * @param builder Le cube en construction.
+     * @param rows Le fichier recevant les anomalies après chaque fenêtre, ou null pour les garder dans le cube.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    private void parseRange(FileChannel channel, long from, long to, AnomalyCube.Builder builder, FileChannel rows) throws IOException {
+        ByteBuffer window = ByteBuffer.allocate((int) Math.max(1, Math.min(WINDOW_SIZE, to - from)));
+        long offset = from; // Position dans le fichier du début de la fenêtre
+
+        while (true) {
+            // Remplissage de la fenêtre, sans dépasser la fin de la plage
+            long filePosition = offset + window.position();
+            int wanted = (int) Math.min(window.remaining(), to - filePosition);
+            boolean end = wanted <= 0;
+            if (!end) {
+                window.limit(window.position() + wanted);
+                end = channel.read(window, filePosition) < 0 || offset + window.position() >= to;
+                window.limit(window.capacity());
+            }
+            byte[] buffer = window.array();
+            int available = window.position();
+
+            // On ne traite que les lignes complètes, sauf en fin de plage
+            int limit = end ? available : lastLineEnd(buffer, available);
+            if (limit < 0) {
+                // Ligne plus longue que la fenêtre : on l'agrandit
+                if (!window.hasRemaining()) {
+                    ByteBuffer larger = ByteBuffer.allocate(window.capacity() * 2);
+                    window.flip();
+                    larger.put(window);
+                    window = larger;
+                }
+                continue;
+            }
+
+            int position = 0;
+            while (position < limit) {
+                parseRow(buffer, position, limit, columns, builder);
+                position = nextLine(buffer, position, limit);
+            }
+            if (rows != null) builder.flushRows(rows);
+            if (end) return;
+
+            // Conservation de la fin de fenêtre (ligne incomplète)
+            window.limit(available);
+            window.position(limit);
+            window.compact();
+            offset += limit;
+        }
+    }
+
+    /**
+     * Lit la ligne d'en-tête et associe chaque colonne à un indice d'année.
+     * Les indices suivent l'ordre croissant des années, quel que soit l'ordre des colonnes :
+     * le cube est ainsi construit directement sur un axe des années trié.
+     * @param buffer Les octets du fichier.
+     * @param position Le début de la ligne.
+     * @param limit La fin des données disponibles.
+     * @return L'indice d'année de chaque colonne d'anomalies (-1 si la colonne n'est pas une année
+     *         ou si l'année est en double), ou null si la ligne n'est pas un en-tête.
+     */
+    int[] parseHeader(byte[] buffer, int position, int limit) {
+        int end = lineEnd(buffer, position, limit);
+        int start = skipQuote(buffer, position, end);
+        if (end - start < 3 || buffer[start] != 'l' || buffer[start + 1] != 'a' || buffer[start + 2] != 't') {
+            System.out.println("[Missing header line]");
+            return null;
+        }
+
+        // Comptage des colonnes
+        int fieldCount = 1;
+        for (int i = position; i < end; i++) if (buffer[i] == ',') fieldCount++;
+        int[] columns = new int[Math.max(0, fieldCount - 2)];
+
+        // Lecture des années, triées avec leur colonne : (année << 32) | colonne
+        long[] sorted = new long[columns.length];
+        int yearCount = 0;
+        int field = nextField(buffer, nextField(buffer, position, end), end);
+        for (int column = 0; column < columns.length; column++) {
+            long year = parseInt(buffer, field, end);
+            columns[column] = -1;
+            if (year < Integer.MIN_VALUE || year > Integer.MAX_VALUE)
+                System.out.println("[Ignoring column " + (column + 2) + ": invalid year]");
+            else sorted[yearCount++] = year << 32 | column;
+            field = nextField(buffer, field, end);
+        }
+        Arrays.sort(sorted, 0, yearCount);
+
+        int index = 0;
+        for (int i = 0; i < yearCount; i++) {
+            int column = (int) sorted[i];
+            if (i > 0 && sorted[i] >> 32 == sorted[i - 1] >> 32)
+                System.out.println("[Ignoring column " + (column + 2) + ": duplicate year " + (sorted[i] >> 32) + "]");
+            else columns[column] = index++;
+        }
+        return columns;
+    }
+
+    /**
+     * Renvoie les années de l'en-tête, par ordre croissant.
+     * @param buffer Les octets du fichier.
+     * @param position Le début de la ligne d'en-tête.
+     * @param limit La fin des données disponibles.
+     * @param columns L'indice d'année de chaque colonne, tel que renvoyé par {@link #parseHeader(byte[], int, int)}.
+     * @return Les années.
+     */
+    int[] headerYears(byte[] buffer, int position, int limit, int[] columns) {
+        int end = lineEnd(buffer, position, limit);
+        int yearCount = 0;
+        for (int column : columns) if (column >= 0) yearCount++;
+        int[] years = new int[yearCount];
+
+        int field = nextField(buffer, nextField(buffer, position, end), end);
+        for (int column : columns) {
+            if (column >= 0) years[column] = (int) parseInt(buffer, field, end);
+            field = nextField(buffer, field, end);
+        }
+        return years;
+    }
+
+    /**
+     * Lit une ligne de données et ajoute ses anomalies au cube en construction.
+     * Les lignes dont les coordonnées sont invalides (lignes vides notamment) sont ignorées.
+     * @param buffer Les octets du fichier.
+     * @param position Le début de la ligne.
+     * @param limit La fin des données disponibles.
+     * @param columns L'indice d'année de chaque colonne d'anomalies.
+     * @param builder Le cube en construction.
+     */
+    void parseRow(byte[] buffer, int position, int limit, int[] columns, AnomalyCube.Builder builder) {
+        int end = lineEnd(buffer, position, limit);
+
+        long latitude = parseInt(buffer, position, end);
+        int field = nextField(buffer, position, end);
+        long longitude = parseInt(buffer, field, end);
+        if (latitude == Long.MIN_VALUE || longitude == Long.MIN_VALUE) return;
+
+        int row = builder.addCell((int) latitude, (int) longitude);
+        float[] rows = builder.getRows();
+        int yearCount = builder.getYearCount();
+
+        // Colonnes absentes en fin de ligne : valeurs non renseignées
+        for (int year = 0; year < yearCount; year++) rows[row + year] = Float.NaN;
+
+        field = nextField(buffer, field, end);
+        for (int column = 0; column < columns.length && field <= end; column++) {
+            float anomaly = parseFloat(buffer, field, end);
+            if (columns[column] >= 0) rows[row + columns[column]] = anomaly;
+            field = fieldEnd + 1;
+        }
+    }
+
+    /**
+     * Convertit un champ en entier.
+     * @param buffer Les octets du fichier.
+     * @param start Le début du champ.
+     * @param end La fin de la ligne.
+     * @return L'entier lu, ou Long.MIN_VALUE si le champ n'est pas un entier.
+     */
+    long parseInt(byte[] buffer, int start, int end) {
+        int i = skipQuote(buffer, start, end);
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) negative = buffer[i++] == '-';
+
+        long value = 0;
+        int digits = 0;
+        while (i < end && buffer[i] >= '0' && buffer[i] <= '9' && digits < 18) {
+            value = value * 10 + (buffer[i++] - '0');
+            digits++;
+        }
+        if (i < end && buffer[i] == '"') i++;
+        fieldEnd = i;
+        if (digits == 0 || (i < end && buffer[i] != ',')) {
+            fieldEnd = fieldEnd(buffer, i, end);
+            return Long.MIN_VALUE;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Convertit un champ en float. Les champs vides, "NA" ou invalides valent NaN.
+     * Les décimaux courants sont convertis directement, les cas ambigus pour l'arrondi
+     * sont délégués à Float.parseFloat.
+     * @param buffer Les octets du fichier.
+     * @param start Le début du champ.
+     * @param end La fin de la ligne.
+     * @return La valeur lue.
+     */
+    float parseFloat(byte[] buffer, int start, int end) {
+        int i = skipQuote(buffer, start, end);
+
+        // Cas rapide : champ vide ou "NA"
+        if (i == end || buffer[i] == ',') {
+            fieldEnd = i;
+            return Float.NaN;
+        }
+        if (buffer[i] == 'N') {
+            fieldEnd = fieldEnd(buffer, i, end);
+            return Float.NaN;
+        }
+
+        boolean negative = false;
+        if (buffer[i] == '-' || buffer[i] == '+') negative = buffer[i++] == '-';
+
+        long mantissa = 0;
+        int digits = 0, exponent = 0;
+        boolean exact = true, valid = false;
+        // Partie entière
+        for (; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+            valid = true;
+            if (mantissa == 0 && buffer[i] == '0') continue;
+            if (digits < 18) {
+                mantissa = mantissa * 10 + (buffer[i] - '0');
+                digits++;
+            }
+            else {
+                exponent++;
+                exact = false;
+            }
+        }
+        // Partie décimale
+        if (i < end && buffer[i] == '.') {
+            for (i++; i < end && buffer[i] >= '0' && buffer[i] <= '9'; i++) {
+                valid = true;
+                if (mantissa == 0 && buffer[i] == '0') {
+                    exponent--;
+                    continue;
+                }
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (buffer[i] - '0');
+                    digits++;
+                    exponent--;
+                }
+                else exact = false;
+            }
+        }
+        // Exposant
+        if (valid && i < end && (buffer[i] == 'e' || buffer[i] == 'E')) {
+            int j = i + 1;
+            boolean negativeExponent = false;
+            if (j < end && (buffer[j] == '-' || buffer[j] == '+')) negativeExponent = buffer[j++] == '-';
+            int value = 0;
+            boolean hasDigits = false;
+            for (; j < end && buffer[j] >= '0' && buffer[j] <= '9'; j++) {
+                if (value < 10000) value = value * 10 + (buffer[j] - '0');
+                hasDigits = true;
+            }
+            if (!hasDigits) valid = false;
+            exponent += negativeExponent ? -value : value;
+            i = j;
+        }
+        if (i < end && buffer[i] == '"') i++;
+        fieldEnd = fieldEnd(buffer, i, end);
+        if (!valid || fieldEnd != i) return Float.NaN;
+
+        if (mantissa == 0) return negative ? -0f : 0f;
+
+        // Conversion exacte en double (mantisse sur 53 bits, puissance de 10 exacte), puis arrondi en float
+        if (exact && mantissa < (1L << 53) && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            if (!isFloatMidpoint(value)) return (float) (negative ? -value : value);
+        }
+        return Float.parseFloat(new String(buffer, start, fieldEnd - start, StandardCharsets.US_ASCII).replace("\"", ""));
+    }
+
+    /**
+     * Indique si un double tombe exactement entre deux floats, auquel cas l'arrondi en float
+     * depuis le double peut différer de l'arrondi direct depuis le décimal.
+     * @param value La valeur positive.
+     * @return Vrai si l'arrondi est ambigu.
+     */
+    private static boolean isFloatMidpoint(double value) {
+        if (value < Float.MIN_NORMAL || value > Float.MAX_VALUE) return true;
+        return (Double.doubleToRawLongBits(value) & 0x1FFFFFFFL) == 0x10000000L;
+    }
+
+    /**
+     * Renvoie la position juste après la dernière fin de ligne disponible.
+     * @param buffer Les octets du fichier.
+     * @param end La fin des données disponibles.
+     * @return La position, ou -1 si aucune ligne n'est complète.
+     */
+    private static int lastLineEnd(byte[] buffer, int end) {
+        for (int i = end - 1; i >= 0; i--) if (buffer[i] == '\n') return i + 1;
+        return -1;
+    }
+
+    /**
+     * Renvoie la fin de la ligne commençant à une position (retour chariot exclu).
+     */
+    static int lineEnd(byte[] buffer, int position, int limit) {
+        int i = position;
+        while (i < limit && buffer[i] != '\n') i++;
+        return i > position && buffer[i - 1] == '\r' ? i - 1 : i;
+    }
+
+    /**
+     * Renvoie le début de la ligne suivante.
+     */
+    static int nextLine(byte[] buffer, int position, int limit) {
+        int i = position;
+        while (i < limit && buffer[i] != '\n') i++;
+        return i + 1;
+    }
+
+    /**
+     * Renvoie le début du champ suivant, ou la fin de ligne + 1 s'il n'y en a plus.
+     */
+    private static int nextField(byte[] buffer, int position, int end) {
+        return fieldEnd(buffer, position, end) + 1;
+    }
+
+    /**
+     * Renvoie la position de la virgule terminant le champ, ou la fin de ligne.
+     */
+    private static int fieldEnd(byte[] buffer, int position, int end) {
+        int i = position;
+        while (i < end && buffer[i] != ',') i++;
+        return i;
+    }
+
+    /**
+     * Passe un éventuel guillemet ouvrant.
+     */
+    private static int skipQuote(byte[] buffer, int position, int end) {
+        return position < end && buffer[position] == '"' ? position + 1 : position;
+    }
+}
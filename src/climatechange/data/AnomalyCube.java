@@ -0,0 +1,485 @@
+package climatechange.data;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe stockant l'ensemble des anomalies de températures dans un unique tableau de floats primitifs.
+ * Les valeurs sont rangées année par année, par ordre croissant des années : l'anomalie d'une zone pour une année se trouve à l'indice
+ * {@code indiceAnnée * nombreDeZones + indiceZone}. Les anomalies non renseignées valent NaN.
+ * Le tableau peut aussi être un FloatBuffer projeté en mémoire depuis le cache binaire ; une projection étant limitée
+ * à 2 Go, les anomalies sont alors réparties sur plusieurs fenêtres contenant chacune des années entières.
+ * Une copie rangée zone par zone permet de lire l'historique d'une zone d'un seul bloc : elle est projetée
+ * depuis le cache binaire, ou construite au premier besoin pour ne pas doubler la mémoire occupée par le cube.
+ */
+public class AnomalyCube {
+    // Fenêtres des anomalies rangées année par année : toutes contiennent yearsPerWindow années, sauf la dernière
+    private final FloatBuffer[] yearWindows;
+    private final int yearsPerWindow;
+    private final float[] array; // null si les anomalies ne sont pas en mémoire Java
+    private final int[] years;
+    private final YearAxis yearAxis;
+    private final int[] latitudes, longitudes;
+
+    // Au-delà de cette taille (et de 4 cases par zone), la table dense des zones est remplacée par une table de hachage
+    private static final long MAX_CELL_TABLE_SIZE = 1 << 16;
+
+    // Index (latitude, longitude) -> indice de zone, -1 si inconnue : table dense sur le rectangle englobant,
+    // ou table de hachage sur la clé Coordinates.pack si le rectangle est trop grand (cellTable vaut alors null)
+    private final int minLatitude, minLongitude, longitudeSpan;
+    private final int[] cellTable;
+    private final LongIntHashMap cellMap;
+
+    // Anomalies rangées zone par zone : l'historique d'une zone est contigu. Null tant qu'il n'a pas été demandé.
+    private volatile float[] cellMajor;
+    // Les mêmes, projetées en mémoire depuis le cache binaire par fenêtres de cellsPerWindow zones :
+    // null si elles ne sont pas disponibles sur disque
+    private final FloatBuffer[] cellWindows;
+    private final int cellsPerWindow;
+    // Minimum et maximum des anomalies lus dans l'en-tête du cache, null s'ils ne sont pas connus
+    private final float[] range;
+
+    /**
+     * Constructeur de la classe.
+     * @param years Les années, par ordre strictement croissant.
+     * @param latitudes Les latitudes des zones, dans l'ordre de lecture du fichier.
+     * @param longitudes Les longitudes des zones, dans l'ordre de lecture du fichier.
+     * @param anomalies Les anomalies, rangées année par année.
+     */
+    public AnomalyCube(int[] years, int[] latitudes, int[] longitudes, float[] anomalies) {
+        this(years, latitudes, longitudes, FloatBuffer.wrap(anomalies));
+    }
+
+    /**
+     * Constructeur de la classe à partir d'un FloatBuffer, par exemple projeté en mémoire.
+     * @param years Les années, par ordre strictement croissant.
+     * @param latitudes Les latitudes des zones, dans l'ordre de lecture du fichier.
+     * @param longitudes Les longitudes des zones, dans l'ordre de lecture du fichier.
+     * @param anomalies Les anomalies, rangées année par année, de la position 0 à la limite du buffer.
+     */
+    public AnomalyCube(int[] years, int[] latitudes, int[] longitudes, FloatBuffer anomalies) {
+        this(years, latitudes, longitudes, new FloatBuffer[] {anomalies}, null, null);
+    }
+
+    /**
+     * Constructeur de la classe à partir de fenêtres projetées en mémoire, rangées année par année et zone par zone.
+     * Chaque fenêtre contient des années entières (ou des zones entières), en même nombre sauf la dernière.
+     * @param years Les années, par ordre strictement croissant.
+     * @param latitudes Les latitudes des zones, dans l'ordre de lecture du fichier.
+     * @param longitudes Les longitudes des zones, dans l'ordre de lecture du fichier.
+     * @param yearWindows Les anomalies, rangées année par année, chaque fenêtre de la position 0 à sa limite.
+     * @param cellWindows Les mêmes anomalies, rangées zone par zone, ou null.
+     * @param range Le minimum et le maximum des anomalies, NaN si aucune n'est renseignée, ou null s'ils ne sont pas connus.
+     */
+    AnomalyCube(int[] years, int[] latitudes, int[] longitudes, FloatBuffer[] yearWindows, FloatBuffer[] cellWindows,
+                float[] range) {
+        if (latitudes.length != longitudes.length || yearWindows.length == 0
+                || (cellWindows != null && cellWindows.length == 0))
+            throw new IllegalArgumentException("Inconsistent cube dimensions");
+        this.yearsPerWindow = rowsPerWindow(yearWindows, latitudes.length, years.length);
+        this.cellsPerWindow = cellWindows == null ? 0 : rowsPerWindow(cellWindows, years.length, latitudes.length);
+        this.yearWindows = yearWindows;
+        this.cellWindows = cellWindows;
+        this.range = range;
+
+        this.years = years;
+        this.yearAxis = new YearAxis(years);
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        FloatBuffer first = yearWindows[0];
+        this.array = yearWindows.length == 1 && first.hasArray() && first.arrayOffset() == 0 ? first.array() : null;
+
+        // Table des zones, sur le rectangle englobant les coordonnées connues
+        int minLat = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE, minLon = Integer.MAX_VALUE, maxLon = Integer.MIN_VALUE;
+        for (int i = 0; i < latitudes.length; i++) {
+            minLat = Math.min(minLat, latitudes[i]);
+            maxLat = Math.max(maxLat, latitudes[i]);
+            minLon = Math.min(minLon, longitudes[i]);
+            maxLon = Math.max(maxLon, longitudes[i]);
+        }
+        minLatitude = latitudes.length == 0 ? 0 : minLat;
+        minLongitude = latitudes.length == 0 ? 0 : minLon;
+        long latitudeSpan = latitudes.length == 0 ? 0 : (long) maxLat - minLat + 1;
+        long lonSpan = latitudes.length == 0 ? 0 : (long) maxLon - minLon + 1;
+
+        if (latitudeSpan * lonSpan <= Math.max(MAX_CELL_TABLE_SIZE, 4L * latitudes.length)) {
+            longitudeSpan = (int) lonSpan;
+            cellTable = new int[(int) (latitudeSpan * lonSpan)];
+            cellMap = null;
+            Arrays.fill(cellTable, -1);
+            for (int i = 0; i < latitudes.length; i++)
+                cellTable[(latitudes[i] - minLatitude) * longitudeSpan + longitudes[i] - minLongitude] = i;
+        }
+        else {
+            longitudeSpan = 0;
+            cellTable = null;
+            cellMap = new LongIntHashMap(latitudes.length, -1);
+            for (int i = 0; i < latitudes.length; i++) cellMap.put(Coordinates.pack(latitudes[i], longitudes[i]), i);
+        }
+    }
+
+    /**
+     * Vérifie que des fenêtres contiennent exactement les lignes d'un cube, en même nombre dans chaque fenêtre
+     * sauf la dernière, et renvoie ce nombre.
+     * @param windows Les fenêtres.
+     * @param rowLength La longueur d'une ligne : le nombre de zones pour une année, ou d'années pour une zone.
+     * @param rowCount Le nombre de lignes.
+     * @return Le nombre de lignes par fenêtre.
+     */
+    private static int rowsPerWindow(FloatBuffer[] windows, int rowLength, int rowCount) {
+        int rowsPerWindow = windows.length == 1 || rowLength == 0 ? Math.max(1, rowCount) : windows[0].limit() / rowLength;
+        long remaining = (long) rowCount * rowLength;
+        for (int i = 0; i < windows.length; i++) {
+            long expected = i < windows.length - 1 ? (long) rowsPerWindow * rowLength : remaining;
+            if (windows[i].limit() != expected || rowsPerWindow == 0) throw new IllegalArgumentException("Inconsistent cube dimensions");
+            remaining -= expected;
+        }
+        if (remaining != 0) throw new IllegalArgumentException("Inconsistent cube dimensions");
+        return rowsPerWindow;
+    }
+
+    /**
+     * Renvoie une vue d'une ligne d'un cube réparti sur plusieurs fenêtres, positionnée au début de la ligne
+     * et limitée à sa fin.
+     * @param windows Les fenêtres.
+     * @param rowsPerWindow Le nombre de lignes par fenêtre.
+     * @param rowLength La longueur d'une ligne.
+     * @param row L'indice de la ligne.
+     * @return La vue de la ligne.
+     */
+    private static FloatBuffer row(FloatBuffer[] windows, int rowsPerWindow, int rowLength, int row) {
+        FloatBuffer window = windows[row / rowsPerWindow].duplicate();
+        int start = row % rowsPerWindow * rowLength;
+        window.limit(start + rowLength).position(start);
+        return window;
+    }
+
+    /**
+     * Renvoie le nombre d'années documentées.
+     * @return Le nombre d'années.
+     */
+    public int getYearCount() {
+        return years.length;
+    }
+
+    /**
+     * Renvoie le nombre de zones documentées.
+     * @return Le nombre de zones.
+     */
+    public int getCellCount() {
+        return latitudes.length;
+    }
+
+    /**
+     * Renvoie l'année correspondant à un indice.
+     * @param yearIndex L'indice de l'année.
+     * @return L'année.
+     */
+    public int getYear(int yearIndex) {
+        return years[yearIndex];
+    }
+
+    /**
+     * Renvoie la latitude d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return La latitude de la zone.
+     */
+    public int getLatitude(int cellIndex) {
+        return latitudes[cellIndex];
+    }
+
+    /**
+     * Renvoie la longitude d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return La longitude de la zone.
+     */
+    public int getLongitude(int cellIndex) {
+        return longitudes[cellIndex];
+    }
+
+    /**
+     * Renvoie l'axe des années du cube.
+     * @return L'axe des années, par ordre croissant.
+     */
+    public YearAxis getYearAxis() {
+        return yearAxis;
+    }
+
+    /**
+     * Renvoie l'indice d'une année.
+     * @param year L'année recherchée.
+     * @return L'indice de l'année, ou -1 si elle n'est pas documentée.
+     */
+    public int getYearIndex(int year) {
+        return yearAxis.indexOf(year);
+    }
+
+    /**
+     * Renvoie l'indice d'une zone.
+     * @param latitude La latitude de la zone.
+     * @param longitude La longitude de la zone.
+     * @return L'indice de la zone dans l'ordre de lecture du fichier, ou -1 si elle n'est pas documentée.
+     */
+    public int getCellIndex(int latitude, int longitude) {
+        if (cellTable == null) return cellMap.get(Coordinates.pack(latitude, longitude));
+
+        long lat = (long) latitude - minLatitude, lon = (long) longitude - minLongitude;
+        if (lat < 0 || lon < 0 || lon >= longitudeSpan) return -1;
+        long offset = lat * longitudeSpan + lon;
+        return offset < cellTable.length ? cellTable[(int) offset] : -1;
+    }
+
+    /**
+     * Renvoie l'anomalie d'une zone pour une année, à partir de leurs indices.
+     * @param yearIndex L'indice de l'année.
+     * @param cellIndex L'indice de la zone.
+     * @return L'anomalie, NaN si elle n'est pas renseignée.
+     */
+    public float get(int yearIndex, int cellIndex) {
+        if (array != null) return array[yearIndex * latitudes.length + cellIndex];
+        return yearWindows[yearIndex / yearsPerWindow].get(yearIndex % yearsPerWindow * latitudes.length + cellIndex);
+    }
+
+    /**
+     * Copie les anomalies de toutes les zones pour une année dans un tableau.
+     * @param yearIndex L'indice de l'année.
+     * @param destination Le tableau à remplir, de taille au moins égale au nombre de zones.
+     * @return Le tableau rempli.
+     */
+    public float[] copyYear(int yearIndex, float[] destination) {
+        if (array != null) System.arraycopy(array, yearIndex * latitudes.length, destination, 0, latitudes.length);
+        else row(yearWindows, yearsPerWindow, latitudes.length, yearIndex).get(destination, 0, latitudes.length);
+        return destination;
+    }
+
+    /**
+     * Copie les anomalies d'une zone pour toutes les années dans un tableau.
+     * @param cellIndex L'indice de la zone.
+     * @param destination Le tableau à remplir, de taille au moins égale au nombre d'années.
+     * @return Le tableau rempli.
+     */
+    public float[] copyCell(int cellIndex, float[] destination) {
+        if (cellWindows != null) row(cellWindows, cellsPerWindow, years.length, cellIndex).get(destination, 0, years.length);
+        else System.arraycopy(getCellMajor(), cellIndex * years.length, destination, 0, years.length);
+        return destination;
+    }
+
+    /**
+     * Renvoie une vue en lecture seule de l'historique d'une zone, sans copie.
+     * @param cellIndex L'indice de la zone.
+     * @return Les anomalies de la zone, une par année, de la position 0 à la limite de la vue.
+     */
+    public FloatBuffer getCellSeries(int cellIndex) {
+        if (cellWindows != null) return row(cellWindows, cellsPerWindow, years.length, cellIndex).slice().asReadOnlyBuffer();
+        return FloatBuffer.wrap(getCellMajor(), cellIndex * years.length, years.length).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Renvoie les anomalies rangées zone par zone, en les transposant au premier appel si besoin.
+     * @return Le tableau des anomalies, l'historique de chaque zone étant contigu.
+     */
+    private float[] getCellMajor() {
+        float[] result = cellMajor;
+        if (result == null) {
+            synchronized (this) {
+                result = cellMajor;
+                if (result == null) {
+                    int cellCount = latitudes.length;
+                    result = new float[years.length * cellCount];
+                    // Lecture séquentielle du cube, année par année
+                    for (int year = 0; year < years.length; year++)
+                        for (int cell = 0; cell < cellCount; cell++)
+                            result[cell * years.length + year] = get(year, cell);
+                    cellMajor = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Indique si les anomalies sont lues directement depuis un fichier projeté en mémoire, hors du tas Java.
+     * @return true si les anomalies ne sont pas dans un tableau Java.
+     */
+    public boolean isMapped() {
+        return array == null && yearWindows[0].isDirect();
+    }
+
+    /**
+     * Renvoie le minimum et le maximum des anomalies s'ils sont connus sans parcourir le cube,
+     * c'est-à-dire lus dans l'en-tête du cache binaire.
+     * @return Le minimum et le maximum, NaN si aucune anomalie n'est renseignée, ou null s'ils ne sont pas connus.
+     */
+    float[] getStoredRange() {
+        return range;
+    }
+
+    /**
+     * Renvoie une estimation de la mémoire occupée par le cube dans le tas Java : index des années et des zones,
+     * anomalies si elles ne sont pas projetées en mémoire, et copie rangée zone par zone si elle a été construite.
+     * @return La taille en octets.
+     */
+    public long getHeapBytes() {
+        long values = (long) years.length * latitudes.length;
+        long bytes = 4L * (years.length + 2L * latitudes.length);
+        bytes += 4L * (cellTable != null ? cellTable.length : 3L * latitudes.length);
+        if (!isMapped()) bytes += 4 * values;
+        if (cellMajor != null) bytes += 4 * values;
+        return bytes;
+    }
+
+    /**
+     * Classe permettant de construire un cube ligne par ligne, dans l'ordre de lecture du fichier CSV.
+     * Les lignes sont accumulées zone par zone puis transposées lors de la construction et libérées :
+     * le cube ne garde que les anomalies rangées année par année.
+     */
+    public static class Builder {
+        private final int[] years;
+        private int[] latitudes = new int[1024], longitudes = new int[1024];
+        private float[] rows;
+        private int cellCount = 0;
+        private int rowCount = 0; // zones dont les anomalies sont encore dans rows, les dernières ajoutées
+        private ByteBuffer flushBuffer;
+
+        /**
+         * Constructeur de la classe.
+         * @param years Les années, par ordre strictement croissant.
+         */
+        public Builder(int[] years) {
+            this.years = years;
+            this.rows = new float[latitudes.length * years.length];
+        }
+
+        /**
+         * Réserve une nouvelle zone et renvoie la position de sa première anomalie dans le tableau de lignes.
+         * @param latitude La latitude de la zone.
+         * @param longitude La longitude de la zone.
+         * @return La position de la ligne dans {@link #getRows()}.
+         */
+        public int addCell(int latitude, int longitude) {
+            if (cellCount == latitudes.length) {
+                latitudes = Arrays.copyOf(latitudes, cellCount * 2);
+                longitudes = Arrays.copyOf(longitudes, cellCount * 2);
+            }
+            if ((rowCount + 1) * years.length > rows.length) rows = Arrays.copyOf(rows, Math.max(1, rowCount * 2) * years.length);
+            latitudes[cellCount] = latitude;
+            longitudes[cellCount++] = longitude;
+            return rowCount++ * years.length;
+        }
+
+        /**
+         * Écrit les anomalies des zones ajoutées depuis le dernier appel à la suite d'un fichier, zone par zone
+         * et en little-endian, puis libère leur place : seules les coordonnées des zones restent en mémoire.
+         * Le cube ne peut alors plus être construit par {@link #build()}.
+         * @param channel Le fichier.
+         * @throws IOException Si le fichier ne peut pas être écrit.
+         */
+        void flushRows(FileChannel channel) throws IOException {
+            int values = rowCount * years.length;
+            if (flushBuffer == null || flushBuffer.capacity() < 4 * values)
+                flushBuffer = ByteBuffer.allocate(4 * Math.max(values, years.length)).order(ByteOrder.LITTLE_ENDIAN);
+            flushBuffer.clear();
+            flushBuffer.asFloatBuffer().put(rows, 0, values);
+            flushBuffer.limit(4 * values);
+            while (flushBuffer.hasRemaining()) channel.write(flushBuffer);
+            rowCount = 0;
+        }
+
+        /**
+         * Renvoie le nombre de zones ajoutées.
+         * @return Le nombre de zones.
+         */
+        int getCellCount() {
+            return cellCount;
+        }
+
+        /**
+         * Renvoie les années, par ordre croissant.
+         * @return Les années.
+         */
+        int[] getYears() {
+            return years;
+        }
+
+        /**
+         * Renvoie les latitudes des zones ajoutées.
+         * @return Les latitudes, dans l'ordre d'ajout.
+         */
+        int[] getLatitudes() {
+            return Arrays.copyOf(latitudes, cellCount);
+        }
+
+        /**
+         * Renvoie les longitudes des zones ajoutées.
+         * @return Les longitudes, dans l'ordre d'ajout.
+         */
+        int[] getLongitudes() {
+            return Arrays.copyOf(longitudes, cellCount);
+        }
+
+        /**
+         * Renvoie le nombre d'années, i.e la longueur d'une ligne.
+         * @return Le nombre d'années.
+         */
+        public int getYearCount() {
+            return years.length;
+        }
+
+        /**
+         * Renvoie le tableau de lignes, dans lequel les anomalies d'une zone sont contiguës.
+         * Le tableau peut être réalloué par {@link #addCell(int, int)}.
+         * @return Le tableau de lignes.
+         */
+        public float[] getRows() {
+            return rows;
+        }
+
+        /**
+         * Construit le cube à partir des lignes ajoutées.
+         * @return Le cube d'anomalies.
+         */
+        public AnomalyCube build() {
+            if (rowCount != cellCount) throw new IllegalStateException("Rows have been flushed");
+            float[] anomalies = new float[cellCount * years.length];
+            for (int cell = 0; cell < cellCount; cell++) {
+                int row = cell * years.length;
+                for (int year = 0; year < years.length; year++)
+                    anomalies[year * cellCount + cell] = rows[row + year];
+            }
+            rows = null;
+            return new AnomalyCube(years, Arrays.copyOf(latitudes, cellCount), Arrays.copyOf(longitudes, cellCount), anomalies);
+        }
+
+        /**
+         * Construit un cube à partir de plusieurs cubes partiels, concaténés dans l'ordre de la liste.
+         * @param years Les années, communes à tous les cubes partiels.
+         * @param parts Les cubes partiels, dans l'ordre de lecture du fichier.
+         * @return Le cube d'anomalies.
+         */
+        public static AnomalyCube merge(int[] years, List<Builder> parts) {
+            int cellCount = 0;
+            for (Builder part : parts) cellCount += part.cellCount;
+
+            int[] latitudes = new int[cellCount], longitudes = new int[cellCount];
+            float[] anomalies = new float[cellCount * years.length];
+            int firstCell = 0;
+            for (Builder part : parts) {
+                System.arraycopy(part.latitudes, 0, latitudes, firstCell, part.cellCount);
+                System.arraycopy(part.longitudes, 0, longitudes, firstCell, part.cellCount);
+                for (int cell = 0; cell < part.cellCount; cell++) {
+                    int row = cell * years.length;
+                    for (int year = 0; year < years.length; year++)
+                        anomalies[year * cellCount + firstCell + cell] = part.rows[row + year];
+                }
+                firstCell += part.cellCount;
+                part.rows = null;
+            }
+            return new AnomalyCube(years, latitudes, longitudes, anomalies);
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package climatechange.data;
+
+import java.util.Arrays;
+
+/**
+ * Échantillonnage des anomalies en un point quelconque du globe, par interpolation bilinéaire entre les centres
+ * des quatre zones voisines de la grille régulière du cube. Les zones sans valeur sont ignorées et les poids
+ * des autres renormalisés : le résultat ne vaut NaN que si aucune des quatre zones n'est renseignée.
+ * L'interpolation tient compte de la sphère : si la grille fait le tour du globe, elle se poursuit à travers
+ * l'antiméridien, et au-delà du dernier anneau de zones elle tend vers la moyenne de cet anneau, seule valeur
+ * possible au pôle où se rejoignent toutes les longitudes.
+ * Pour le rendu, une {@link Grid} précalcule une fois pour toutes les zones et les poids de chacun de ses points :
+ * le rééchantillonnage d'une année n'est alors plus qu'une boucle sur des tableaux primitifs.
+ */
+public class AnomalySampler {
+    // Au-delà de ce nombre de cases, les zones du cube ne sont pas considérées comme une grille régulière
+    private static final long MAX_GRID_SIZE = 1 << 22;
+
+    private final AnomalyCube cube;
+    private final int minLatitude, maxLatitude, minLongitude, latitudeStep, longitudeStep;
+    private final int rows, columns;
+    private final boolean wraps, southPole, northPole;
+
+    // Case (ligne, colonne) de la grille -> emplacement : indice de la zone, ou missing si elle n'est pas documentée
+    private final int[] slots;
+    private final int missing, south, north;
+
+    /**
+     * Constructeur de la classe.
+     * @param cube Le cube à échantillonner, dont les zones sont les centres d'une grille régulière en latitude et longitude.
+     * @throws IllegalArgumentException Si les zones du cube ne forment pas une grille régulière de taille raisonnable.
+     */
+    public AnomalySampler(AnomalyCube cube) {
+        this.cube = cube;
+        int cellCount = cube.getCellCount();
+        if (cellCount == 0) throw new IllegalArgumentException("Empty cube");
+
+        // Pas de la grille : plus grand diviseur commun des écarts à la première zone
+        int minLat = Integer.MAX_VALUE, maxLat = Integer.MIN_VALUE, minLon = Integer.MAX_VALUE, maxLon = Integer.MIN_VALUE;
+        long latStep = 0, lonStep = 0;
+        for (int i = 0; i < cellCount; i++) {
+            minLat = Math.min(minLat, cube.getLatitude(i));
+            maxLat = Math.max(maxLat, cube.getLatitude(i));
+            minLon = Math.min(minLon, cube.getLongitude(i));
+            maxLon = Math.max(maxLon, cube.getLongitude(i));
+            latStep = gcd(latStep, Math.abs((long) cube.getLatitude(i) - cube.getLatitude(0)));
+            lonStep = gcd(lonStep, Math.abs((long) cube.getLongitude(i) - cube.getLongitude(0)));
+        }
+        if (latStep == 0) latStep = 1;
+        if (lonStep == 0) lonStep = 1;
+        long rowCount = ((long) maxLat - minLat) / latStep + 1, columnCount = ((long) maxLon - minLon) / lonStep + 1;
+        if (minLat < -90 || maxLat > 90 || rowCount * columnCount > MAX_GRID_SIZE)
+            throw new IllegalArgumentException("Cells do not form a regular latitude-longitude grid");
+
+        this.minLatitude = minLat;
+        this.maxLatitude = maxLat;
+        this.minLongitude = minLon;
+        this.latitudeStep = (int) latStep;
+        this.longitudeStep = (int) lonStep;
+        this.rows = (int) rowCount;
+        this.columns = (int) columnCount;
+        this.wraps = columns * lonStep == 360;
+        this.southPole = minLat - latStep <= -90;
+        this.northPole = maxLat + latStep >= 90;
+
+        this.missing = cellCount;
+        this.south = cellCount + 1;
+        this.north = cellCount + 2;
+        this.slots = new int[rows * columns];
+        Arrays.fill(slots, missing);
+        for (int i = 0; i < cellCount; i++)
+            slots[(cube.getLatitude(i) - minLat) / latitudeStep * columns + (cube.getLongitude(i) - minLon) / longitudeStep] = i;
+    }
+
+    /**
+     * Renvoie l'anomalie interpolée en un point pour une année du cube.
+     * @param yearIndex L'indice de l'année.
+     * @param latitude La latitude du point, en degrés.
+     * @param longitude La longitude du point, en degrés.
+     * @return L'anomalie interpolée, NaN si aucune zone voisine n'est renseignée.
+     */
+    public float sample(int yearIndex, double latitude, double longitude) {
+        return sample(null, yearIndex, latitude, longitude);
+    }
+
+    /**
+     * Renvoie la valeur interpolée en un point pour des valeurs par zone quelconques, par exemple un agrégat.
+     * @param values La valeur de chaque zone, dans l'ordre du cube.
+     * @param latitude La latitude du point, en degrés.
+     * @param longitude La longitude du point, en degrés.
+     * @return La valeur interpolée, NaN si aucune zone voisine n'est renseignée.
+     */
+    public float sample(float[] values, double latitude, double longitude) {
+        return sample(values, -1, latitude, longitude);
+    }
+
+    private float sample(float[] values, int yearIndex, double latitude, double longitude) {
+        int[] corners = new int[4];
+        float[] weights = new float[4];
+        locate(latitude, longitude, corners, weights, 0);
+
+        double sum = 0, weightSum = 0;
+        for (int k = 0; k < 4; k++) {
+            if (weights[k] == 0) continue;
+            float value = valueAt(values, yearIndex, corners[k]);
+            if (value != value) continue;
+            sum += weights[k] * value;
+            weightSum += weights[k];
+        }
+        return weightSum > 0 ? (float) (sum / weightSum) : Float.NaN;
+    }
+
+    /**
+     * Méthode d'accès au pas de la grille du cube en latitude.
+     * @return L'écart en degrés entre deux anneaux de zones voisins.
+     */
+    public int getLatitudeStep() {
+        return latitudeStep;
+    }
+
+    /**
+     * Méthode d'accès au pas de la grille du cube en longitude.
+     * @return L'écart en degrés entre deux zones voisines d'un même anneau.
+     */
+    public int getLongitudeStep() {
+        return longitudeStep;
+    }
+
+    /**
+     * Renvoie le centre de la case de la grille du cube la plus proche d'un point, que sa zone soit documentée ou non.
+     * @param latitude La latitude du point, en degrés.
+     * @param longitude La longitude du point, en degrés.
+     * @return Les coordonnées du centre, ou null si le point est hors de la grille de plus d'un demi-pas
+     *         (sauf vers un pôle que la grille atteint, ou en longitude si elle fait le tour du globe).
+     */
+    public Coordinates nearestCenter(double latitude, double longitude) {
+        long row = Math.round((latitude - minLatitude) / latitudeStep);
+        if (row < 0 && southPole) row = 0;
+        if (row >= rows && northPole) row = rows - 1;
+        if (row < 0 || row >= rows) return null;
+
+        long column = Math.round((longitude - minLongitude) / longitudeStep);
+        if (wraps) column = Math.floorMod(column, columns);
+        else if (column < 0 || column >= columns) return null;
+        return Coordinates.of(minLatitude + (int) row * latitudeStep, minLongitude + (int) column * longitudeStep);
+    }
+
+    /**
+     * Crée une grille de rendu régulière, plus fine ou plus grossière que celle du cube, couvrant tout le globe.
+     * Les points sont les centres des cases, rangés ligne par ligne du sud au nord, et d'ouest en est dans chaque ligne.
+     * @param gridRows Le nombre de lignes, de -90° à 90° de latitude.
+     * @param gridColumns Le nombre de colonnes, de -180° à 180° de longitude.
+     * @return La grille.
+     */
+    public Grid grid(int gridRows, int gridColumns) {
+        return new Grid(gridRows, gridColumns);
+    }
+
+    /**
+     * Place un point sur la grille du cube : écrit les emplacements des quatre coins qui l'entourent
+     * et leurs poids bilinéaires, à partir de {@code 4 * point}.
+     */
+    private void locate(double latitude, double longitude, int[] corners, float[] weights, int point) {
+        // Longitude : colonnes encadrantes, en faisant le tour du globe si la grille le permet
+        double column = (longitude - minLongitude) / longitudeStep;
+        int c0, c1;
+        if (wraps) {
+            column -= columns * Math.floor(column / columns);
+            c0 = Math.min((int) column, columns - 1);
+            c1 = c0 + 1 == columns ? 0 : c0 + 1;
+        }
+        else {
+            column = Math.max(0, Math.min(columns - 1, column));
+            c0 = (int) column;
+            c1 = Math.min(c0 + 1, columns - 1);
+        }
+        double fc = column - c0;
+
+        // Latitude : anneaux encadrants, le pôle jouant le rôle d'un anneau de valeur uniforme
+        latitude = Math.max(-90, Math.min(90, latitude));
+        double row = (latitude - minLatitude) / latitudeStep;
+        int low0, low1, high0, high1;
+        double fr;
+        if (row < 0) {
+            high0 = slots[c0];
+            high1 = slots[c1];
+            low0 = southPole ? south : high0;
+            low1 = southPole ? south : high1;
+            fr = southPole ? (latitude + 90) / (minLatitude + 90) : 1;
+        }
+        else if (row > rows - 1) {
+            low0 = slots[(rows - 1) * columns + c0];
+            low1 = slots[(rows - 1) * columns + c1];
+            high0 = northPole ? north : low0;
+            high1 = northPole ? north : low1;
+            fr = northPole ? (latitude - maxLatitude) / (90 - maxLatitude) : 0;
+        }
+        else {
+            int r0 = Math.min((int) row, rows - 1), r1 = Math.min(r0 + 1, rows - 1);
+            low0 = slots[r0 * columns + c0];
+            low1 = slots[r0 * columns + c1];
+            high0 = slots[r1 * columns + c0];
+            high1 = slots[r1 * columns + c1];
+            fr = row - r0;
+        }
+
+        int at = 4 * point;
+        corners[at] = low0;
+        corners[at + 1] = low1;
+        corners[at + 2] = high0;
+        corners[at + 3] = high1;
+        weights[at] = (float) ((1 - fr) * (1 - fc));
+        weights[at + 1] = (float) ((1 - fr) * fc);
+        weights[at + 2] = (float) (fr * (1 - fc));
+        weights[at + 3] = (float) (fr * fc);
+    }
+
+    private float valueAt(float[] values, int yearIndex, int slot) {
+        if (slot < missing) return values != null ? values[slot] : cube.get(yearIndex, slot);
+        if (slot == missing) return Float.NaN;
+        return ringMean(values, yearIndex, slot == south ? 0 : rows - 1);
+    }
+
+    /**
+     * Renvoie la moyenne des valeurs renseignées d'un anneau de la grille, NaN s'il n'en a aucune.
+     */
+    private float ringMean(float[] values, int yearIndex, int row) {
+        double sum = 0;
+        int count = 0;
+        for (int c = 0; c < columns; c++) {
+            int slot = slots[row * columns + c];
+            if (slot == missing) continue;
+            float value = values != null ? values[slot] : cube.get(yearIndex, slot);
+            if (value != value) continue;
+            sum += value;
+            count++;
+        }
+        return count == 0 ? Float.NaN : (float) (sum / count);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    /**
+     * Grille de rendu dont chaque point connaît ses quatre zones voisines et leurs poids.
+     * Une grille réutilise un tableau interne à chaque échantillonnage : elle ne doit pas être partagée entre threads.
+     */
+    public class Grid {
+        private final int gridRows, gridColumns;
+        private final int[] corners;
+        private final float[] weights;
+        // Valeurs des zones, suivies d'une valeur NaN pour les zones absentes et des moyennes des deux anneaux polaires
+        private final float[] source;
+
+        private Grid(int gridRows, int gridColumns) {
+            if (gridRows < 1 || gridColumns < 1) throw new IllegalArgumentException("Grid must have at least one point");
+            this.gridRows = gridRows;
+            this.gridColumns = gridColumns;
+            this.corners = new int[4 * gridRows * gridColumns];
+            this.weights = new float[4 * gridRows * gridColumns];
+            this.source = new float[missing + 3];
+            for (int r = 0; r < gridRows; r++)
+                for (int c = 0; c < gridColumns; c++)
+                    locate(getLatitude(r), getLongitude(c), corners, weights, r * gridColumns + c);
+        }
+
+        /**
+         * Méthode d'accès au nombre de lignes.
+         * @return Le nombre de lignes.
+         */
+        public int getRows() {
+            return gridRows;
+        }
+
+        /**
+         * Méthode d'accès au nombre de colonnes.
+         * @return Le nombre de colonnes.
+         */
+        public int getColumns() {
+            return gridColumns;
+        }
+
+        /**
+         * Renvoie la latitude d'une ligne.
+         * @param row L'indice de la ligne.
+         * @return La latitude du centre des cases de la ligne.
+         */
+        public double getLatitude(int row) {
+            return -90 + (row + 0.5) * 180 / gridRows;
+        }
+
+        /**
+         * Renvoie la longitude d'une colonne.
+         * @param column L'indice de la colonne.
+         * @return La longitude du centre des cases de la colonne.
+         */
+        public double getLongitude(int column) {
+            return -180 + (column + 0.5) * 360 / gridColumns;
+        }
+
+        /**
+         * Rééchantillonne une année du cube sur la grille.
+         * @param yearIndex L'indice de l'année.
+         * @param destination Le tableau à remplir, de taille au moins égale au nombre de points.
+         * @return Le tableau rempli.
+         */
+        public float[] sample(int yearIndex, float[] destination) {
+            return sample(cube.copyYear(yearIndex, source), destination);
+        }
+
+        /**
+         * Rééchantillonne des valeurs par zone quelconques sur la grille.
+         * @param values La valeur de chaque zone, dans l'ordre du cube.
+         * @param destination Le tableau à remplir, de taille au moins égale au nombre de points.
+         * @return Le tableau rempli.
+         */
+        public float[] sample(float[] values, float[] destination) {
+            if (values != source) System.arraycopy(values, 0, source, 0, missing);
+            source[missing] = Float.NaN;
+            source[south] = ringMean(source, -1, 0);
+            source[north] = ringMean(source, -1, rows - 1);
+
+            // Boucle sans branchement : une valeur NaN est remplacée par 0 et son poids annulé
+            int points = gridRows * gridColumns;
+            for (int i = 0, at = 0; i < points; i++, at += 4) {
+                float v0 = source[corners[at]], v1 = source[corners[at + 1]];
+                float v2 = source[corners[at + 2]], v3 = source[corners[at + 3]];
+                float w0 = v0 == v0 ? weights[at] : 0, w1 = v1 == v1 ? weights[at + 1] : 0;
+                float w2 = v2 == v2 ? weights[at + 2] : 0, w3 = v3 == v3 ? weights[at + 3] : 0;
+                float sum = w0 * (v0 == v0 ? v0 : 0) + w1 * (v1 == v1 ? v1 : 0)
+                        + w2 * (v2 == v2 ? v2 : 0) + w3 * (v3 == v3 ? v3 : 0);
+                float weightSum = w0 + w1 + w2 + w3;
+                destination[i] = weightSum > 0 ? sum / weightSum : Float.NaN;
+            }
+            return destination;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package climatechange.data;
+
+import java.util.Arrays;
+
+/**
+ * Classe regroupant les statistiques d'un cube d'anomalies, calculées en un seul parcours au premier besoin :
+ * minimum, maximum, moyenne et nombre de valeurs renseignées, pour l'ensemble du cube,
+ * pour chaque année et pour chaque zone. Les valeurs NaN sont ignorées ; une année ou une zone
+ * sans aucune valeur renseignée a un minimum, un maximum et une moyenne NaN.
+ */
+public class AnomalyStatistics {
+    private final float min, max, mean;
+    private final long count;
+    private final float[] yearMin, yearMax, yearMean;
+    private final int[] yearCount;
+    private final float[] cellMin, cellMax, cellMean;
+    private final int[] cellCount;
+
+    /**
+     * Constructeur de la classe. Parcourt une fois l'ensemble du cube, année par année.
+     * @param cube Le cube d'anomalies.
+     */
+    public AnomalyStatistics(AnomalyCube cube) {
+        int years = cube.getYearCount();
+        int cells = cube.getCellCount();
+
+        yearMin = new float[years];
+        yearMax = new float[years];
+        yearMean = new float[years];
+        yearCount = new int[years];
+        cellMin = new float[cells];
+        cellMax = new float[cells];
+        cellMean = new float[cells];
+        cellCount = new int[cells];
+        Arrays.fill(cellMin, Float.POSITIVE_INFINITY);
+        Arrays.fill(cellMax, Float.NEGATIVE_INFINITY);
+        double[] cellSum = new double[cells];
+
+        float globalMin = Float.POSITIVE_INFINITY, globalMax = Float.NEGATIVE_INFINITY;
+        double globalSum = 0;
+        long globalCount = 0;
+        float[] anomalies = new float[cells];
+
+        for (int year = 0; year < years; year++) {
+            cube.copyYear(year, anomalies);
+            float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+            double sum = 0;
+            int count = 0;
+
+            for (int cell = 0; cell < cells; cell++) {
+                float anomaly = anomalies[cell];
+                if (anomaly != anomaly) continue; // NaN
+
+                if (anomaly < min) min = anomaly;
+                if (anomaly > max) max = anomaly;
+                sum += anomaly;
+                count++;
+
+                if (anomaly < cellMin[cell]) cellMin[cell] = anomaly;
+                if (anomaly > cellMax[cell]) cellMax[cell] = anomaly;
+                cellSum[cell] += anomaly;
+                cellCount[cell]++;
+            }
+
+            yearMin[year] = count == 0 ? Float.NaN : min;
+            yearMax[year] = count == 0 ? Float.NaN : max;
+            yearMean[year] = count == 0 ? Float.NaN : (float) (sum / count);
+            yearCount[year] = count;
+
+            if (count > 0) {
+                globalMin = Math.min(globalMin, min);
+                globalMax = Math.max(globalMax, max);
+                globalSum += sum;
+                globalCount += count;
+            }
+        }
+
+        for (int cell = 0; cell < cells; cell++) {
+            if (cellCount[cell] == 0) {
+                cellMin[cell] = Float.NaN;
+                cellMax[cell] = Float.NaN;
+                cellMean[cell] = Float.NaN;
+            }
+            else cellMean[cell] = (float) (cellSum[cell] / cellCount[cell]);
+        }
+
+        min = globalCount == 0 ? Float.NaN : globalMin;
+        max = globalCount == 0 ? Float.NaN : globalMax;
+        mean = globalCount == 0 ? Float.NaN : (float) (globalSum / globalCount);
+        count = globalCount;
+    }
+
+    /**
+     * Renvoie l'anomalie minimale du cube.
+     * @return Le minimum, NaN si aucune valeur n'est renseignée.
+     */
+    public float getMin() {
+        return min;
+    }
+
+    /**
+     * Renvoie l'anomalie maximale du cube.
+     * @return Le maximum, NaN si aucune valeur n'est renseignée.
+     */
+    public float getMax() {
+        return max;
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies renseignées du cube.
+     * @return La moyenne, NaN si aucune valeur n'est renseignée.
+     */
+    public float getMean() {
+        return mean;
+    }
+
+    /**
+     * Renvoie le nombre d'anomalies renseignées du cube.
+     * @return Le nombre de valeurs différentes de NaN.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Renvoie l'anomalie minimale d'une année.
+     * @param yearIndex L'indice de l'année.
+     * @return Le minimum de l'année.
+     */
+    public float getYearMin(int yearIndex) {
+        return yearMin[yearIndex];
+    }
+
+    /**
+     * Renvoie l'anomalie maximale d'une année.
+     * @param yearIndex L'indice de l'année.
+     * @return Le maximum de l'année.
+     */
+    public float getYearMax(int yearIndex) {
+        return yearMax[yearIndex];
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies renseignées d'une année.
+     * @param yearIndex L'indice de l'année.
+     * @return La moyenne de l'année.
+     */
+    public float getYearMean(int yearIndex) {
+        return yearMean[yearIndex];
+    }
+
+    /**
+     * Renvoie le nombre d'anomalies renseignées d'une année.
+     * @param yearIndex L'indice de l'année.
+     * @return Le nombre de zones renseignées cette année.
+     */
+    public int getYearCount(int yearIndex) {
+        return yearCount[yearIndex];
+    }
+
+    /**
+     * Renvoie l'anomalie minimale d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return Le minimum de la zone.
+     */
+    public float getCellMin(int cellIndex) {
+        return cellMin[cellIndex];
+    }
+
+    /**
+     * Renvoie l'anomalie maximale d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return Le maximum de la zone.
+     */
+    public float getCellMax(int cellIndex) {
+        return cellMax[cellIndex];
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies renseignées d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return La moyenne de la zone.
+     */
+    public float getCellMean(int cellIndex) {
+        return cellMean[cellIndex];
+    }
+
+    /**
+     * Renvoie le nombre d'anomalies renseignées d'une zone.
+     * @param cellIndex L'indice de la zone.
+     * @return Le nombre d'années renseignées pour cette zone.
+     */
+    public int getCellCount(int cellIndex) {
+        return cellCount[cellIndex];
+    }
+}
@@ -1,11 +1,22 @@
 package climatechange.data;
 
-import java.util.Objects;
-
 /**
  * Classe représentant des coordonnées géographiques.
+ * Les coordonnées entières du globe sont partagées : {@link #of(int, int)} renvoie toujours la même instance
+ * pour une même zone, sans allocation. Une zone peut aussi être désignée par une clé long, voir {@link #pack(int, int)}.
  */
 public class Coordinates {
+    private static final int MIN_LATITUDE = -90, MAX_LATITUDE = 90, MIN_LONGITUDE = -180, MAX_LONGITUDE = 180;
+    private static final int LONGITUDE_SPAN = MAX_LONGITUDE - MIN_LONGITUDE + 1;
+    // Instances partagées, toutes créées au chargement de la classe : of() est sûre depuis plusieurs threads
+    private static final Coordinates[] GRID = new Coordinates[(MAX_LATITUDE - MIN_LATITUDE + 1) * LONGITUDE_SPAN];
+
+    static {
+        for (int latitude = MIN_LATITUDE, index = 0; latitude <= MAX_LATITUDE; latitude++)
+            for (int longitude = MIN_LONGITUDE; longitude <= MAX_LONGITUDE; longitude++, index++)
+                GRID[index] = new Coordinates(latitude, longitude);
+    }
+
     private final int latitude, longitude;
 
     /**
@@ -19,6 +30,55 @@ public class Coordinates {
         this.longitude = longitude;
     }
 
+    /**
+     * Renvoie les coordonnées d'une zone, partagées si elles sont sur le globe.
+     * @param latitude La latitude.
+     * @param longitude La longitude.
+     * @return Les coordonnées, la même instance à chaque appel entre -90° et 90° de latitude et -180° et 180° de longitude.
+     */
+    public static Coordinates of(int latitude, int longitude) {
+        if (latitude < MIN_LATITUDE || latitude > MAX_LATITUDE || longitude < MIN_LONGITUDE || longitude > MAX_LONGITUDE)
+            return new Coordinates(latitude, longitude);
+
+        return GRID[(latitude - MIN_LATITUDE) * LONGITUDE_SPAN + longitude - MIN_LONGITUDE];
+    }
+
+    /**
+     * Regroupe une latitude et une longitude dans une clé unique.
+     * @param latitude La latitude.
+     * @param longitude La longitude.
+     * @return La clé : la latitude dans les 32 bits de poids fort, la longitude dans ceux de poids faible.
+     */
+    public static long pack(int latitude, int longitude) {
+        return (long) latitude << 32 | (longitude & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Renvoie la latitude d'une clé créée par {@link #pack(int, int)}.
+     * @param key La clé.
+     * @return La latitude.
+     */
+    public static int latitudeOf(long key) {
+        return (int) (key >> 32);
+    }
+
+    /**
+     * Renvoie la longitude d'une clé créée par {@link #pack(int, int)}.
+     * @param key La clé.
+     * @return La longitude.
+     */
+    public static int longitudeOf(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Renvoie la clé de ces coordonnées.
+     * @return La clé, voir {@link #pack(int, int)}.
+     */
+    public long getKey() {
+        return pack(latitude, longitude);
+    }
+
     /**
      * Méthode d'accès à la latitude.
      * @return La latitude.
@@ -55,7 +115,8 @@ public class Coordinates {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(getLatitude(), getLongitude());
+        // Même valeur que Objects.hash(latitude, longitude), sans tableau ni boxing
+        return 31 * (31 + latitude) + longitude;
     }
 
     @Override
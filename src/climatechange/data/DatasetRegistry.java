@@ -0,0 +1,265 @@
+package climatechange.data;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registre des jeux de données disponibles (résolutions, références ou variables différentes), chargés à la demande.
+ * Les jeux chargés sont gardés dans un cache LRU borné par la mémoire qu'ils occupent dans le tas Java.
+ * Chaque jeu est lu paresseusement depuis son cache binaire : un fichier CSV n'est converti qu'une fois, sans être
+ * chargé dans le tas, puis ses anomalies sont projetées en mémoire depuis le disque. Un jeu évincé du registre
+ * peut ainsi être rechargé sans relire le CSV.
+ * Après chaque accès, le jeu suivant dans l'ordre d'enregistrement est préchargé en arrière-plan
+ * s'il reste de la place dans le budget.
+ */
+public class DatasetRegistry {
+    private final Map<String, Path> sources = new LinkedHashMap<>();
+    private final long maxBytes;
+
+    // Jeux chargés, du moins au plus récemment utilisé, et leur poids au dernier accès
+    private final LinkedHashMap<String, ResourceManager> loaded = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Long> weights = new HashMap<>();
+    private final Map<String, CompletableFuture<ResourceManager>> pending = new HashMap<>();
+    private long loadedBytes = 0;
+    private boolean warmUpEnabled = true;
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dataset-warm-up");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Constructeur de la classe.
+     * @param maxBytes La mémoire maximale occupée par les jeux chargés, en octets.
+     */
+    public DatasetRegistry(long maxBytes) {
+        if (maxBytes < 0) throw new IllegalArgumentException("Negative cache size");
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Crée un registre à partir d'une liste de jeux de la forme {@code nom=chemin;nom=chemin}.
+     * @param specification La liste des jeux.
+     * @param maxBytes La mémoire maximale occupée par les jeux chargés, en octets.
+     * @return Le registre.
+     */
+    public static DatasetRegistry parse(String specification, long maxBytes) {
+        DatasetRegistry registry = new DatasetRegistry(maxBytes);
+        for (String entry : specification.split(";")) {
+            if (entry.trim().isEmpty()) continue;
+            int separator = entry.indexOf('=');
+            if (separator <= 0) throw new IllegalArgumentException("Expected name=path, got " + entry);
+            registry.register(entry.substring(0, separator).trim(), Paths.get(entry.substring(separator + 1).trim()));
+        }
+        return registry;
+    }
+
+    /**
+     * Enregistre un jeu de données, sans le charger.
+     * @param name Le nom du jeu.
+     * @param source Le fichier CSV du jeu.
+     */
+    public synchronized void register(String name, Path source) {
+        if (sources.putIfAbsent(name, source) != null) throw new IllegalArgumentException("Dataset " + name + " already registered");
+    }
+
+    /**
+     * Renvoie les noms des jeux enregistrés.
+     * @return Les noms, dans l'ordre d'enregistrement.
+     */
+    public synchronized List<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(sources.keySet()));
+    }
+
+    /**
+     * Méthode d'accès au fichier d'un jeu.
+     * @param name Le nom du jeu.
+     * @return Le fichier CSV du jeu, ou null s'il n'est pas enregistré.
+     */
+    public synchronized Path getSource(String name) {
+        return sources.get(name);
+    }
+
+    /**
+     * Indique si un jeu est chargé.
+     * @param name Le nom du jeu.
+     * @return true si le jeu est dans le cache.
+     */
+    public synchronized boolean isLoaded(String name) {
+        return loaded.containsKey(name);
+    }
+
+    /**
+     * Méthode d'accès à la mémoire occupée par les jeux chargés, estimée à leur dernier accès.
+     * @return La taille en octets.
+     */
+    public synchronized long getLoadedBytes() {
+        return loadedBytes;
+    }
+
+    /**
+     * Méthode d'accès à la mémoire maximale occupée par les jeux chargés.
+     * @return La taille en octets.
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Active ou désactive le préchargement du jeu suivant après chaque accès.
+     * @param warmUpEnabled Vrai pour précharger.
+     */
+    public synchronized void setWarmUpEnabled(boolean warmUpEnabled) {
+        this.warmUpEnabled = warmUpEnabled;
+    }
+
+    /**
+     * Renvoie un jeu de données, en le chargeant s'il n'est pas dans le cache.
+     * Si le jeu est déjà en cours de chargement, par un autre appel ou par le préchargement, ce chargement est attendu
+     * plutôt que relancé : un même fichier n'est jamais converti deux fois en même temps.
+     * @param name Le nom du jeu.
+     * @return Les données du jeu.
+     * @throws IllegalArgumentException Si le jeu n'est pas enregistré.
+     * @throws IllegalStateException Si le jeu ne peut pas être lu.
+     */
+    public ResourceManager get(String name) {
+        CompletableFuture<ResourceManager> created = new CompletableFuture<>();
+        CompletableFuture<ResourceManager> loading;
+        synchronized (this) {
+            ResourceManager manager = loaded.get(name);
+            if (manager != null) {
+                reweigh(name, manager);
+                warmUpNext(name);
+                return manager;
+            }
+            if (!sources.containsKey(name)) throw new IllegalArgumentException("Unknown dataset " + name);
+            loading = pending.computeIfAbsent(name, key -> created);
+        }
+
+        // Chargement sur le thread appelant, si aucun autre n'est en cours
+        if (loading == created) {
+            try {
+                created.complete(load(name));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+            }
+        }
+
+        ResourceManager manager;
+        try {
+            manager = loading.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        synchronized (this) {
+            warmUpNext(name);
+        }
+        return manager;
+    }
+
+    /**
+     * Précharge un jeu de données en arrière-plan, s'il n'est ni chargé ni déjà en cours de chargement.
+     * @param name Le nom du jeu.
+     * @return Le chargement du jeu.
+     */
+    public synchronized CompletableFuture<ResourceManager> warmUp(String name) {
+        ResourceManager manager = loaded.get(name);
+        if (manager != null) return CompletableFuture.completedFuture(manager);
+        return pending.computeIfAbsent(name, key -> CompletableFuture.supplyAsync(() -> load(key), warmUpExecutor));
+    }
+
+    /**
+     * Retire tous les jeux du cache.
+     */
+    public synchronized void clear() {
+        loaded.clear();
+        weights.clear();
+        loadedBytes = 0;
+    }
+
+    /**
+     * Charge un jeu et l'ajoute au cache, en évinçant les jeux les moins récemment utilisés s'il ne tient pas.
+     * La lecture paresseuse n'occupe qu'une mémoire bornée : il n'est pas nécessaire d'évincer avant de lire.
+     */
+    private ResourceManager load(String name) {
+        Path source;
+        synchronized (this) {
+            source = sources.get(name);
+            if (source == null) throw new IllegalArgumentException("Unknown dataset " + name);
+        }
+
+        try {
+            ResourceManager manager = new ResourceManager();
+            manager.setLoadMode(ResourceManager.LoadMode.LAZY);
+            manager.readTemperatureFile(source.toString(), true);
+            if (manager.getCube().getCellCount() == 0) throw new IllegalStateException("No data loaded from " + source);
+
+            synchronized (this) {
+                long weight = manager.getCube().getHeapBytes();
+                Long replaced = weights.remove(name);
+                if (replaced != null) loadedBytes -= replaced;
+                evict(weight, name);
+                loaded.put(name, manager);
+                weights.put(name, weight);
+                loadedBytes += weight;
+                System.out.println("[Loaded dataset " + name + ", " + loadedBytes / 1024 + " of " + maxBytes / 1024 + " KB in use]");
+                return manager;
+            }
+        } finally {
+            synchronized (this) {
+                pending.remove(name);
+            }
+        }
+    }
+
+    /**
+     * Évince les jeux les moins récemment utilisés jusqu'à libérer la place demandée.
+     * @param bytes La place demandée.
+     * @param keep Le jeu à ne pas évincer.
+     */
+    private void evict(long bytes, String keep) {
+        Iterator<Map.Entry<String, ResourceManager>> iterator = loaded.entrySet().iterator();
+        while (loadedBytes + bytes > maxBytes && iterator.hasNext()) {
+            String name = iterator.next().getKey();
+            if (name.equals(keep)) continue;
+            iterator.remove();
+            loadedBytes -= weights.remove(name);
+            System.out.println("[Evicted dataset " + name + "]");
+        }
+    }
+
+    /**
+     * Met à jour le poids d'un jeu, qui grandit par exemple quand ses historiques par zone sont construits.
+     */
+    private void reweigh(String name, ResourceManager manager) {
+        long weight = manager.getCube().getHeapBytes();
+        loadedBytes += weight - weights.put(name, weight);
+        evict(0, name);
+    }
+
+    /**
+     * Précharge le jeu qui suit un jeu dans l'ordre d'enregistrement, s'il tient dans la place restante.
+     */
+    private void warmUpNext(String name) {
+        if (!warmUpEnabled || sources.size() < 2) return;
+        List<String> names = new ArrayList<>(sources.keySet());
+        String next = names.get((names.indexOf(name) + 1) % names.size());
+        if (loaded.containsKey(next) || pending.containsKey(next)) return;
+        if (loadedBytes < maxBytes) warmUp(next);
+    }
+
+}
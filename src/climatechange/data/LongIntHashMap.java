@@ -0,0 +1,118 @@
+package climatechange.data;
+
+/**
+ * Table de hachage à adressage ouvert associant des clés long à des valeurs int, sans boxing ni allocation
+ * lors des recherches. Sert à indexer les zones par leur clé {@link Coordinates#pack(int, int)}.
+ * Les collisions sont résolues par sondage linéaire ; la table double de taille au-delà de 50 % de remplissage.
+ */
+public class LongIntHashMap {
+    private final int missingValue;
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int size = 0, mask;
+
+    /**
+     * Constructeur de la classe.
+     * @param expectedSize Le nombre d'entrées attendu.
+     * @param missingValue La valeur renvoyée pour une clé absente.
+     */
+    public LongIntHashMap(int expectedSize, int missingValue) {
+        this.missingValue = missingValue;
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Associe une valeur à une clé, en remplaçant l'éventuelle valeur précédente.
+     * @param key La clé.
+     * @param value La valeur.
+     */
+    public void put(long key, int value) {
+        int slot = slot(key);
+        if (!used[slot]) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+                slot = slot(key);
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Renvoie la valeur associée à une clé.
+     * @param key La clé.
+     * @return La valeur, ou la valeur d'absence donnée au constructeur.
+     */
+    public int get(long key) {
+        int slot = slot(key);
+        return used[slot] ? values[slot] : missingValue;
+    }
+
+    /**
+     * Indique si une clé est présente.
+     * @param key La clé.
+     * @return true si la clé est présente.
+     */
+    public boolean containsKey(long key) {
+        return used[slot(key)];
+    }
+
+    /**
+     * Renvoie le nombre d'entrées.
+     * @return Le nombre d'entrées.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Renvoie la case de la clé, ou la première case libre de sa séquence de sondage.
+     * @param key La clé.
+     * @return L'indice de la case.
+     */
+    private int slot(long key) {
+        int slot = mix(key) & mask;
+        while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldUsed = used;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (!oldUsed[i]) continue;
+            int slot = slot(oldKeys[i]);
+            used[slot] = true;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Mélange les bits d'une clé (finaliseur de MurmurHash3), pour que des coordonnées voisines
+     * ne tombent pas dans des cases voisines.
+     * @param key La clé.
+     * @return Le hash de la clé.
+     */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -2,12 +2,12 @@ package climatechange.data;
 
 import climatechange.data.Coordinates;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Set;
 
 /**
@@ -16,14 +16,39 @@ import java.util.Set;
  */
 public class ResourceManager {
 
-    private HashMap<Integer, TemperatureMap> allMaps;
+    /**
+     * Modes de lecture du fichier CSV.
+     */
+    public enum LoadMode {
+        /** Lecture ligne par ligne sur le thread appelant. */
+        SEQUENTIAL,
+        /** Lecture par blocs de lignes répartis sur plusieurs threads. */
+        PARALLEL,
+        /**
+         * Lecture paresseuse, pour les séries très longues : le CSV est converti en cache binaire sans être chargé
+         * en mémoire, puis les anomalies sont projetées depuis le cache et lues à la demande, année par année
+         * ou zone par zone. Le cache est toujours utilisé dans ce mode ; s'il ne peut pas être écrit, par exemple
+         * dans un dossier en lecture seule, le CSV est lu en mémoire comme en lecture séquentielle.
+         */
+        LAZY
+    }
+
+    private LoadMode loadMode = LoadMode.SEQUENTIAL;
+    private int loadThreads = Runtime.getRuntime().availableProcessors();
+
+    private AnomalyCube cube;
+    private volatile AnomalyStatistics statistics;
+    private AnomalyAggregates aggregates;
+    private volatile AnomalySampler sampler;
+    private Set<Integer> years;
+    private Set<Coordinates> areas;
 
     /**
      * Constructeur de la classe.
-     * Initialise la HashMap des cartes de températures.
+     * Initialise un cube d'anomalies vide.
      */
     public ResourceManager() {
-        allMaps = new HashMap<>();
+        setCube(new AnomalyCube(new int[0], new int[0], new int[0], new float[0]));
     }
 
     /**
@@ -31,53 +56,58 @@ public class ResourceManager {
      * @param path Le chemin du fichier CSV.
      */
     public void readTemperatureFile(String path) {
-        // Liste des années
-        ArrayList<Integer> allYears = new ArrayList<>();
+        readTemperatureFile(path, false);
+    }
 
-        // Ouverture du fichier
-        try {
-            System.out.println("[Reading file " + path + "...]");
+    /**
+     * Charge les données depuis un fichier CSV, en passant éventuellement par son cache binaire.
+     * Si le cache est absent ou ne correspond plus au fichier, le CSV est lu puis le cache est réécrit.
+     * @param path Le chemin du fichier CSV.
+     * @param useCache Vrai pour lire et écrire le cache binaire voisin du fichier, toujours vrai en lecture paresseuse.
+     */
+    public void readTemperatureFile(String path, boolean useCache) {
+        Path source = Paths.get(path);
 
-            FileReader file = new FileReader(path);
-            BufferedReader bufRead = new BufferedReader(file);
-
-            String line = bufRead.readLine().replaceAll("\"", "");  // Suppression des guillemets
-
-            // Lecture de chaque ligne
-            while (line != null) {
-                String[] array = line.split(",");
-
-                // Si 1ère ligne : Initialisation (ajout des années)
-                if (array[0].equals("lat")) {
-                    for (int i = 2; i < array.length; i++) {
-                        try {
-                            Integer year = Integer.parseInt(array[i]);
-                            allYears.add(year);
-                            allMaps.put(year, new TemperatureMap());
-                        } catch (NumberFormatException nfe) {
-                            nfe.printStackTrace();
-                        }
-                    }
+        // Lecture du cache
+        if (useCache || loadMode == LoadMode.LAZY) {
+            try {
+                AnomalyCube cached = AnomalyCache.read(source);
+                if (cached != null) {
+                    System.out.println("[Reading cache " + AnomalyCache.cachePath(source) + "]");
+                    setCube(cached);
+                    return;
                 }
-                // Sinon : Parcours de la ligne
-                else {
-                    // Pour une coordonnée
-                    Coordinates coord = new Coordinates(Integer.parseInt(array[0]), Integer.parseInt(array[1]));
-                    // Ajout des anomalies à chaque année
-                    for (int i = 2; i < array.length; i++) {
-                        try {
-                            allMaps.get(allYears.get(i - 2)).put(coord, Float.parseFloat(array[i]));
-                        } catch (NumberFormatException nfe) {
-                            allMaps.get(allYears.get(i - 2)).put(coord, Float.NaN); // Si non renseignée, on assigne la valeur NaN
-                        }
-                    }
+            } catch (IOException e) {
+                System.out.println("[Could not read cache of " + path + "]");
+                e.printStackTrace();
+            }
+        }
+
+        // Conversion du fichier en cache, puis projection du cache
+        if (loadMode == LoadMode.LAZY) {
+            try {
+                System.out.println("[Converting file " + path + "...]");
+                if (!AnomalyCache.convert(source)) return;
+                System.out.println("[Wrote cache " + AnomalyCache.cachePath(source) + "]");
+                AnomalyCube converted = AnomalyCache.read(source);
+                if (converted != null) {
+                    setCube(converted);
+                    return;
                 }
-                // Passage ligne suivante
-                line = bufRead.readLine();
+            } catch (IOException e) {
+                System.out.println("[Could not convert file " + path + ", reading it in memory]");
+                e.printStackTrace();
             }
+            useCache = false;
+        }
 
-            bufRead.close();
-            file.close();
+        // Ouverture du fichier
+        AnomalyCube anomalyCube = null;
+        try {
+            System.out.println("[Reading file " + path + "...]");
+
+            anomalyCube = new AnomalyCsvParser().parse(path, loadMode == LoadMode.PARALLEL ? loadThreads : 1);
+            if (anomalyCube != null) setCube(anomalyCube);
 
             System.out.println("[End of file " + path + "]");
         } catch (IOException e) {
@@ -85,15 +115,162 @@ public class ResourceManager {
             e.printStackTrace();
         }
 
+        // Écriture du cache
+        if (useCache && anomalyCube != null) {
+            try {
+                AnomalyCache.write(source, anomalyCube);
+                System.out.println("[Wrote cache " + AnomalyCache.cachePath(source) + "]");
+            } catch (IOException e) {
+                System.out.println("[Could not write cache of " + path + "]");
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Méthode d'accès au mode de lecture du fichier CSV.
+     * @return Le mode de lecture.
+     */
+    public LoadMode getLoadMode() {
+        return loadMode;
+    }
+
+    /**
+     * Choisit le mode de lecture des prochains fichiers CSV.
+     * @param loadMode Le mode de lecture.
+     */
+    public void setLoadMode(LoadMode loadMode) {
+        this.loadMode = loadMode;
+    }
+
+    /**
+     * Méthode d'accès au nombre de threads utilisés en lecture parallèle.
+     * @return Le nombre de threads.
+     */
+    public int getLoadThreads() {
+        return loadThreads;
+    }
+
+    /**
+     * Choisit le nombre de threads utilisés en lecture parallèle.
+     * @param loadThreads Le nombre de threads, au moins 1.
+     */
+    public void setLoadThreads(int loadThreads) {
+        if (loadThreads < 1) throw new IllegalArgumentException("At least one thread is required");
+        this.loadThreads = loadThreads;
+    }
+
+    /**
+     * Remplace les données chargées par un cube d'anomalies.
+     * @param cube Le nouveau cube d'anomalies.
+     */
+    private void setCube(AnomalyCube cube) {
+        this.cube = cube;
+        this.statistics = null;
+        this.aggregates = new AnomalyAggregates(cube);
+        this.sampler = null;
+
+        Set<Integer> allYears = new LinkedHashSet<>();
+        for (int i = 0; i < cube.getYearCount(); i++) allYears.add(cube.getYear(i));
+        years = Collections.unmodifiableSet(allYears);
+
+        Set<Coordinates> allAreas = new LinkedHashSet<>();
+        for (int i = 0; i < cube.getCellCount(); i++) allAreas.add(Coordinates.of(cube.getLatitude(i), cube.getLongitude(i)));
+        areas = Collections.unmodifiableSet(allAreas);
+    }
+
+    /**
+     * Méthode d'accès au stockage primitif des anomalies.
+     * @return Le cube d'anomalies.
+     */
+    public AnomalyCube getCube() {
+        return cube;
+    }
+
+    /**
+     * Méthode d'accès aux statistiques des anomalies, calculées au premier besoin : leur calcul parcourt tout le cube.
+     * @return Les statistiques globales, par année et par zone.
+     */
+    public AnomalyStatistics getStatistics() {
+        AnomalyStatistics current = statistics;
+        if (current == null) statistics = current = new AnomalyStatistics(cube);
+        return current;
+    }
+
+    /**
+     * Méthode d'accès aux agrégats temporels des anomalies, calculés à la demande et gardés en cache.
+     * @return Les agrégats du cube chargé.
+     */
+    public AnomalyAggregates getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Méthode d'accès à l'échantillonneur des anomalies, créé au premier besoin.
+     * @return L'échantillonneur du cube chargé.
+     * @throws IllegalArgumentException Si les zones du cube ne forment pas une grille régulière.
+     */
+    public AnomalySampler getSampler() {
+        AnomalySampler current = sampler;
+        if (current == null) sampler = current = new AnomalySampler(cube);
+        return current;
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies de chaque zone sur une plage d'années.
+     * @param fromYear La première année de la plage.
+     * @param toYear La dernière année de la plage, incluse.
+     * @return La moyenne de chaque zone, dans l'ordre du cube, NaN si la zone n'a aucune valeur sur la plage.
+     */
+    public float[] getMeanAnomalies(int fromYear, int toYear) {
+        return aggregates.getMeans(fromYear, toYear).clone();
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies de chaque zone sur une décennie.
+     * @param decade La première année de la décennie (1950 pour 1950-1959).
+     * @return La moyenne de chaque zone, dans l'ordre du cube.
+     */
+    public float[] getDecadeAnomalies(int decade) {
+        return aggregates.getDecadeMeans(decade).clone();
+    }
+
+    /**
+     * Renvoie la moyenne glissante des anomalies de chaque zone.
+     * @param year La dernière année de la fenêtre.
+     * @param window Le nombre d'années de la fenêtre.
+     * @return La moyenne de chaque zone, dans l'ordre du cube.
+     */
+    public float[] getRollingAnomalies(int year, int window) {
+        return aggregates.getRollingMeans(year, window).clone();
+    }
+
+    /**
+     * Renvoie la tendance linéaire des anomalies de chaque zone sur une plage d'années.
+     * @param fromYear La première année de la plage.
+     * @param toYear La dernière année de la plage, incluse.
+     * @return La pente de chaque zone en °C par décennie, dans l'ordre du cube, NaN avec moins de deux valeurs.
+     */
+    public float[] getAnomalyTrends(int fromYear, int toYear) {
+        return aggregates.getTrends(fromYear, toYear).clone();
     }
 
     /**
      * Méthode d'accès à la carte des anomalies de température d'une année.
+     * La carte est construite à partir du cube d'anomalies à chaque appel.
      * @param year L'année demandée.
      * @return La carte des anomalies de température de cette année.
      */
     public TemperatureMap getMap(Integer year) {
-        return allMaps.getOrDefault(year, null);
+        int yearIndex = year == null ? -1 : cube.getYearIndex(year);
+        if (yearIndex < 0) return null;
+
+        TemperatureMap temperatureMap = new TemperatureMap();
+        int cellIndex = 0;
+        for (Coordinates coordinates : areas) {
+            temperatureMap.put(coordinates, cube.get(yearIndex, cellIndex++));
+        }
+        return temperatureMap;
     }
 
     /**
@@ -101,15 +278,23 @@ public class ResourceManager {
      * @return La taille de l'échantillon.
      */
     public int getSampleNumber() {
-        return allMaps.keySet().size();
+        return cube.getYearCount();
     }
 
     /**
      * Renvoie l'ensemble des années connues.
-     * @return Un Set contenant l'ensemble des années connues.
+     * @return Un Set contenant l'ensemble des années connues, par ordre croissant.
      */
     public Set<Integer> getYears() {
-        return allMaps.keySet();
+        return years;
+    }
+
+    /**
+     * Renvoie l'axe des années connues, dont les indices sont ceux du cube et des statistiques.
+     * @return L'axe des années, par ordre croissant.
+     */
+    public YearAxis getYearAxis() {
+        return cube.getYearAxis();
     }
 
     /**
@@ -117,33 +302,37 @@ public class ResourceManager {
      * @return Un Set contenant l'ensemble des zones connues.
      */
     public Set<Coordinates> getAreas() {
-        return (allMaps.containsKey(1880) ? allMaps.get(1880).keySet() : Collections.emptySet());
+        return areas;
     }
 
     /**
      * Renvoie la valeur minimale des anomalies de température contenues dans le fichier CSV.
+     * Elle est lue dans l'en-tête du cache binaire si le cube en provient, sans parcourir les anomalies.
      * @return La valeur minimale des anomalies.
      */
     public Float getMinAnomaly() {
-        float minAnomaly = allMaps.get(1880).getMinAnomaly();
-        for (TemperatureMap temperatureMap : allMaps.values()) {
-            if (temperatureMap.getMinAnomaly() < minAnomaly)
-                minAnomaly = temperatureMap.getMinAnomaly();
-        }
-        return minAnomaly;
+        float[] range = cube.getStoredRange();
+        return range != null ? range[0] : getStatistics().getMin();
     }
 
     /**
      * Renvoie la valeur maximale des anomalies de température contenues dans le fichier CSV.
+     * Elle est lue dans l'en-tête du cache binaire si le cube en provient, sans parcourir les anomalies.
      * @return La valeur maximale des anomalies.
      */
     public Float getMaxAnomaly() {
-        float maxAnomaly = allMaps.get(1880).getMaxAnomaly();
-        for (TemperatureMap temperatureMap : allMaps.values()) {
-            if (temperatureMap.getMaxAnomaly() > maxAnomaly)
-                maxAnomaly = temperatureMap.getMaxAnomaly();
-        }
-        return maxAnomaly;
+        float[] range = cube.getStoredRange();
+        return range != null ? range[1] : getStatistics().getMax();
+    }
+
+    /**
+     * Renvoie la moyenne des anomalies de température renseignées pour une année.
+     * @param year L'année recherchée.
+     * @return La moyenne des anomalies de l'année, NaN si l'année est inconnue ou sans valeur renseignée.
+     */
+    public float getMeanAnomaly(int year) {
+        int yearIndex = cube.getYearIndex(year);
+        return yearIndex < 0 ? Float.NaN : getStatistics().getYearMean(yearIndex);
     }
 
     /**
@@ -154,7 +343,23 @@ public class ResourceManager {
      * @return L'anomalie de température de la zone et de l'année données.
      */
     public Float getAnomaly(Integer year, int latitude, int longitude) {
-        return allMaps.containsKey(year) ? allMaps.get(year).get(latitude, longitude) : null;
+        int yearIndex = year == null ? -1 : cube.getYearIndex(year);
+        if (yearIndex < 0) return null;
+        int cellIndex = cube.getCellIndex(latitude, longitude);
+        return cellIndex < 0 ? null : cube.get(yearIndex, cellIndex);
+    }
+
+    /**
+     * Renvoie l'anomalie de température pour une zone et une année données, sans boxing.
+     * @param year L'année recherchée.
+     * @param latitude La latitude de la zone recherchée.
+     * @param longitude La longitude de la zone recherchée.
+     * @return L'anomalie de température, NaN si elle n'est pas renseignée ou si la zone ou l'année sont inconnues.
+     */
+    public float getAnomalyValue(int year, int latitude, int longitude) {
+        int yearIndex = cube.getYearIndex(year);
+        int cellIndex = cube.getCellIndex(latitude, longitude);
+        return yearIndex < 0 || cellIndex < 0 ? Float.NaN : cube.get(yearIndex, cellIndex);
     }
 
     /**
@@ -164,7 +369,34 @@ public class ResourceManager {
      * @return Toutes les anomalies de températures pour cette année.
      */
     public Float[] getAnomalies(Integer year) {
-        return allMaps.containsKey(year) ? allMaps.get(year).values().toArray(new Float[0]) : null;
+        float[] values = year == null ? null : getAnomalyValues(year);
+        if (values == null) return null;
+
+        Float[] anomalies = new Float[values.length];
+        for (int i = 0; i < values.length; i++) anomalies[i] = values[i];
+        return anomalies;
+    }
+
+    /**
+     * Renvoie un tableau primitif contenant toutes les anomalies de températures pour une année,
+     * dans l'ordre de lecture du fichier CSV.
+     * @param year L'année dont les anomalies sont à renvoyer.
+     * @return Toutes les anomalies de températures pour cette année, ou null si l'année est inconnue.
+     */
+    public float[] getAnomalyValues(int year) {
+        return getAnomalyValues(year, new float[cube.getCellCount()]);
+    }
+
+    /**
+     * Remplit un tableau primitif avec toutes les anomalies de températures pour une année,
+     * dans l'ordre de lecture du fichier CSV. Permet de réutiliser le même tableau d'une année à l'autre.
+     * @param year L'année dont les anomalies sont à renvoyer.
+     * @param destination Le tableau à remplir, de taille au moins égale au nombre de zones.
+     * @return Le tableau rempli, ou null si l'année est inconnue.
+     */
+    public float[] getAnomalyValues(int year, float[] destination) {
+        int yearIndex = cube.getYearIndex(year);
+        return yearIndex < 0 ? null : cube.copyYear(yearIndex, destination);
     }
 
     /**
@@ -175,11 +407,33 @@ public class ResourceManager {
      * @return Toutes les anomalies de températures pour cette zone.
      */
     public Float[] getAnomalies(int latitude, int longitude) {
+        float[] values = getAnomalyValues(latitude, longitude);
         Float[] anomalies = new Float[getSampleNumber()];
-        int i = 0;
-        for (TemperatureMap temperatureMap : allMaps.values()) {
-            anomalies[i++] = temperatureMap.get(latitude, longitude);
-        }
+        for (int i = 0; i < anomalies.length; i++) anomalies[i] = values == null ? null : values[i];
         return anomalies;
     }
+
+    /**
+     * Renvoie un tableau primitif contenant toutes les anomalies de températures pour une zone,
+     * dans l'ordre croissant des années.
+     * @param latitude La latitude de la zone recherchée.
+     * @param longitude La longitude de la zone recherchée.
+     * @return Toutes les anomalies de températures pour cette zone, ou null si la zone est inconnue.
+     */
+    public float[] getAnomalyValues(int latitude, int longitude) {
+        int cellIndex = cube.getCellIndex(latitude, longitude);
+        return cellIndex < 0 ? null : cube.copyCell(cellIndex, new float[cube.getYearCount()]);
+    }
+
+    /**
+     * Renvoie une vue en lecture seule, sans copie, de toutes les anomalies de températures pour une zone,
+     * dans l'ordre croissant des années.
+     * @param latitude La latitude de la zone recherchée.
+     * @param longitude La longitude de la zone recherchée.
+     * @return Les anomalies de la zone, une par année, ou null si la zone est inconnue.
+     */
+    public FloatBuffer getAnomalySeries(int latitude, int longitude) {
+        int cellIndex = cube.getCellIndex(latitude, longitude);
+        return cellIndex < 0 ? null : cube.getCellSeries(cellIndex);
+    }
 }
@@ -0,0 +1,70 @@
+package climatechange.data;
+
+import java.util.Arrays;
+
+/**
+ * Réduction d'une série annuelle au nombre de points qu'un graphique peut afficher, par l'algorithme
+ * « Largest Triangle Three Buckets » : les points sont répartis en paquets consécutifs, et dans chaque paquet
+ * est gardé celui qui forme le plus grand triangle avec le point gardé dans le paquet précédent et la moyenne
+ * du paquet suivant. Contrairement à un sous-échantillonnage régulier, les pics et les creux sont conservés.
+ * Le premier et le dernier point sont toujours gardés, les valeurs NaN sont ignorées.
+ */
+public final class SeriesDecimation {
+
+    private SeriesDecimation() {
+    }
+
+    /**
+     * Choisit les points d'une série à afficher.
+     * @param years Les abscisses de la série.
+     * @param values La valeur de chaque année, NaN si elle est absente.
+     * @param maxPoints Le nombre maximal de points gardés, au moins 3 ; par exemple la largeur du graphique en pixels.
+     * @return Les indices des points gardés, par ordre croissant : tous les points renseignés s'ils sont assez peu.
+     */
+    public static int[] largestTriangleThreeBuckets(YearAxis years, float[] values, int maxPoints) {
+        if (maxPoints < 3) throw new IllegalArgumentException("At least three points must be kept");
+
+        // Points renseignés
+        int[] valid = new int[values.length];
+        int count = 0;
+        for (int i = 0; i < values.length; i++)
+            if (!Float.isNaN(values[i])) valid[count++] = i;
+        if (count <= maxPoints) return Arrays.copyOf(valid, count);
+
+        int[] kept = new int[maxPoints];
+        kept[0] = valid[0];
+        kept[maxPoints - 1] = valid[count - 1];
+        double bucketSize = (double) (count - 2) / (maxPoints - 2);
+        int previous = valid[0];
+
+        for (int bucket = 0; bucket < maxPoints - 2; bucket++) {
+            int start = (int) (bucket * bucketSize) + 1;
+            int end = (int) ((bucket + 1) * bucketSize) + 1;
+            int nextEnd = Math.min((int) ((bucket + 2) * bucketSize) + 1, count); // le dernier point pour le dernier paquet
+
+            // Moyenne du paquet suivant
+            double averageX = 0, averageY = 0;
+            for (int j = end; j < nextEnd; j++) {
+                averageX += years.getYear(valid[j]);
+                averageY += values[valid[j]];
+            }
+            averageX /= nextEnd - end;
+            averageY /= nextEnd - end;
+
+            // Point du paquet formant le plus grand triangle
+            double previousX = years.getYear(previous), previousY = values[previous];
+            double maxArea = -1;
+            for (int j = start; j < end; j++) {
+                int index = valid[j];
+                double area = Math.abs((previousX - averageX) * (values[index] - previousY)
+                        - (previousX - years.getYear(index)) * (averageY - previousY));
+                if (area > maxArea) {
+                    maxArea = area;
+                    kept[bucket + 1] = index;
+                }
+            }
+            previous = kept[bucket + 1];
+        }
+        return kept;
+    }
+}
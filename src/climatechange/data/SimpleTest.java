@@ -5,7 +5,16 @@ import static org.junit.Assert.*;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 
 public class SimpleTest {
@@ -65,7 +74,273 @@ public class SimpleTest {
 		Float [] temperatureAnomalies1952 = {Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,-0.616666652883093f,-0.584166653609524f,-0.486666655788819f,-0.486666655788819f,-0.394999991171062f,-0.394999991171062f,-0.415208324052704f,-0.421249990584329f,-0.480208322599841f,-0.539166654615353f,-0.5691666539448f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,-0.577083320434516f,-0.519791655048418f,-0.347916658890123f,-0.347916658890123f,-0.345416658946002f,-0.345416658946002f,-0.318541659546706f,-0.3087499930989f,-0.298333326665064f,-0.287916660231228f,-0.297499993350357f,-0.327499992679805f,-0.327499992679805f,-0.648749985499308f,-0.648749985499308f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,0.166666662941376f,0.096874997834675f,0.0374999991618097f,0.0116666664058963f,0.0129166663779567f,0.0137499996926636f,-0.0174999996088445f,-0.0470833322809388f,-0.0379166658191631f,-0.0272916660566504f,-0.0843749981140718f,-0.0608333319736024f,0.0808333315265675f,0.0737499983515591f,-0.198333328900238f,-0.281458327042249f,-0.271458327265767f,-0.264374994090758f,-0.264791660748112f,-0.266041660720172f,-0.273749993881211f,-0.360416658610726f,-0.387708324667377f,-0.47833332264175f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,0.014166666350017f,-0.0572916653860981f,-0.203541662117156f,-0.235833328062048f,-0.148541663346502f,-0.0712499984074384f,-0.112291664156752f,-0.177708329361243f,-0.139999996870756f,-0.0229166661544393f,0.0268749993992969f,0.0681249984772876f,0.144583330101644f,0.212708328578932f,0.239374994649552f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,0.486041655802789f,0.462083323004966f,0.37479165828942f,0.263541660776051f,0.173333329459031f,0.0787499982398003f,0.00291666660147409f,-0.0204166662103186f,-0.0070833331750085f,0.0131249997066334f,0.0172916662801678f,0.0308333326441546f,0.0493749988963827f,0.0122916663919265f,-0.00416666657353441f,-0.052916665483887f,0.239999994635582f,0.21916666176791f,0.256458327601043f,0.16833332957079f,-0.000833333314706874f,-0.100208331093503f,-0.177291662703889f,-0.265416660734142f,-0.418749990640208f,-0.429166657074044f,-0.371874991687946f,-0.340624992386438f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,-0.182083329263454f,-0.213749995222315f,-0.212499995250255f,-0.173333329459031f,-0.115833330744257f,-0.0304166659868012f,-0.0379166658191631f,-0.0416666657353441f,-0.00895833313309898f,-0.0614583319596325f,-0.0454166656515251f,-0.0368749991757795f,-0.0729166650368522f,-0.113541664128813f,-0.108124997583218f,-0.0591666653441886f,0.0454166656515251f,0.0808333315265675f,0.106458330953804f,0.165208329640639f,0.238541661334845f,0.291666660147409f,0.317291659574645f,0.337083325798934f,0.355416658722485f,0.340833325715115f,0.314583326301848f,0.335624992498197f,0.385416658051933f,0.388541657982084f,0.318124992889352f,0.204791662089216f,0.0899999979883432f,0.00041666665735344f,-0.0924999979324639f,-0.123958330562649f,-0.117291664044994f,-0.0610416653022791f,-0.0468749989522621f,-0.0533333321412404f,-0.0327083326022451f,-0.0224999994970858f,-0.0229166661544393f,0.0429166657074044f,-0.047708332266969f,0.0102083331051593f,0.0495833322250595f,0.0274999993853271f,-0.0124999997206032f,0.00354166658750425f,0.0783333315824469f,-0.0554166654280076f,-0.187916662466402f,-0.256458327601043f,-0.211041661949518f,-0.211249995278195f,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,Float.NaN,-0.117291664044994f,-0.0474999989382923f,-0.0262499994132668f,0.00374999991618097f,0.0958333311912914f,0.144999996758997f,0.13020833042295f,0.126458330506769f,0.162499996367842f,0.160416663081075f,0.161249996395782f,0.160416663081075f,0.218749995110557f,0.162916663025195f,0.121249997289851f,0.107291664268511f,0.091666664617757f,0.0508333321971198f,-0.0204166662103186f,-0.0624999986030161f,-0.0558333320853611f,-0.0806249981978908f,-0.13083333040898f,-0.172708329473001f,-0.187291662480372f,-0.186666662494342f,-0.161666663053135f,-0.0881249980302528f,-0.0974999978207052f,-0.169166662885497f,-0.2058333287326f,-0.16833332957079f,-0.118541664017054f,-0.0947916645479078f,-0.100416664422179f,-0.0989583311214422f,-0.0539583321272706f,-0.00333333325882753f,0.0570833320574214f,0.103749997681007f,0.0843749981140718f,0.0908333313030501f,0.112916664142783f,0.138749996898696f,0.163958329668579f,0.181249995948747f,0.219583328425263f,0.251249994384125f,0.271666660594443f,0.326666659365098f,0.377083324904864f,0.351041658820274f,0.245624994509853f,0.113124997471459f,0.00458333323088785f,-0.0624999986030161f,-0.184999995864928f,-0.188333329123755f,-0.152916663248713f,-0.110624997527339f,-0.091666664617757f,-0.07749999826774f,-0.0316666659588615f,0.0822916648273046f,0.394166657856355f,0.479166655956457f,-0.0752083316522961f,-0.0191666662382583f,0.0952083312052613f,0.170416662857557f,0.19249999569729f,0.149166663332532f,0.0606249986449257f,-0.0995833311074724f,-0.157916663136954f,-0.0720833317221453f,0.0595833320015421f,0.117916664031024f,0.0897916646596665f,0.0264583327419435f,-0.0139583330213403f,-0.0152083329934006f,-0.0508333321971198f,-0.117083330716317f,-0.208958328662751f,-0.267916660678262f,-0.266249994048849f,-0.255624994286336f,-0.201874995487742f,-0.0999999977648258f,-0.0489583322390293f,0.0274999993853271f,0.102083331051593f,0.167499996256083f,0.214999995194375f,0.199583328872298f,0.157916663136954f,0.132291663709717f,0.102708331037623f,0.0108333330911895f,-0.00291666660147409f,0.00291666660147409f,-0.00541666654559473f,-0.00187499995809048f,0.00562499987427145f,0.0227083328257625f,0.0352083325463658f,0.0177083329375212f,-0.0431249990360811f,-0.0895833313309898f,-0.124583330548679f,-0.120208330646468f,-0.155208329864157f,-0.198124995571561f,-0.210624995292164f,-0.213749995222315f,-0.224791661642181f,-0.213124995236285f,-0.212916661907608f,-0.247916661125297f,-0.277291660468715f,-0.291666660147409f,-0.305833326497426f,-0.261458327489284f,-0.203749995445833f,-0.159374996437691f,-0.0516666655118267f,-0.00249999994412065f,-0.0483333322529991f,0.0220833328397324f,0.0735416650228823f,0.105208330981744f,0.12770833047883f,0.142083330157523f,0.150833329961946f,0.162916663025195f,0.174166662773738f,0.182083329263454f,0.187291662480372f,0.165416662969316f,0.141249996842816f,0.126041663849416f,0.0895833313309898f,-0.0145833330073704f,-0.188541662452432f,-0.297499993350357f,-0.367916658443088f,-0.335624992498197f,-0.279374993755482f,-0.275208327181948f,-0.226874994928949f,-0.142083330157523f,-0.0706249984214082f,0.0152083329934006f,0.070833331750085f,0.47583332269763f,-0.139166663556049f,-0.0464583322949087f,0.164583329654609f,0.350208325505567f,0.446249990025535f,0.441458323465971f,0.406874990905635f,0.284166660315047f,0.160833329738428f,0.211458328606871f,0.326458326036421f,0.38874999131076f,0.369374991743825f,0.293958326762853f,0.215208328523052f,0.171249996172264f,0.0937499979045242f,-0.0829166648133347f,-0.238124994677491f,-0.311041659714344f,-0.307708326455516f,-0.280833327056219f,-0.215624995180406f,-0.105624997639097f,-0.0168749996228144f,0.0641666652324299f,-0.147499996703118f,0.132708330367071f,0.169999996200204f,-0.0574999987147748f,-0.0929166645898173f,-0.0120833330632498f,-0.0693749984493479f,-0.130416663751627f,-0.0512499988544732f,-0.103333331023653f,-0.127499997150153f,-0.112083330828076f,-0.0862499980721623f,-0.0549999987706542f,-0.033541665916952f,-0.0420833323926975f,-0.0806249981978908f,-0.0949999978765845f,-0.122499997261912f,-0.146458330059734f,-0.222916661684091f,-0.274999993853271f,-0.304791659854042f,-0.329374992637895f,-0.352916658778364f,-0.373124991660006f,-0.397916657772536f,-0.477499989327043f,-0.479791655942487f,-0.472499989438802f,-0.42437499051448f,-0.351249992148951f,-0.279583327084159f,-0.215208328523052f,-0.146249996731058f,-0.0883333313589295f,-0.128541663793537f,-0.0541666654559473f,0.0714583317361151f,0.131666663723687f,0.147291663374441f,0.15624999650754f,0.161249996395782f,0.178541662675949f,0.15562499652151f,0.122083330604558f,0.0854166647574554f,0.0131249997066334f,-0.058124998700805f,-0.146874996717088f,-0.270833327279737f,-0.40145832436004f,-0.487499989103526f,-0.59270832008527f,-0.637499985750765f,-0.571666653888921f,-0.436458323577729f,-0.437916656878466f,-0.383958324751196f,-0.253333327670892f,-0.168541662899467f,-0.132499997038394f,-0.086458331400839f,0.408124990877695f,0.149791663318562f,-0.11562499741558f,-0.0114583330772196f,0.156041663178864f,0.230416661516453f,0.241874994593672f,0.315624992945231f,0.339791659071731f,0.395624991157092f,0.457916656431432f,0.502708322096926f,0.49229165566309f,0.406458324248282f,0.302291659909921f,0.190624995739199f,0.158958329780338f,0.0310416659728313f,-0.186041662508311f,-0.286666660259167f,-0.287708326902551f,-0.277499993797392f,-0.181874995934777f,0.0466666656235854f,0.149999996647239f,0.166249996284023f,0.200624995515682f,0.241041661278966f,0.260833327503254f,0.246874994481914f,0.165833329626669f,0.019374999566935f,-0.0860416647434856f,-0.162499996367842f,-0.214583328537022f,-0.218124995124526f,-0.197916662242884f,-0.198541662228915f,-0.204166662103186f,-0.172708329473001f,-0.14354166345826f,-0.161249996395782f,-0.209374995320104f,-0.214374995208345f,-0.178958329333303f,-0.146458330059734f,-0.15624999650754f,-0.247916661125297f,-0.330624992609955f,-0.380624991492368f,-0.429791657060074f,-0.473124989424832f,-0.491249989019707f,-0.547291654433745f,-0.55645832089552f,-0.570416653916861f,-0.571249987231568f,-0.526249988237396f,-0.470208322823358f,-0.413958324080644f,-0.342083325687175f,-0.237708328020138f,-0.161041663067105f,-0.142708330143554f,-0.0627083319316929f,0.0647916652184601f,0.109999997541308f,0.0974999978207052f,0.0768749982817098f,0.0662499985191971f,0.068541665134641f,0.0210416661963488f,-0.0527083321552103f,-0.102708331037623f,-0.166041662955346f,-0.237499994691461f,-0.397499991115183f,-0.626041652673545f,-0.825624981545843f,-0.817708315056128f,-0.839374981238507f,-0.847916647714252f,-0.74895831659281f,-0.649374985485338f,-0.629791652589726f,-0.519791655048418f,-0.358749991981313f,-0.221041661726f,-0.119791663989114f,0.248124994453974f,0.294374993420206f,0.230208328187776f,-0.0224999994970858f,-0.253541660999569f,-0.095416664533938f,0.0516666655118267f,0.108541664240571f,0.217499995138496f,0.234583328089987f,0.152499996591359f,0.163958329668579f,0.158958329780338f,0.117291664044994f,0.0991666644501189f,0.0952083312052612f,0.0852083314287787f,0.0306249993154779f,-0.109583330883955f,-0.296249993378296f,-0.361666658582787f,-0.279791660412836f,-0.217708328467173f,-0.0999999977648258f,0.162083329710488f,0.24395832788044f,0.197708328914208f,0.190416662410522f,0.212499995250255f,0.249583327754711f,0.229583328201746f,0.101874997722916f,-0.00312499993015081f,-0.112291664156752f,-0.222083328369384f,-0.235416661404694f,-0.239166661320875f,-0.212291661921578f,-0.166041662955346f,-0.149791663318562f,-0.157083329822247f,-0.138124996912666f,-0.173333329459031f,-0.209166661991427f,-0.215624995180406f,-0.187083329151695f,-0.182916662578161f,-0.201458328830389f,-0.27124999393709f,-0.329999992623925f,-0.381874991464429f,-0.449166656627009f,-0.512916655202086f,-0.535416654699172f,-0.559583320825671f,-0.495624988921918f,-0.512916655202086f,-0.504791655383694f,-0.473333322753509f,-0.443958323410091f,-0.418749990640208f,-0.373333324988683f,-0.28395832698637f,-0.230833328173806f,-0.0781249982537702f,0.00437499990221113f,0.0997916644361491f,0.112291664156752f,0.0924999979324639f,0.0604166653162489f,0.0381249991478398f,0.0358333325323959f,-0.043958332350788f,-0.200208328858328f,-0.321249992819503f,-0.442083323452001f,-0.544374987832271f,-0.680624984786846f,-0.793333315600951f,-0.857291647504705f,-0.818958315028188f,-0.840833314539244f,-0.846041647756162f,-0.766458316201654f,-0.628333319288989f,-0.549166654391835f,-0.459999989718199f,-0.336458325812904f,-0.187708329137725f,-0.0102083331051593f,0.202708328802449f,0.196666662270824f,0.137083330269282f,0.114166664114843f,0.00416666657353441f,-0.222083328369384f,-0.110416664198662f,-0.0316666659588615f,-0.0331249992595986f,-0.145208330087674f,-0.241874994593672f,-0.258333327559133f,-0.267083327363556f,-0.215416661851729f,-0.087916664701576f,0.0533333321412404f,0.0677083318199341f,0.0181249995948747f,-0.124791663877356f,-0.256249994272366f,-0.287708326902551f,-0.237291661362785f,-0.19499999564141f,-0.0964583311773216f,0.0545833321133008f,0.150416663304592f,0.18104166262007f,0.165833329626669f,0.196249995613471f,0.265624994062819f,0.265208327405465f,0.12958333043692f,0.0341666659029822f,-0.0495833322250595f,-0.172499996144325f,-0.218124995124526f,-0.199166662214945f,-0.144999996758997f,-0.0949999978765845f,-0.0810416648552442f,-0.0837499981280416f,-0.0514583321831499f,-0.0233333328117927f,-0.0110416664198662f,-0.0260416660845901f,-0.0662499985191971f,-0.16770832958476f,-0.299583326637124f,-0.384999991394579f,-0.387916657996054f,-0.343749992316589f,-0.431041657032135f,-0.542083321216827f,-0.647499985527247f,-0.531458321454314f,-0.409583324178432f,-0.357708325337929f,-0.32458332607833f,-0.282916660342986f,-0.286249993601814f,-0.25916666087384f,-0.246249994495884f,-0.240624994621612f,-0.153541663234743f,0.0383333324765166f,0.103124997694977f,0.15624999650754f,0.149374996661209f,0.147708330031795f,0.123958330562649f,0.0860416647434855f,0.0729166650368522f,-0.0168749996228144f,-0.218124995124526f,-0.40020832438798f,-0.529374988167547f,-0.635416652463997f,-0.705833317556729f,-0.693749984493479f,-0.61874998616986f,-0.549583321049189f,-0.499583322166776f,-0.41291665743726f,-0.319791659518766f,-0.206249995389953f,-0.139999996870756f,-0.126041663849416f,-0.0608333319736024f,0.0308333326441546f,0.151874996605329f,0.170624996186234f,0.109374997555278f,0.0552083320993309f,0.0552083320993309f,0.102083331051593f,0.113333330800136f,-0.239583327978229f,-0.305833326497426f,-0.333333325882753f,-0.405208324276221f,-0.432499990332872f,-0.419791657283592f,-0.384583324737226f,-0.284374993643723f,-0.115416664086903f,0.0637499985750765f,0.154791663206803f,0.0989583311214422f,-0.0127083330492799f,-0.0533333321412404f,-0.0502083322110896f,-0.0295833326720943f,-0.0470833322809388f,0.0272916660566504f,0.108958330897925f,0.116041664072933f,0.169166662885497f,0.199583328872298f,0.213124995236285f,0.260624994174577f,0.252291661027508f,0.128749997122213f,0.0333333325882753f,-0.0339583325743054f,-0.0958333311912914f,-0.112291664156752f,-0.0791666648971538f,-0.00416666657353441f,0.0395833324485769f,0.0391666657912234f,0.0172916662801678f,0.0314583326301848f,0.095416664533938f,0.121666663947205f,0.0941666645618777f,0.00624999986030161f,-0.177083329375212f,-0.451249989913777f,-0.639583319037532f,-0.682083318087583f,-0.604166653162489f,-0.579791653707313f,-0.76166664964209f,-0.64479165225445f,-0.462708322990996f,-0.299374993308447f,-0.194791662312734f,-0.102083331051593f,-0.0635416652463997f,-0.10416666433836f,-0.103958331009684f,-0.0616666652883093f,-0.0474999989382923f,-0.000208333328676718f,0.168541662899467f,0.210208328634811f,0.255624994286336f,0.275208327181948f,0.29541666006359f,0.289791660189318f,0.234374994761311f,0.198749995557591f,0.0970833311633517f,-0.0829166648133347f,-0.245416661181177f,-0.3239583260923f,-0.354166658750425f,-0.306249993154779f,-0.20833332867672f,-0.0768749982817098f,0.0081249998183921f,0.0556249987566844f,0.142499996814877f,0.222291661698061f,0.285416660287107f,0.275208327181948f,0.275416660510624f,0.275624993839301f,0.354791658736455f,0.425208323829186f,0.367083325128381f,0.000833333314706881f,-0.0437499990221113f,-0.0302083326581245f,0.037291665833133f,0.111249997513369f,0.0527083321552103f,-0.442083323452001f,-0.436666656906406f,-0.482708322543961f,-0.436249990249053f,-0.389999991282821f,-0.285833326944461f,-0.171041662843587f,-0.0102083331051593f,0.17979166264801f,0.300208326623154f,0.275833327167978f,0.201666662159065f,0.134374996996485f,0.114791664100873f,0.136666663611929f,0.163124996353872f,0.204166662103186f,0.189791662424492f,0.182916662578161f,0.188333329123755f,0.204166662103186f,0.237499994691461f,0.248124994453974f,0.17979166264801f,0.076041664967003f,0.00395833324485769f,-0.0712499984074384f,-0.108124997583218f,-0.0693749984493479f,-0.00895833313309898f,0.0552083320993309f,0.0937499979045242f,0.061874998616986f,0.0272916660566504f,0.0472916656096155f,0.108333330911895f,0.105833330967774f,0.0362499991897494f,-0.0874999980442226f,-0.278541660440775f,-0.496874988893978f,-0.629374985932373f,-0.679791651472139f,-0.763749982928857f,-0.822083314958339f,-0.737916650172944f,-0.536041654685202f,-0.295624993392266f,-0.121458330618528f,-0.0504166655397663f,0.0116666664058963f,0.0481249989243224f,0.000624999986030162f,0.00229166661544393f,0.0518749988405034f,0.0804166648692141f,0.125624997192062f,0.283124993671663f,0.324999992735684f,0.372499991673976f,0.40020832438798f,0.420833323926975f,0.413958324080644f,0.377291658233541f,0.33666665914158f,0.24645832782456f,0.13083333040898f,0.0149999996647239f,0.0422916657213743f,0.0554166654280076f,0.14104166351414f,0.25854166088781f,0.377916658219571f,0.459583323060845f,0.507291655327814f,0.527708321538133f,0.530208321482254f,0.518541655076357f,0.499791655495452f,0.494583322278534f,0.512291655216056f,0.570208320588184f,0.56729165398671f,0.404374990961514f,0.0570833320574214f,-0.165416662969316f,-0.182083329263454f,-0.128749997122213f,-0.0370833325044562f,-0.024583332783853f,-0.315416659616555f,-0.311874993029051f,-0.347083325575416f,-0.265833327391495f,-0.165416662969316f,-0.0118749997345731f,0.123541663905295f,0.268333327335616f,0.37291665833133f,0.447083323340242f,0.436041656920376f,0.318958326204059f,0.178958329333303f,0.132916663695748f,0.136666663611929f,0.221874995040707f,0.299166659979771f,0.256249994272366f,0.213541661893638f,0.196041662284794f,0.195416662298764f,0.201458328830389f,0.203958328774509f,0.0845833314427485f,-0.00333333325882753f,-0.0660416651905204f,-0.138333330241342f,-0.156041663178864f,-0.131041663737657f,-0.106249997625127f,-0.0329166659309218f,-0.0329166659309218f,-0.0870833313868691f,-0.0674999984912574f,-0.0177083329375212f,0.0206249995389953f,0.0122916663919265f,-0.0785416649111236f,-0.212291661921578f,-0.379583324848985f,-0.514166655174146f,-0.548749987734482f,-0.533749988069758f,-0.517291655104297f,-0.501666655453543f,-0.379374991520308f,-0.0895833313309898f,0.117916664031024f,0.159999996423721f,0.111458330842045f,0.106458330953804f,0.0852083314287787f,0.0291666660147409f,0.0941666645618776f,0.108958330897925f,0.164166662997256f,0.224999994970858f,0.22041666173997f,0.326458326036421f,0.321666659476856f,0.407708324220342f,0.424166657185803f,0.421041657255652f,0.422708323885066f,0.399999991059303f,0.33666665914158f,0.307916659784193f,0.281666660370926f,0.31062499305699f,0.338958325757024f,0.385416658051933f,0.437916656878466f,0.500416655481483f,0.5539583209514f,0.580416653693343f,0.594999986700714f,0.593124986742623f,0.574166653833042f,0.571249987231568f,0.598124986630864f,0.607083319763963f,0.542083321216827f,0.399999991059303f,0.17979166264801f,-0.0639583319037532f,-0.209999995306134f,-0.279374993755482f,-0.290624993504025f,-0.19562499562744f,-0.160624996409751f,-0.199999995529652f,-0.180833329291393f,-0.190833329067876f,-0.0731249983655289f,0.0687499984633178f,0.239999994635582f,0.369999991729856f,0.410208324164463f,0.426041657143893f,0.385833324709286f,0.29854165999374f,0.196666662270824f,0.0941666645618777f,0.0420833323926975f,0.0314583326301848f,0.177916662689919f,0.294999993406236f,0.272916660566504f,0.217499995138496f,0.187499995809048f,0.174166662773738f,0.0993749977787957f,0.0939583312332009f,0.0645833318897833f,-0.0502083322110896f,-0.110208330869985f,-0.183958329221544f,-0.185208329193604f,-0.209374995320104f,-0.237916661348815f,-0.213333328564962f,-0.214583328537022f,-0.19187499571126f,-0.146458330059734f,-0.113749997457489f,-0.0854166647574554f,-0.096874997834675f,-0.169999996200204f,-0.286041660273137f,-0.451249989913777f,-0.607708319749994f,-0.495833322250595f,-0.285833326944461f,-0.0914583312890803f,-0.0277083327140038f,0.0574999987147748f,0.291249993490055f,0.433124990318902f,0.36270832522617f,0.0741666650089125f,0.0295833326720943f,-0.0139583330213403f,-0.0577083320434516f,0.0381249991478398f,0.132291663709718f,0.15312499657739f,0.213541661893638f,0.147291663374441f,0.196249995613471f,0.235208328076017f,0.301249993266538f,0.375833324932804f,0.431874990346842f,0.474166656068216f,0.452499989885837f,0.410416657493139f,0.4268749904586f,0.443541656752738f,0.444999990053475f,0.435208323605669f,0.427291657115954f,0.440416656822587f,0.471458322795418f,0.498749988852069f,0.508124988642521f,0.525833321580042f,0.543333321188887f,0.553333320965369f,0.563124987413175f,0.567083320658033f,0.514166655174146f,0.331458325924662f,0.10479166432439f,0.0252083327698832f,-0.0527083321552103f,-0.180208329305363f,-0.288124993559904f,-0.338749992428347f,-0.263541660776051f,-0.173749996116385f,-0.10354166435233f,-0.0570833320574214f,-0.0429166657074044f,0.0243749994551763f,0.151041663290622f,0.265208327405465f,0.313124993001111f,0.232291661474543f,0.135624996968545f,0.0681249984772876f,0.0977083311493819f,0.00770833316103866f,-0.0597916653302188f,-0.15437499654945f,-0.125624997192062f,0.0833333314706882f,0.222291661698061f,0.246874994481914f,0.211874995264225f,0.180833329291393f,0.162083329710489f,0.124374997220002f,-0.0537499987985939f,0.0291666660147409f,-0.0485416655816759f,-0.129999997094274f,-0.19437499565538f,-0.24708332781059f,-0.301249993266538f,-0.322499992791563f,-0.328124992665835f,-0.337083325798934f,-0.315624992945231f,-0.293749993434176f,-0.293333326776822f,-0.238958327992198f,-0.192708329025966f,-0.21791666179585f,-0.303333326553305f,-0.430208323717428f,-0.558749987510964f,-0.642916652296359f,-0.433124990318902f,0.200416662187005f,0.271666660594443f,0.315833326273908f,0.233333328117927f,0.418958323968885f,0.282083327028279f,-0.0974999978207052f,-0.116458330730287f,-0.154583329878127f,-0.182083329263454f,-0.0270833327279737f,0.0291666660147409f,0.0527083321552103f,0.0922916646037872f,0.096874997834675f,0.118124997359701f,0.145208330087674f,0.243124994565733f,0.305416659840072f,0.393124991212972f,0.47708332266969f,0.548958321063158f,0.564583320713912f,0.55645832089552f,0.449999989941716f,0.467083322893207f,0.419999990612268f,0.407291657562989f,0.435624990263022f,0.463958322963056f,0.483124989201315f,0.500833322138836f,0.518124988419004f,0.525624988251366f,0.527499988209456f,0.508124988642521f,0.434999990276992f,0.28395832698637f,0.00187499995809048f,-0.11749999737367f,0.0260416660845901f,-0.0216666661823789f,-0.119999997317791f,-0.217083328481143f,-0.232708328131897f,-0.0785416649111236f,0.0658333318618437f,0.104374997667037f,0.095416664533938f,0.0429166657074044f,0.0262499994132668f,0.0456249989802018f,0.042499999050051f,-0.0137499996926635f,-0.120416663975144f,-0.162083329710488f,-0.177499996032566f,-0.173124996130355f,-0.169166662885497f,-0.248958327768681f,-0.391458324583558f,-0.306458326483456f,-0.063333331917723f,0.133749997010455f,0.182916662578161f,0.190624995739199f,0.177083329375212f,0.168541662899467f,0.177083329375212f,-0.122708330590588f,-0.0641666652324299f,-0.0958333311912914f,-0.119999997317791f,-0.173124996130355f,-0.236458328048078f,-0.288124993559904f,-0.322499992791563f,-0.372499991673976f,-0.422291657227712f,-0.419374990626238f,-0.375624991604127f,-0.325416659393037f,-0.24458332786647f,-0.176666662717859f,-0.177916662689919f,-0.217499995138496f,-0.269166660650323f,-0.342083325687175f,-0.364166658526907f,-0.319583326190089f,-0.271458327265767f,-0.0706249984214082f,0.213958328550992f,0.0295833326720943f,0.277916660454745f,-0.130416663751627f,-0.200833328844359f,-0.229999994859099f,-0.239166661320875f,-0.211458328606871f,-0.134999996982515f,-0.063333331917723f,0.00729166650368522f,0.0710416650787617f,0.0691666651206712f,0.133541663681778f,0.186666662494342f,0.236249994719401f,0.268333327335616f,0.322291659462887f,0.377916658219571f,0.423333323871096f,0.437499990221113f,0.454999989829957f,0.399166657744596f,0.396666657800476f,0.3481249922188f,0.347291658904093f,0.403541657646808f,0.437499990221113f,0.43708332356376f,0.45041665659907f,0.454166656515251f,0.433958323633609f,0.387916657996054f,0.329791659295248f,0.215208328523052f,0.000208333328676723f,-0.211874995264225f,-0.0831249981420115f,0.0183333329235514f,-0.00291666660147409f,-0.072291665050822f,-0.0922916646037872f,-0.0070833331750085f,0.135416663639868f,0.159166663109014f,0.152499996591359f,0.125624997192062f,0.0799999982118607f,0.0291666660147409f,0.0258333327559133f,-0.00895833313309898f,-0.0666666651765506f,-0.109999997541308f,-0.123958330562649f,-0.169166662885497f,-0.219999995082617f,-0.256249994272366f,-0.363124991883524f,-0.498124988866039f,-0.428124990430661f,-0.0772916649390633f,0.0806249981978908f,0.0993749977787957f,0.133958330339131f,0.155833329850187f,0.174583329431092f,0.194791662312734f,-0.109374997555278f,-0.166249996284023f,-0.128541663793537f,-0.0927083312611406f,-0.137916663583989f,-0.202708328802449f,-0.233541661446604f,-0.263541660776051f,-0.326458326036421f,-0.38562499138061f,-0.389583324625467f,-0.34687499224674f,-0.288749993545935f,-0.236458328048078f,-0.206041662061277f,-0.184791662536251f,-0.138958330227373f,-0.0327083326022451f,-0.0658333318618437f,-0.0712499984074384f,-0.00270833327279737f,-0.0210416661963488f,-0.00791666648971538f,-0.029791666000771f,-0.0281249993713573f,0.274166660538564f,-0.0235416661404694f,-0.225208328299535f,-0.258749994216487f,-0.203958328774509f,-0.0874999980442226f,-0.118958330674407f,-0.056666665400068f,-0.00187499995809048f,0.0689583317919945f,0.081249998183921f,0.159166663109014f,0.201249995501712f,0.23187499481719f,0.249166661097358f,0.23187499481719f,0.216249995166436f,0.197916662242884f,0.20833332867672f,0.182499995920807f,0.164166662997256f,0.161666663053135f,0.129374997108243f,0.126249997178093f,0.174583329431092f,0.213541661893638f,0.219374995096587f,0.200416662187005f,0.183541662564191f,0.141874996828847f,0.0556249987566844f,-0.0291666660147409f,-0.159791663095045f,-0.33604165915555f,-0.342708325673205f,-0.0591666653441886f,0.00249999994412065f,-0.0139583330213403f,-0.0458333323088785f,-0.00166666662941376f,0.0952083312052612f,0.164999996311963f,0.16708332959873f,0.151458329947976f,0.119999997317791f,0.0735416650228823f,0.0447916656654949f,0.0833333314706882f,0.103124997694977f,0.0893749980023131f,0.0672916651625807f,0.00333333325882753f,-0.086458331400839f,-0.15312499657739f,-0.219583328425263f,-0.319166659532736f,-0.386666658023993f,-0.164791662983286f,0.0616666652883093f,0.0662499985191971f,0.0641666652324299f,0.0795833315545072f,0.11499999742955f,0.149374996661209f,0.182083329263454f,-0.116458330730287f,-0.201874995487742f,-0.163541663011226f,-0.111041664184692f,-0.124374997220002f,-0.157916663136954f,-0.18041666263404f,-0.204791662089216f,-0.236666661376754f,-0.249999994412065f,-0.263958327433405f,-0.252708327684862f,-0.23124999483116f,-0.216458328495113f,-0.185416662522281f,-0.0985416644640888f,-0.00270833327279737f,-0.0535416654699172f,-0.0341666659029822f,-0.0691666651206712f,-0.0508333321971198f,-0.0502083322110896f,-0.0337499992456287f,0.0785416649111236f,0.0991666644501189f,0.137291663597959f,-0.197916662242884f,-0.19437499565538f,-0.176249996060506f,-0.186666662494342f,-0.142499996814877f,-0.109374997555278f,-0.0314583326301848f,0.0318749992875382f,0.072291665050822f,0.047708332266969f,0.0872916647155459f,0.12833333046486f,0.146458330059734f,0.109999997541308f,0.0918749979464337f,0.0656249985331669f,-0.0368749991757795f,-0.052916665483887f,-0.113749997457489f,-0.159583329766368f,-0.176666662717859f,-0.19187499571126f,-0.203541662117156f,-0.181874995934777f,-0.165416662969316f,-0.177916662689919f,-0.198333328900238f,-0.189999995753169f,-0.208958328662751f,-0.254999994300306f,-0.316249992931262f,-0.446458323354212f,-0.442916656766708f,-0.249374994426034f,-0.024583332783853f,-0.00020833332867672f,-0.0191666662382583f,-0.0127083330492799f,0.07749999826774f,0.174999996088445f,0.210208328634811f,0.16895832955682f,0.109374997555278f,0.0374999991618097f,0.0081249998183921f,0.0354166658750425f,0.0770833316103866f,0.156041663178864f,0.204583328760539f,0.189166662438462f,0.104374997667037f,0.0183333329235514f,-0.023124999483116f,-0.0924999979324639f,-0.177083329375212f,-0.18104166262007f,-0.0147916663360472f,0.03874999913387f,0.0574999987147748f,0.0620833319456627f,0.0560416654140378f,0.0752083316522961f,0.110624997527339f,0.149999996647239f,0.118749997345731f,-0.171874996158294f,-0.20520832874657f,-0.17916666266198f,-0.165208329640639f,-0.158333329794308f,-0.171874996158294f,-0.189791662424492f,-0.20520832874657f,-0.204791662089216f,-0.206666662047307f,-0.196041662284794f,-0.160624996409751f,-0.136458330283252f,-0.136666663611929f,-0.11562499741558f,-0.07749999826774f,-0.124791663877356f,-0.147708330031795f,-0.120624997303821f,-0.093124997918494f,-0.0979166644780586f,-0.117291664044994f,-0.103749997681007f,-0.192708329025966f,-0.243333327894409f,-0.216874995152466f,-0.17916666266198f,-0.145208330087674f,-0.119999997317791f,-0.10479166432439f,-0.10229166438027f,-0.00249999994412065f,0.00645833318897833f,0.0339583325743054f,-0.00333333325882753f,-0.00270833327279737f,-0.00416666657353441f,0.0106249997625127f,-0.0216666661823789f,-0.0216666661823789f,0.00458333323088785f,-0.0149999996647239f,-0.0202083328816419f,-0.0524999988265336f,-0.0635416652463997f,-0.0927083312611406f,-0.109583330883955f,-0.0960416645199681f,-0.054374998784624f,-0.0260416660845901f,-0.0416666657353441f,-0.0368749991757795f,-0.0583333320294817f,-0.0656249985331669f,-0.0606249986449257f,-0.0724999983794987f,-0.137291663597959f,-0.171458329500941f,-0.127499997150153f,-0.0408333324206372f,-0.0202083328816419f,-0.0135416663639868f,0.0362499991897494f,0.143958330115614f,0.237708328020138f,0.252916661013539f,0.159583329766368f,0.0958333311912914f,0.0279166660426805f,-0.0318749992875382f,-0.0672916651625807f,-0.0687499984633178f,-0.028333332700034f,0.00437499990221113f,0.0395833324485769f,0.0258333327559133f,-0.0337499992456287f,-0.0537499987985939f,-0.0820833314986279f,-0.136874996940605f,-0.129791663765597f,-0.0374999991618097f,0.0158333329794308f,0.0524999988265336f,0.0904166646456967f,0.105624997639097f,0.10354166435233f,0.103958331009684f,0.116458330730287f,0.136874996940605f,0.0860416647434856f,-0.146041663402381f,-0.177499996032566f,-0.199374995543621f,-0.20645832871863f,-0.210208328634811f,-0.239166661320875f,-0.172499996144325f,-0.217708328467173f,-0.201041662173035f,-0.20645832871863f,-0.157291663150924f,-0.117291664044994f,-0.117916664031024f,-0.113541664128813f,-0.11499999742955f,-0.146874996717088f,-0.158749996451661f,-0.123541663905295f,-0.123958330562649f,-0.0999999977648258f,-0.0764583316243564f,-0.119374997331761f,-0.170833329514911f,-0.146666663388411f,-0.104583330995714f,-0.0887499980162829f,-0.101458331065563f,-0.117291664044994f,-0.125624997192062f,-0.100208331093503f,-0.0908333313030501f,-0.073749998351559f,-0.0406249990919605f,-0.124791663877356f,-0.113124997471459f,-0.0877083313728993f,-0.0508333321971198f,-0.0399999991059303f,-0.028333332700034f,0.0106249997625127f,0.0729166650368522f,0.113958330786166f,0.0922916646037872f,0.0824999981559813f,0.0754166649809728f,0.0702083317640548f,0.0897916646596665f,0.131874997052364f,0.201874995487742f,0.250416661069418f,0.238958327992198f,0.220833328397324f,0.199791662200975f,0.205416662075246f,0.20520832874657f,0.134999996982515f,0.0279166660426805f,-0.00291666660147408f,0.0112499997485429f,-0.0352083325463658f,0.0020833332867672f,0.0652083318758135f,0.151041663290622f,0.18041666263404f,0.152499996591359f,0.107708330925864f,0.0889583313449596f,0.0258333327559133f,-0.0727083317081754f,-0.155208329864157f,-0.187083329151695f,-0.216249995166436f,-0.22041666173997f,-0.141874996828847f,-0.122291663933235f,-0.166666662941376f,-0.164583329654609f,-0.164999996311963f,-0.165624996297993f,-0.132291663709718f,-0.0777083315964167f,-0.0147916663360472f,0.056666665400068f,0.141249996842816f,0.212291661921578f,0.224791661642181f,0.188333329123755f,0.134791663653838f,0.101458331065563f,0.0756249983096495f,-0.0508333321971198f,-0.149791663318562f,-0.208749995334074f,-0.252291661027508f,-0.276874993811361f,-0.300833326609184f,-0.20708332870466f,-0.0433333323647579f,-0.0729166650368522f,-0.225624994956888f,-0.179583329319333f,-0.141874996828847f,-0.0981249978067354f,-0.123124997247942f,-0.10479166432439f,-0.0952083312052613f,-0.123541663905295f,-0.114166664114843f,-0.104999997653067f,-0.0885416646876062f,-0.073749998351559f,-0.0747916649949426f,-0.1029166643663f,-0.10166666439424f,-0.104999997653067f,-0.12770833047883f,-0.144166663444291f,-0.156666663164894f,-0.15312499657739f,-0.102708331037623f,-0.138749996898696f,-0.162499996367842f,-0.15499999653548f,-0.249791661083388f,-0.253333327670892f,-0.234166661432634f,-0.210833328620841f,-0.16770832958476f,-0.121249997289851f,-0.0758333316383262f,-0.00374999991618097f,0.11624999740161f,0.141458330171493f,0.149583329989885f,0.175208329417122f,0.166249996284023f,0.110416664198662f,0.0768749982817098f,0.112291664156752f,0.200833328844359f,0.199166662214945f,0.173958329445062f,0.151458329947976f,0.164791662983286f,0.177916662689919f,0.153958329892096f,-0.0114583330772196f,0.0441666656794647f,0.153958329892096f,0.116041664072933f,0.0877083313728993f,0.14291666347223f,0.137083330269282f,0.173124996130355f,0.171458329500941f,0.13020833042295f,0.121458330618528f,0.0620833319456627f,-0.0499999988824129f,-0.137083330269282f,-0.169791662871527f,-0.223958328327474f,-0.226458328271595f,-0.215416661851729f,-0.289583326860641f,-0.257708327573103f,-0.231458328159836f,-0.233541661446604f,-0.234374994761311f,-0.210624995292164f,-0.145416663416351f,-0.0612499986309558f,0.0599999986588955f,0.188749995781109f,0.295208326734913f,0.326041659379067f,0.271458327265767f,0.179999995976686f,0.0460416656375552f,-0.0904166646456967f,-0.0922916646037872f,-0.126458330506769f,-0.194583328984057f,-0.272708327237827f,-0.320624992833473f,-0.338749992428348f,-0.222499995026737f,0.0343749992316589f,-0.164374996325932f,-0.218333328453203f,-0.209791661977458f,-0.176666662717859f,-0.0714583317361151f,-0.0654166652044902f,-0.0160416663081075f,-0.00729166650368522f,0.00166666662941376f,-0.0202083328816419f,-0.029791666000771f,-0.037291665833133f,-0.0308333326441546f,-0.0212499995250255f,0.00833333314706882f,-0.0202083328816419f,-0.0668749985052273f,-0.0972916644920285f,-0.137916663583989f,-0.173958329445062f,-0.166249996284023f,-0.161874996381812f,-0.196458328942147f,-0.235624994733371f,-0.251874994370155f,-0.228124994901009f,-0.264166660762082f,-0.323124992777593f,-0.34937499219086f,-0.334374992526136f,-0.275624993839301f,-0.198749995557591f,-0.134583330325161f,-0.00520833321691801f,0.117291664044994f,0.172916662801678f,0.21916666176791f,0.198749995557591f,0.0447916656654949f,-0.0224999994970858f,0.00749999983236194f,0.0839583314567183f,0.155416663192833f,0.134999996982515f,0.056666665400068f,0.0218749995110557f,-0.00833333314706882f,-0.120416663975144f,-0.0122916663919265f,0.174791662759768f,0.23187499481719f,0.245416661181177f,0.184583329207574f,0.173124996130355f,0.137083330269282f,0.254374994314276f,0.257499994244426f,0.21854166178188f,0.200416662187005f,0.166874996270053f,0.0841666647853951f,-0.0120833330632498f,-0.0716666650647918f,-0.144166663444291f,-0.15562499652151f,-0.1181249973597f,-0.363541658540877f,-0.356458325365869f,-0.342083325687175f,-0.331249992595986f,-0.325416659393037f,-0.304166659868012f,-0.241666661264996f,-0.130624997080304f,0.03874999913387f,0.215416661851729f,0.332708325896723f,0.338541659099671f,0.280208327070189f,0.142083330157523f,-0.0299999993294477f,0.0374999991618097f,-0.0418749990640208f,-0.0377083324904864f,-0.195833328956117f,-0.284166660315047f,-0.333541659211429f,-0.334999992512167f,0.0506249988684431f,0.103749997681007f,-0.0418749990640208f,-0.2058333287326f,-0.239166661320875f,-0.178124996018596f,-0.0112499997485429f,0.0197916662242884f,0.0504166655397664f,0.0308333326441546f,0.0593749986728653f,0.0747916649949426f,0.0629166652603696f,0.11624999740161f,0.15437499654945f,0.14041666352811f,0.122499997261912f,0.115833330744257f,0.105416664310421f,0.0672916651625807f,0.00437499990221113f,-0.0466666656235854f,-0.0647916652184601f,-0.0741666650089125f,-0.105833330967774f,-0.145208330087674f,-0.187916662466402f,-0.0252083327698832f,-0.0718749983934686f,-0.138541663570019f,-0.22041666173997f,-0.344583325631296f,-0.462083323004966f,-0.456458323130695f,-0.320416659504796f,-0.204166662103186f,-0.0727083317081754f,0.0310416659728313f,0.0941666645618777f,0.121458330618528f,0.0481249989243224f,0.0306249993154779f,0.0979166644780586f,0.211041661949518f,0.264166660762082f,0.190416662410523f,0.0770833316103866f,0.00729166650368522f,-0.0308333326441546f,-0.0585416653581585f,0.140208330199433f,0.159999996423721f,0.125833330520739f,0.169791662871527f,0.153333329906066f,0.227916661572332f,0.221666661712031f,0.241458327936319f,0.255833327615013f,0.25979166085987f,0.263958327433405f,0.25979166085987f,0.209166661991427f,0.118958330674407f,0.0679166651486109f,0.00312499993015081f,-0.0329166659309218f,0.0120833330632498f,-0.33604165915555f,-0.382916658107812f,-0.407083324234312f,-0.410833324150493f,-0.408958324192402f,-0.373124991660006f,-0.299374993308447f,-0.182083329263454f,-0.00729166650368522f,0.232916661460573f,0.340833325715115f,0.319166659532736f,0.271666660594443f,0.102083331051593f,0.0589583320155119f,0.0487499989103526f,0.0749999983236194f,0.0897916646596665f,-0.167291662927407f,-0.261041660831931f,-0.299999993294477f,-0.0845833314427485f,0.146458330059734f,0.189166662438462f,0.137083330269282f,0.0229166661544392f,-0.216249995166436f,0.028333332700034f,0.0829166648133347f,0.101041664408209f,0.119583330660438f,0.0499999988824129f,0.0202083328816419f,0.151666663276652f,0.228541661558362f,0.437499990221113f,0.469374989508651f,0.407291657562989f,0.336249992484227f,0.300208326623154f,0.284374993643723f,0.242499994579703f,0.178749996004626f,0.14104166351414f,0.137083330269282f,0.138124996912666f,0.145624996745028f,0.107499997597188f,0.0381249991478398f,0.319166659532736f,0.216249995166436f,0.0881249980302528f,0.0120833330632498f,-0.127499997150153f,-0.360624991939403f,-0.504166655397663f,-0.552708320979339f,-0.499791655495452f,-0.347083325575416f,-0.196249995613471f,-0.114583330772196f,-0.0689583317919945f,-0.0189583329095816f,0.0147916663360472f,0.0660416651905204f,0.165624996297993f,0.19499999564141f,0.197499995585531f,0.152916663248713f,0.123124997247942f,-0.0445833323368182f,0.0420833323926975f,0.109374997555278f,0.200833328844359f,0.126249997178093f,0.113124997471459f,0.151458329947976f,0.154166663220773f,0.147291663374441f,0.146041663402381f,0.177916662689919f,0.213749995222315f,0.246874994481914f,0.265833327391495f,0.240624994621612f,0.191458329053906f,0.171874996158294f,0.129166663779567f,0.0549999987706542f,0.0218749995110556f,-0.144166663444291f,-0.186874995823018f,-0.231666661488513f,-0.256458327601043f,-0.25916666087384f,-0.189166662438462f,-0.0831249981420115f,0.0262499994132668f,0.108749997569248f,0.249791661083388f,0.334999992512167f,0.332499992568046f,0.316458326259938f,0.243124994565733f,0.188124995795079f,0.156041663178864f,0.146874996717088f,0.0777083315964167f,0.0341666659029822f,-0.0533333321412404f,-0.0724999983794987f,0.183124995906837f,0.239583327978229f,0.251666661041478f,0.190208329081846f,0.114583330772196f,0.101249997736886f,0.136666663611929f,0.173124996130355f,0.177083329375212f,0.156874996493571f,0.105624997639097f,0.0527083321552103f,0.0745833316662659f,0.241041661278966f,0.473333322753509f,0.572499987203628f,0.56666665400068f,0.509374988614582f,0.430833323703458f,0.431458323689488f,0.397708324443859f,0.355416658722485f,0.415416657381381f,0.38687499135267f,0.334999992512167f,0.367499991785735f,0.37604165826148f,0.347083325575416f,0.601874986547045f,0.501666655453543f,0.387916657996053f,0.271666660594443f,0.138333330241342f,-0.0854166647574554f,-0.409166657521079f,-0.638124985736795f,-0.703749984269962f,-0.629583319261049f,-0.51645832178959f,-0.434791656948316f,-0.355208325393808f,-0.256041660943689f,-0.172083329486971f,-0.147708330031795f,-0.113541664128813f,-0.00604166653162489f,0.14104166351414f,0.226458328271595f,0.284166660315047f,-0.0427083323787277f,0.0299999993294477f,0.0766666649530331f,0.359166658638666f,0.148958330003855f,0.0706249984214082f,0.0270833327279737f,0.0622916652743394f,0.0866666647295157f,0.105833330967774f,0.152708329920036f,0.192916662354643f,0.213958328550992f,0.241041661278966f,0.229583328201746f,0.20645832871863f,0.203958328774509f,0.217499995138496f,0.150208329975915f,0.125416663863386f,0.113749997457489f,0.122916663919265f,0.131249997066334f,0.171041662843587f,0.278749993769452f,0.393124991212972f,0.459583323060845f,0.442708323438031f,0.368958325086472f,0.328749992651865f,0.352083325463658f,0.365208325170291f,0.36270832522617f,0.349166658862184f,0.314166659644494f,0.253124994342215f,0.0756249983096495f,0.0162499996367842f,0.00249999994412064f,0.105416664310421f,0.171458329500941f,0.225208328299535f,0.281666660370926f,0.306041659826102f,0.256041660943689f,0.173333329459031f,0.183333329235514f,0.232083328145867f,0.258333327559133f,0.217499995138496f,0.145833330073704f,0.0314583326301848f,-0.0610416653022791f,-0.101041664408209f,0.101041664408209f,0.288124993559904f,0.0356249992037192f,0.42562499048654f,0.387708324667377f,0.224583328313505f,0.328958325980542f,0.380416658163692f,0.479583322613811f,0.56604165401465f,0.562083320769792f,0.520416655034448f,0.600208319917632f,0.655624985345639f,0.65874998527579f,0.675624984898605f,0.620833319456627f,0.5297916548249f,0.423749990528449f,0.32208332613421f,0.0885416646876062f,-0.224999994970858f,-0.521458321677831f,-0.702291650969225f,-0.74958331657884f,-0.751666649865607f,-0.703541650941285f,-0.567083320658033f,-0.402499991003424f,-0.282083327028279f,-0.29729166002168f,-0.236041661390724f,-0.121458330618528f,0.0791666648971538f,0.233333328117927f,0.352083325463658f,0.447291656668919f,0.503333322082957f,0.544374987832271f,0.54187498788815f,0.385833324709286f,0.23312499478925f,0.0981249978067353f,0.108124997583218f,0.12833333046486f,0.148333330017825f,0.176458329389182f,0.216666661823789f,0.221666661712031f,0.2452083278525f,0.268749993992969f,0.294166660091529f,0.298958326651094f,0.28270832701431f,0.241458327936319f,0.209583328648781f,0.0799999982118607f,0.0731249983655289f,0.162499996367842f,0.241041661278966f,0.428333323759337f,0.585416653581585f,0.634999985806644f,0.591458320113209f,0.517916655090327f,0.468749989522621f,0.416666657353441f,0.292083326804762f,0.359583325296019f,0.348958325533507f,0.320833326162149f,0.280624993727542f,0.160208329752398f,0.0702083317640548f,-0.0195833328956117f,0.0143749996786937f,0.0743749983375892f,0.125833330520739f,0.184791662536251f,0.24458332786647f,0.278958327098129f,0.259999994188547f,0.288333326888581f,0.330416659281279f,0.291666660147409f,0.209583328648781f,0.106874997611158f,-0.0422916657213743f,-0.155833329850187f,-0.225624994956888f,-0.129791663765597f,0.0835416647993649f,-0.0689583317919945f,0.0558333320853611f,0.0804166648692141f,0.161874996381812f,0.24458332786647f,0.357291658680576f,0.474999989382923f,0.492499988991767f,0.552708320979339f,0.566249987343326f,0.630624985904433f,0.683749984716997f,0.691249984549358f,0.578958320392606f,0.554999987594783f,0.496666655565302f,0.487291655774849f,0.454999989829957f,0.313749992987141f,0.0610416653022791f,-0.248958327768681f,-0.50374998874031f,-0.681041651444199f,-0.831874981406145f,-0.842291647839981f,-0.652083318758135f,-0.428333323759337f,-0.325208326064361f,-0.329999992623925f,-0.28395832698637f,-0.178749996004626f,0.0324999992735684f,0.213124995236285f,0.364583325184261f,0.495208322264565f,0.576041653791132f,0.631666652547816f,0.668541651723596f,0.676666651541988f,0.50187498878222f,0.382708324779136f,0.353124992107041f,0.29666666003565f,0.248749994440004f,0.25791666090178f,0.298333326665064f,0.334999992512167f,0.367916658443088f,0.393124991212972f,0.435416656934346f,0.484583322502052f,0.51708332177562f,0.311666659700374f,0.217499995138496f,0.136041663625898f,0.0883333313589295f,0.168749996228144f,0.253541660999569f,0.389374991296791f,0.509583321943258f,0.524166654950629f,0.557708320867581f,0.488541655746909f,0.510208321929288f,0.563333320741852f,0.454791656501281f,0.42749999044463f,0.361666658582787f,0.329166659309218f,0.28520832695843f,0.182916662578161f,0.0220833328397324f,-0.103749997681007f,-0.0704166650927315f,-0.0224999994970858f,0.0110416664198662f,0.0243749994551763f,0.0143749996786937f,-0.0299999993294477f,-0.11624999740161f,-0.00229166661544392f,0.172916662801678f,0.198749995557591f,0.139166663556049f,0.0460416656375552f,-0.110416664198662f,-0.214999995194376f,-0.278124993783422f,-0.144999996758997f,-0.0756249983096495f,-0.136666663611929f,-0.132083330381041f,-0.202083328816419f,0.274583327195918f,0.627916652631635f,0.621666652771334f,0.611874986323528f,0.57937498704996f,0.674583318255221f,0.605833319791903f,0.603541653176459f,0.673541651611837f,0.60791665307867f,0.641666652324299f,0.614999986253679f,0.566041654014649f,0.624791652701485f,0.634999985806644f,0.617916652855153f,0.461874989676289f,0.173333329459031f,-0.0958333311912914f,-0.363958325198231f,-0.620208319470597f,-0.730624983669259f,-0.584166653609524f,-0.343958325645266f,-0.264999994076788f,-0.272708327237827f,-0.244374994537793f,-0.161249996395782f,0.0358333325323959f,0.221041661726f,0.381041658149722f,0.520624988363124f,0.611666652994851f,0.676666651541988f,0.72416665048028f,0.731249983655289f,0.646874985541217f,0.655833318674316f,0.713541650717768f,0.771666649418573f,0.748541649935457f,0.679374984814785f,0.542708321202857f,0.542083321216827f,0.633124985848553f,0.697083317752307f,0.697291651080983f,0.701874984311871f,0.58062498702202f,0.37416665830339f,0.216874995152466f,0.15499999653548f,0.138749996898696f,0.183124995906837f,0.23374999477528f,0.346249992260709f,0.503958322068987f,0.297083326693003f,0.314791659630525f,0.376874991576187f,0.514166655174146f,0.617916652855153f,0.588541653511735f,0.499999988824129f,0.395624991157092f,0.333124992554076f,0.263541660776051f,0.133749997010455f,-0.0356249992037192f,-0.146874996717088f,-0.12958333043692f,-0.0933333312471708f,-0.0802083315405374f,-0.095416664533938f,-0.157499996479601f,-0.295833326720943f,-0.498333322194715f,-0.447499989997596f,-0.264583327419435f,-0.115208330758226f,-0.0862499980721623f,-0.132291663709717f,-0.220624995068647f,-0.279791660412836f,-0.309166659756253f,-0.315208326287878f,-0.308958326427576f,0.47583332269763f,0.690624984563328f,0.127291663821476f,-0.416458324024764f,0.762083316299443f,0.590208320141149f,0.619791652813243f,0.669999985024333f,0.765833316215624f,0.669999985024333f,0.68291665140229f,0.750416649893547f,0.666041651779475f,0.485833322474112f,0.524583321607982f,0.562708320755822f,0.645208318911803f,0.686666651318471f,0.736041650214853f,0.701249984325841f,0.507291655327814f,0.291666660147409f,0.0852083314287787f,-0.218333328453203f,-0.465833322921147f,-0.464791656277763f,-0.266458327377526f,-0.143749996786937f,-0.145416663416351f,-0.116666664058963f,-0.0341666659029822f,0.132083330381041f,0.289999993517995f,0.430624990374781f,0.553749987622723f,0.641666652324299f,0.709374984144233f,0.756874983082525f,0.769791649460482f,0.765833316215624f,0.751458316536931f,0.751041649879577f,0.864791647337067f,1.03499997686595f,1.02249997714534f,0.86333331403633f,0.874374980456196f,1.05874997633509f,1.16124997404404f,1.10020830874176f,0.935208312429798f,0.73749998351559f,0.480624989257194f,0.255208327628983f,0.148124996689148f,0.120208330646468f,0.147916663360472f,0.178541662675949f,0.0535416654699172f,0.0406249990919605f,0.0481249989243224f,0.086458331400839f,0.156041663178864f,0.27249999390915f,0.426666657129923f,0.303958326539335f,0.0322916659448917f,0.0456249989802018f,0.278124993783422f,0.187708329137725f,0.0416666657353441f,-0.114583330772196f,-0.209374995320104f,-0.202083328816419f,-0.172708329473001f,-0.176666662717859f,-0.238333328006168f,-0.363958325198231f,-0.556666654224197f,-0.748124983278103f,-0.762499982956797f,-0.658958318604467f,-0.541041654573443f,-0.485624989145435f,-0.472291656110125f,-0.464583322949087f,-0.454791656501281f,-0.46437498962041f,-0.494374988949858f,-0.537291654657262f,-0.557916654196257f,-0.404999990947545f,-0.265416660734142f,-0.668541651723596f,-0.344166658973942f,-0.0199999995529652f,0.0256249994272366f,0.159166663109014f,0.266249994048849f,0.281249993713573f,0.316249992931262f,0.382708324779135f,0.398749991087243f,0.0695833317780246f,0.10354166435233f,0.159791663095045f,0.239583327978229f,0.318749992875382f,0.376666658247511f,0.397291657786506f,0.368958325086472f,0.327916659337158f,0.275833327167978f,-0.0339583325743054f,-0.272708327237827f,-0.301666659923891f,-0.136041663625898f,0.0129166663779567f,0.0327083326022451f,0.0758333316383262f,0.154166663220773f,0.291249993490055f,0.430416657046104f,0.541458321230796f,0.626666652659575f,0.702291650969225f,0.766249982872978f,0.805833315321555f,0.818958315028188f,0.819166648356865f,0.815416648440684f,0.817499981727451f,0.82770831483261f,0.848541647700282f,0.961458311843065f,1.04395830999905f,1.08583330906307f,1.32791663698542f,1.41249996842816f,1.33291663687366f,1.10937497520354f,0.844166647798071f,0.595624986686744f,0.373333324988683f,0.196249995613471f,0.106458330953804f,0.091666664617757f,-0.0929166645898173f,-0.117083330716317f,-0.118958330674407f,-0.115416664086903f,-0.0987499977927655f,-0.0645833318897833f,0.00312499993015081f,0.113333330800136f,0.241249994607642f,0.277083327140038f,0.234166661432634f,0.157083329822247f,0.0612499986309558f,-0.054374998784624f,-0.179999995976686f,-0.282291660356956f,-0.329583325966572f,-0.330833325938632f,-0.389583324625467f,-0.530833321468284f,-0.712916650731737f,-0.881666646959881f,-0.976041644850435f,-0.975416644864405f,-0.895624979981221f,-0.791249982314184f,-0.73437498358544f,-0.727916650396461f,-0.708749984158203f,-0.701458317654518f,-0.732083316969996f,-0.787499982398003f,-0.858124980819412f,-0.919999979436398f,-0.958333311912914f,-0.979791644766616f,-0.993749977787957f,-0.514583321831499f,-0.642291652310329f,-0.548124987748452f,-0.428333323759337f,-0.264374994090758f,-0.146666663388411f,-0.140833330185463f,-0.122291663933235f,-0.0333333325882753f,-0.167499996256083f,-0.228749994887039f,-0.264374994090758f,-0.2058333287326f,-0.171458329500941f,-0.161249996395782f,-0.108541664240571f,-0.0308333326441546f,-0.0345833325603356f,0.0816666648412744f,-0.0772916649390633f,-0.137916663583989f,0.0310416659728313f,0.15437499654945f,0.179583329319333f,0.211249995278195f,0.266666660706202f,0.352916658778364f,0.483333322529992f,0.591458320113209f,0.68291665140229f,0.764583316243564f,0.836458314637033f,0.890208313435626f,0.918958312793014f,0.921874979394488f,0.907083313058441f,0.890416646764303f,0.883749980246648f,0.894791646666514f,0.911666646289329f,0.926041645968022f,0.848333314371606f,0.791666648971538f,1.0470833099292f,1.10208330869985f,1.0658333095101f,0.939166645674656f,0.74833331660678f,0.373958324974713f,0.215624995180406f,0.10229166438027f,-0.14354166345826f,-0.168124996242113f,-0.251666661041478f,-0.264999994076788f,-0.263541660776051f,-0.265208327405465f,-0.262083327475314f,-0.256874994258396f,-0.239791661306905f,-0.186458329165665f,-0.0795833315545072f,0.0162499996367842f,0.0766666649530331f,0.0537499987985939f,-0.0106249997625127f,-0.0835416647993649f,-0.163124996353872f,-0.242083327922349f,-0.323124992777593f,-0.432708323661548f,-0.609583319708084f,-0.822083314958339f,-0.967291645046013f,-1.05916664299245f,-1.09729164214029f,-1.0720833093704f,-0.998749977676198f,-0.913958312904773f,-0.861666647406916f,-0.839999981224537f,-0.843333314483364f,-0.892291646722394f,-0.963958311787186f,-1.0443749766564f,-1.12999997474253f,-1.19854163987717f,-1.23583330571031f,-1.25187497201841f,-1.2529166386618f,-0.861666647406916f,-0.633541652505907f,-0.751249983208254f,-0.645624985569157f,-0.420208323940945f,-0.250416661069418f,-0.216874995152466f,-0.291249993490055f,-0.199999995529652f,-0.427083323787277f,-0.540208321258736f,-0.421874990570359f,-0.468541656193944f,-0.52854165485284f,-0.427083323787277f,-0.229999994859099f,-0.16833332957079f,-0.13083333040898f,-0.0558333320853611f,-0.0135416663639868f,0.172916662801678f,0.271041660608413f,0.324374992749654f,0.378124991548248f,0.434791656948316f,0.502708322096926f,0.580416653693343f,0.677083318199341f,0.772916649390633f,0.879999980330467f,1.01541664397034f,1.11916664165134f,1.21395830619925f,1.27729163811697f,1.18062497361097f,1.04749997658655f,1.02666664371888f,1.01249997736886f,1.00791664413797f,0.771874982747249f,0.65874998527579f,0.523958321621952f,0.306458326483456f,0.468541656193944f,0.454166656515251f,0.468749989522621f,0.448333323312302f,0.379583324848985f,0.286666660259167f,0.155416663192833f,-0.0268749993992969f,-0.239166661320875f,-0.404791657618868f,-0.423749990528449f,-0.435416656934346f,-0.410208324164463f,-0.427083323787277f,-0.443124990095384f,-0.455416656487311f,-0.460624989704229f,-0.429999990388751f,-0.332291659239369f,-0.174999996088445f,-0.0379166658191631f,-0.00312499993015081f,-0.0152083329934006f,-0.0539583321272706f,-0.107083330939834f,-0.176249996060506f,-0.27249999390915f,-0.407499990891665f,-0.597083319987481f,-0.836249981308356f,-0.992708311144573f,-1.08895830899322f,-1.14291664112049f,-1.15416664086903f,-1.12333330822488f,-1.07187497604173f,-1.02895831033432f,-1.0112499773968f,-1.02583331040417f,-1.07979164253144f,-1.16395830731684f,-1.26229163845225f,-1.35645830301413f,-1.42124996823259f,-1.44583330101644f,-1.44541663435909f,-1.43041663469436f,-0.908333313030501f,-0.709166650815557f,-0.662291651863294f,-0.558958320839641f,-0.411249990807846f,-0.193958328998027f,-0.0108333330911895f,-0.122916663919265f,-0.270833327279737f,-0.719166650592039f,-0.699166651039074f,-0.631874985876493f,-0.563958320727882f,-0.369374991743825f,-0.0977083311493819f,0.0929166645898173f,0.129999997094274f,0.0833333314706882f,0.137499996926636f,0.248124994453974f,0.318958326204059f,0.398124991101213f,0.487291655774849f,0.584374986938201f,0.687291651304501f,0.791874982300214f,0.851666647630433f,0.908749979687855f,0.981666644724707f,1.07083330939834f,1.25854163853607f,1.3772916358818f,1.41374996840022f,1.35479163638471f,1.09791664212632f,1.05916664299245f,1.04333331001302f,1.01249997736886f,0.987291644598978f,0.64354165228239f,0.317291659574645f,0.30999999307096f,0.497291655551332f,0.461249989690259f,0.34749999223277f,0.198749995557591f,0.00104166664338361f,-0.0320833326162149f,-0.0393749991199002f,-0.103333331023653f,-0.193333329011997f,-0.279374993755482f,-0.412708324108583f,-0.572083320546274f,-0.462083323004966f,-0.592916653413946f,-0.615624986239709f,-0.62062498612795f,-0.62062498612795f,-0.602708319861752f,-0.548541654405805f,-0.439374990179203f,-0.270416660622383f,-0.0862499980721623f,-0.00687499984633178f,0.00770833316103866f,-0.0243749994551763f,-0.0822916648273046f,-0.166249996284023f,-0.281249993713573f,-0.428124990430661f,-0.604166653162489f,-0.834583314678942f,-1.01458331065563f,-1.15333330755432f,-1.25687497190665f,-1.32499997038394f,-1.35499996971339f,-1.34833330319573f,-1.31958330383835f,-1.29208330445302f,-1.28666663790743f,-1.32416663706924f,-1.38104163579798f,-1.43687496788334f,-1.47791663363265f,-1.4899999666959f,-1.46208330065322f,-1.39229163554652f,-1.27291663821476f,-0.989166644557069f,-0.765416649558271f,-0.538541654629322f,-0.435416656934346f,-0.366458325142351f,-0.224791661642181f,-0.117291664044994f,-0.270416660622383f,-0.279583327084159f,-0.465833322921147f,-0.259583327531194f,-0.256874994258396f,-0.114791664100873f,0.0277083327140038f,0.0895833313309898f,0.122083330604558f,0.174583329431092f,0.199583328872298f,0.267499994020909f,0.295624993392266f,0.379583324848985f,0.442708323438031f,0.556874987552874f,0.683124984730966f,0.782083315852409f,0.915208312876833f,0.949583312108492f,1.03499997686595f,1.07041664274099f,1.08791664234983f,1.07624997594394f,1.12249997491017f,1.13520830795945f,1.03229164359315f,0.929583312555527f,0.929166645898173f,0.851666647630433f,0.824791648231136f,0.936458312401858f,0.86708331395251f,0.665208318464768f,0.55458332093743f,0.565833320685973f,0.463333322977026f,0.387083324681347f,0.134166663667808f,-0.0308333326441546f,-0.086458331400839f,-0.0712499984074384f,-0.138958330227373f,-0.22041666173997f,-0.284166660315047f,-0.478124989313073f,-0.429166657074044f,-0.462499989662319f,-0.584374986938201f,-0.693749984493479f,-0.717708317291302f,-0.68416665137435f,-0.642291652310329f,-0.58249998698011f,-0.457291656445401f,-0.375833324932804f,-0.144583330101644f,-0.0806249981978908f,-0.0343749992316589f,-0.0385416658051933f,-0.116666664058963f,-0.213333328564962f,-0.321666659476856f,-0.511249988572672f,-0.604583319819843f,-0.907499979715794f,-1.02062497718725f,-1.25166663868974f,-1.37562496925239f,-1.48104163356281f,-1.56916663159306f,-1.59770829762177f,-1.60229163085266f,-1.57541663145336f,-1.4891666333812f,-1.4837499668356f,-1.45312496752013f,-1.43374996795319f,-1.37916663583989f,-1.31395830396408f,-1.23520830572428f,-1.06187497626524f,-0.957916645255561f,-0.661666651877264f,-0.550833321021249f,-0.383749991422519f,-0.363541658540877f,-0.264791660748112f,-0.126041663849416f,-0.0579166653721283f,0.0441666656794647f,0.0891666646736363f,0.11749999737367f,0.11749999737367f,0.0904166646456967f,0.0808333315265675f,0.096874997834675f,0.112916664142782f,0.132708330367071f,0.192916662354643f,0.192916662354643f,0.300833326609184f,0.300833326609184f,0.41229165745123f,0.449999989941716f,0.556666654224197f,0.663333318506678f,0.694583317808186f,0.78708331574065f,0.78708331574065f,0.902499979827553f,0.902499979827553f,0.95479164532541f,0.972499978262931f,0.969791644990134f,0.967083311717336f,0.955833311968794f,0.923333312695225f,0.923333312695225f,0.77374998270534f,0.77374998270534f,0.76229164962812f,0.758333316383262f,0.661874985205941f,0.565416654028619f,0.531458321454314f,0.430416657046104f,0.430416657046104f,0.227916661572332f,0.227916661572332f,0.136041663625898f,0.105833330967774f,0.115416664086903f,0.124999997206032f,0.0958333311912914f,0.00624999986030161f,0.00624999986030161f,-0.227083328257625f,-0.227083328257625f,-0.598124986630864f,-0.722083317193513f,-0.677499984856695f,-0.632916652519877f,-0.584166653609524f,-0.440416656822587f,-0.440416656822587f,-0.206249995389953f,-0.206249995389953f,-0.121666663947205f,-0.0929166645898173f,-0.157291663150924f,-0.221666661712031f,-0.290624993504025f,-0.499999988824129f,-0.499999988824129f,-0.824999981559813f,-0.824999981559813f,-1.0560416430623f,-1.13374997465871f,-1.19458330663232f,-1.25541663860592f,-1.250208305389f,-1.23416663908089f,-1.23416663908089f,-1.12499997485429f,-1.12499997485429f,-1.04479164331375f,-1.01833331057181f,-0.936249979073182f,-0.854166647574554f,-0.791666648971538f,-0.604999986477196f,-0.604999986477196f,-0.310416659728313f,-0.310416659728313f,-0.169791662871527f,-0.122916663919265f,-0.0639583319037532f,-0.00499999988824129f,0.019374999566935f,0.0945833312192311f,0.0945833312192311f,0.127499997150153f,0.127499997150153f,0.0889583313449596f,0.0754166649809728f,0.0820833314986279f,0.0887499980162829f,0.109791664212632f,0.171666662829618f,0.171666662829618f,0.277499993797392f,0.277499993797392f,0.393333324541648f,0.431249990360811f,0.52854165485284f,0.625833319344868f,0.65999998524785f,0.761249982984737f,0.761249982984737f,0.923749979352579f,0.923749979352579f,0.976249978179112f,0.994583311102664f,1.008541644124f,1.02249997714534f,0.999999977648258f,0.933749979129061f,0.933749979129061f,0.772916649390633f,0.772916649390633f,0.659999985247851f,0.621666652771334f,0.589791653483796f,0.557916654196257f,0.549166654391835f,0.526249988237396f,0.526249988237396f,0.419999990612268f,0.419999990612268f,0.357708325337929f,0.336249992484227f,0.366249991813675f,0.396249991143122f,0.425416657157863f,0.5145833218315f,0.5145833218315f,0.40083332437401f,0.40083332437401f,0.0666666651765506f,-0.0449999989941716f,-0.149791663318562f,-0.254583327642952f,-0.204166662103186f,-0.0541666654559473f,-0.0541666654559473f,0.0624999986030161f,0.0624999986030161f,0.0914583312890803f,0.100833331079533f,-0.00187499995809048f,-0.104583330995714f,-0.14104166351414f,-0.253749994328246f,-0.253749994328246f,-0.302916659895952f,-0.302916659895952f,-0.371666658359269f,-0.394583324513709f,-0.413749990751967f,-0.432916656990225f,-0.428958323745367f,-0.417499990668148f,-0.417499990668148f,-0.369166658415149f,-0.369166658415149f,-0.328541659323188f,-0.314999992959201f,-0.287499993573874f,-0.259999994188547f,-0.226874994928949f,-0.127916663807506f,-0.127916663807506f,-0.010416666433836f,-0.010416666433836f,0.0441666656794647f,0.0624999986030161f,0.0897916646596665f,0.117083330716317f,0.123958330562649f,0.144999996758997f,0.144999996758997f,0.149583329989885f,0.149583329989885f,0.0797916648831839f,0.0570833320574214f,0.0368749991757795f,0.0166666662941376f,0.0554166654280076f,0.170416662857557f,0.170416662857557f,0.367499991785735f,0.367499991785735f,0.580208320364667f,0.652083318758135f,0.762708316285474f,0.873333313812812f,0.901874979841523f,0.985416644640888f,0.985416644640888f,1.05874997633509f,1.05874997633509f,1.06791664279687f,1.07166664271305f,1.0631249762373f,1.05458330976156f,1.00645831083724f,0.86333331403633f,0.86333331403633f,0.867499980609864f,0.867499980609864f,0.760833316327383f,0.725416650452341f,0.664791651807415f,0.604166653162489f,0.601249986561015f,0.590833320127179f,0.590833320127179f,0.564583320713912f,0.564583320713912f,0.492083322334414f,0.467499989550561f,0.419791657283592f,0.372083325016623f,0.342708325673205f,0.252499994356185f,0.252499994356185f,0.0974999978207052f,0.0974999978207052f,-0.0406249990919605f,-0.0870833313868691f,-0.0977083311493819f,-0.108333330911895f,-0.0454166656515251f,0.143749996786937f,0.143749996786937f,0.174999996088445f,0.174999996088445f,0.311041659714344f,0.357083325351899f,0.369791658401179f,0.382499991450459f,0.379583324848985f,0.372083325016623f,0.372083325016623f,0.352499992121011f,0.352499992121011f,0.307083326469486f,0.292499993462116f,0.278958327098129f,0.265416660734142f,0.257499994244426f,0.232916661460573f,0.232916661460573f,0.205416662075246f,0.205416662075246f,0.193333329011997f,0.189166662438462f,0.201666662159065f,0.214166661879669f,0.227083328257625f,0.267083327363556f,0.267083327363556f,0.291249993490055f,0.291249993490055f,0.29541666006359f,0.29666666003565f,0.301666659923891f,0.306666659812133f,0.293749993434176f,0.254166660985599f,0.254166660985599f,0.392083324569588f,0.392083324569588f,0.230833328173806f,0.176249996060506f,0.307291659798163f,0.43833332353582f,0.498958322180746f,0.679999984800816f,0.679999984800816f,0.890833313421657f,0.890833313421657f,0.996458311060754f,1.03124997694977f,1.05437497643288f,1.077499975916f,1.07979164253144f,1.08749997569248f,1.08749997569248f,1.09291664223808f,1.09291664223808f,1.09145830893734f,1.09124997560866f,1.07687497592997f,1.06249997625127f,1.04812497657258f,1.00541664419385f,1.00541664419385f,0.92874997924082f,0.92874997924082f,0.860624980763532f,0.838749981252477f,0.785416649111236f,0.732083316969996f,0.708541650829526f,0.638333319065472f,0.638333319065472f,0.527083321552103f,0.527083321552103f,0.435624990263022f,0.404999990947545f,0.353958325421748f,0.302916659895952f,0.287499993573874f,0.241249994607642f,0.241249994607642f,0.15374999656342f,0.15374999656342f,0.102083331051593f,0.0849999981001019f,0.129374997108243f,0.173749996116385f,0.221874995040707f,0.363333325212201f,0.363333325212201f,0.615416652911032f,0.615416652911032f,0.778749982593581f,0.832916648049528f,0.869583313896631f,0.906249979743734f,0.90458331311432f,0.901666646512846f,0.901666646512846f,0.838333314595123f,0.838333314595123f,0.778541649264904f,0.758749983040616f,0.733958316928086f,0.709166650815556f,0.69874998438172f,0.667916651737566f,0.667916651737566f,0.625833319344868f,0.625833319344868f,0.594374986714683f,0.583749986952171f,0.573124987189658f,0.562499987427145f,0.565416654028619f,0.574583320490395f,0.574583320490395f,0.619583319484567f,0.619583319484567f,0.681874984758906f,0.702499984297901f,0.701666650983195f,0.700833317668488f,0.693333317836126f,0.669166651709626f,0.669166651709626f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f,1.077499975916f};
 		assertArrayEquals(temperatureAnomalies1952, resourceManager.getAnomalies(1952));
 	}
-}
 
+	@Test
+	public void PrimitiveAnomalyTest() {
+		//Vérifier que les accesseurs primitifs renvoient les mêmes valeurs que les accesseurs objets
+		assertEquals(0.127083330492799f, resourceManager.getAnomalyValue(1881,12,154), 0.000000000000001);
+		Float[] anomalies1952 = resourceManager.getAnomalies(1952);
+		float[] values1952 = resourceManager.getAnomalyValues(1952);
+		assertEquals(anomalies1952.length, values1952.length);
+		for (int i = 0; i < values1952.length; i++)
+			assertEquals(anomalies1952[i], values1952[i], 0);
+		assertNull(resourceManager.getAnomalyValues(3000));
+		assertTrue(Float.isNaN(resourceManager.getAnomalyValue(1881,13,154)));
+	}
 
+	@Test
+	public void StatisticsTest() {
+		//Vérifier que les statistiques précalculées correspondent à un calcul direct sur les anomalies de 1952
+		float[] values1952 = resourceManager.getAnomalyValues(1952);
+		float min = Float.POSITIVE_INFINITY, max = Float.NEGATIVE_INFINITY;
+		double sum = 0;
+		int count = 0;
+		for (float value : values1952) {
+			if (Float.isNaN(value)) continue;
+			min = Math.min(min, value);
+			max = Math.max(max, value);
+			sum += value;
+			count++;
+		}
+		int yearIndex = resourceManager.getCube().getYearIndex(1952);
+		assertEquals(min, resourceManager.getStatistics().getYearMin(yearIndex), 0);
+		assertEquals(max, resourceManager.getStatistics().getYearMax(yearIndex), 0);
+		assertEquals(count, resourceManager.getStatistics().getYearCount(yearIndex));
+		assertEquals(sum / count, resourceManager.getMeanAnomaly(1952), 0.000001);
+	}
+
+	@Test
+	public void CellSeriesTest() {
+		//Vérifier que l'historique d'une zone lu d'un bloc correspond aux anomalies année par année
+		AnomalyCube cube = resourceManager.getCube();
+		int cellIndex = cube.getCellIndex(12, 154);
+		FloatBuffer series = resourceManager.getAnomalySeries(12, 154);
+		assertEquals(cube.getYearCount(), series.limit());
+		for (int i = 0; i < cube.getYearCount(); i++)
+			assertEquals(cube.get(i, cellIndex), series.get(i), 0);
+		assertEquals(0.127083330492799f, series.get(cube.getYearIndex(1881)), 0.000000000000001);
+
+		//Même résultat quand la copie zone par zone est construite à la demande
+		AnomalyCube view = new AnomalyCube(new int[] {1880, 1881}, new int[] {0, 4}, new int[] {2, 6}, new float[] {1, 2, 3, 4});
+		assertArrayEquals(new float[] {2, 4}, view.copyCell(1, new float[2]), 0);
+		assertNull(resourceManager.getAnomalySeries(13, 154));
+	}
+
+	@Test
+	public void YearAxisTest() throws IOException {
+		//Vérifier que les années sont triées quel que soit l'ordre des colonnes, la première colonne en double étant gardée
+		Path file = Files.createTempFile("unsorted", ".csv");
+		Files.write(file, "\"lat\",\"lon\",\"1990\",\"1880\",\"1950\",\"1880\"\n0,2,1,2,3,4\n".getBytes());
+		AnomalyCube cube = new AnomalyCsvParser().parse(file.toString());
+		Files.delete(file);
+		assertArrayEquals(new int[] {1880, 1950, 1990}, cube.getYearAxis().toArray());
+		assertArrayEquals(new float[] {2, 3, 1}, cube.copyCell(0, new float[3]), 0);
+
+		//Vérifier les recherches sur un axe contigu, à trous et très étendu
+		YearAxis contiguous = new YearAxis(new int[] {1880, 1881, 1882});
+		assertTrue(contiguous.isContiguous());
+		assertEquals(2, contiguous.indexOf(1882));
+		assertEquals(-1, contiguous.indexOf(1883));
+		YearAxis sparse = new YearAxis(new int[] {-5000, 1880, 2000000000});
+		assertEquals(1, sparse.indexOf(1880));
+		assertEquals(2, sparse.indexOf(2000000000));
+		assertEquals(-1, sparse.indexOf(1881));
+		assertEquals(2, sparse.ceilingIndex(1881));
+	}
 
+	@Test
+	public void CellKeyTest() {
+		//Vérifier le partage des coordonnées et les clés long
+		assertSame(Coordinates.of(12, 154), Coordinates.of(12, 154));
+		assertEquals(new Coordinates(-88, -178), Coordinates.of(-88, -178));
+		assertEquals(Objects.hash(-88, -178), Coordinates.of(-88, -178).hashCode());
+		long key = Coordinates.pack(-88, -178);
+		assertEquals(-88, Coordinates.latitudeOf(key));
+		assertEquals(-178, Coordinates.longitudeOf(key));
+
+		//Vérifier la table de hachage, au-delà de sa capacité initiale
+		LongIntHashMap map = new LongIntHashMap(2, -1);
+		for (int lat = -88; lat <= 88; lat += 4)
+			for (int lon = -178; lon <= 178; lon += 4) map.put(Coordinates.pack(lat, lon), lat * 1000 + lon);
+		assertEquals(4050, map.size());
+		assertEquals(12 * 1000 + 154, map.get(Coordinates.pack(12, 154)));
+		assertEquals(-1, map.get(Coordinates.pack(13, 154)));
+
+		//Vérifier l'index des zones d'un cube très étendu, indexé par hachage
+		AnomalyCube cube = new AnomalyCube(new int[] {2020}, new int[] {-2000000000, 0, 2000000000}, new int[] {5, 2000000000, -5}, new float[] {1, 2, 3});
+		assertEquals(1, cube.getCellIndex(0, 2000000000));
+		assertEquals(2, cube.getCellIndex(2000000000, -5));
+		assertEquals(-1, cube.getCellIndex(0, 0));
+	}
+
+	@Test
+	public void AggregatesTest() {
+		//Cube à trous : la zone 0 croît de 0,1 °C par an, la zone 1 n'a de valeur qu'en 1960
+		AnomalyCube cube = new AnomalyCube(new int[] {1950, 1951, 1952, 1960}, new int[] {0, 4}, new int[] {2, 6},
+				new float[] {0.1f, Float.NaN, 0.2f, Float.NaN, 0.3f, Float.NaN, 1.1f, 5});
+		AnomalyAggregates aggregates = new AnomalyAggregates(cube);
+
+		//Vérifier les moyennes en ignorant les valeurs manquantes
+		float[] decade = aggregates.getDecadeMeans(1950);
+		assertEquals(0.2f, decade[0], 1e-6);
+		assertTrue(Float.isNaN(decade[1]));
+		assertArrayEquals(new float[] {0.7f, 5}, aggregates.getRollingMeans(1960, 9), 1e-6f);
+		assertSame(decade, aggregates.getMeans(1950, 1959));
+
+		//Vérifier la tendance en °C par décennie
+		float[] trends = aggregates.getTrends(1950, 1960);
+		assertEquals(1, trends[0], 1e-5);
+		assertTrue(Float.isNaN(trends[1]));
+
+		//Vérifier que le cache est borné : une moyenne glissante jouée sur 100 ans évince les premiers agrégats
+		for (int year = 1860; year < 1960; year++) aggregates.getRollingMeans(year, 9);
+		assertNotSame(decade, aggregates.getMeans(1950, 1959));
+	}
+
+	@Test
+	public void SamplerTest() {
+		//Grille de 2 x 4 zones espacées de 90°, qui fait le tour du globe
+		AnomalyCube cube = new AnomalyCube(new int[] {2020}, new int[] {-45, -45, -45, -45, 45, 45, 45, 45},
+				new int[] {-135, -45, 45, 135, -135, -45, 45, 135}, new float[] {1, 2, 3, 4, 5, Float.NaN, 7, 8});
+		AnomalySampler sampler = new AnomalySampler(cube);
+
+		//Vérifier l'interpolation au centre d'une zone, entre deux zones et à travers l'antiméridien
+		assertEquals(3, sampler.sample(0, -45, 45), 1e-6);
+		assertEquals(1.5f, sampler.sample(0, -45, -90), 1e-6);
+		assertEquals(2.5f, sampler.sample(0, -45, 180), 1e-6);
+		assertEquals(2.5f, sampler.sample(0, -45, -180), 1e-6);
+		assertEquals(2, sampler.sample(0, 0, -45), 1e-6);
+		assertEquals(2.4f, sampler.sample(0, 0, -67.5), 1e-6);
+
+		//Vérifier les zones sans valeur et les pôles
+		assertEquals(5, sampler.sample(0, 45, -90), 1e-6);
+		assertEquals(2.5f, sampler.sample(0, -90, 10), 1e-6);
+		assertEquals(20 / 3f, sampler.sample(0, 90, -45), 1e-6);
+
+		//Vérifier que la grille de rendu donne les mêmes valeurs que l'échantillonnage point par point
+		AnomalySampler.Grid grid = sampler.grid(8, 16);
+		float[] values = grid.sample(0, new float[8 * 16]);
+		for (int r = 0; r < 8; r++)
+			for (int c = 0; c < 16; c++)
+				assertEquals(sampler.sample(0, grid.getLatitude(r), grid.getLongitude(c)), values[r * 16 + c], 1e-5);
+
+		//Vérifier la zone la plus proche d'un point, à travers l'antiméridien et jusqu'aux pôles
+		assertSame(Coordinates.of(45, 45), sampler.nearestCenter(30, 80));
+		assertSame(Coordinates.of(-45, -135), sampler.nearestCenter(-89, 200));
+	}
+
+	@Test
+	public void DatasetRegistryTest() throws IOException {
+		//Deux petits jeux, convertis une première fois en cache puis projetés depuis celui-ci
+		Path directory = Files.createTempDirectory("datasets");
+		Path first = directory.resolve("first.csv"), second = directory.resolve("second.csv");
+		Files.write(first, "\"lat\",\"lon\",\"1880\",\"1881\"\n0,2,1,2\n4,2,3,NA\n".getBytes());
+		Files.write(second, "\"lat\",\"lon\",\"1880\"\n0,2,5\n".getBytes());
+		DatasetRegistry registry = new DatasetRegistry(1 << 20);
+		registry.setWarmUpEnabled(false);
+		registry.register("first", first);
+		registry.register("second", second);
+
+		ResourceManager manager = registry.get("first");
+		assertTrue(manager.getCube().isMapped());
+		assertEquals(2, manager.getCube().getCellCount());
+		assertSame(manager, registry.get("first"));
+		assertTrue(Files.isRegularFile(AnomalyCache.cachePath(first)));
+
+		//Vérifier l'éviction du jeu le moins récemment utilisé quand le budget est dépassé
+		DatasetRegistry small = new DatasetRegistry(registry.getLoadedBytes());
+		small.setWarmUpEnabled(false);
+		small.register("first", first);
+		small.register("second", second);
+		small.get("first");
+		assertEquals(5, small.get("second").getAnomalyValue(1880, 0, 2), 0);
+		assertFalse(small.isLoaded("first"));
+		assertTrue(small.isLoaded("second"));
+		assertTrue(small.getLoadedBytes() <= small.getMaxBytes());
+
+		//Des accès concurrents à un jeu non chargé attendent une seule conversion
+		Files.delete(AnomalyCache.cachePath(first));
+		DatasetRegistry concurrent = new DatasetRegistry(1 << 20);
+		concurrent.setWarmUpEnabled(false);
+		concurrent.register("first", first);
+		List<CompletableFuture<ResourceManager>> gets = new ArrayList<>();
+		for (int i = 0; i < 4; i++) gets.add(CompletableFuture.supplyAsync(() -> concurrent.get("first")));
+		for (CompletableFuture<ResourceManager> get : gets) assertSame(gets.get(0).join(), get.join());
+		assertEquals(gets.get(0).join().getCube().getHeapBytes(), concurrent.getLoadedBytes());
+
+		for (Path path : new Path[] {first, second}) {
+			Files.deleteIfExists(AnomalyCache.cachePath(path));
+			Files.delete(path);
+		}
+		Files.delete(directory);
+	}
+
+	@Test
+	public void LazyLoadTest() throws IOException {
+		//Comparer la lecture paresseuse, depuis le cache converti, avec la lecture complète du CSV
+		Path directory = Files.createTempDirectory("lazy");
+		Path source = directory.resolve("lazy.csv");
+		Files.write(source, ("\"lat\",\"lon\",\"1880\",\"1881\",\"1882\"\n"
+				+ "0,2,1,2,3\n4,2,4,NA,6\n4,6,NA,8,9\n").getBytes());
+		ResourceManager eager = new ResourceManager();
+		eager.readTemperatureFile(source.toString());
+		ResourceManager lazy = new ResourceManager();
+		lazy.setLoadMode(ResourceManager.LoadMode.LAZY);
+		lazy.readTemperatureFile(source.toString());
+
+		AnomalyCube expected = eager.getCube(), cube = lazy.getCube();
+		assertTrue(cube.isMapped());
+		assertEquals(expected.getYearCount(), cube.getYearCount());
+		assertEquals(expected.getCellCount(), cube.getCellCount());
+		for (int year = 0; year < cube.getYearCount(); year++)
+			assertArrayEquals(expected.copyYear(year, new float[3]), cube.copyYear(year, new float[3]), 0);
+		for (int cell = 0; cell < cube.getCellCount(); cell++)
+			assertEquals(expected.getCellSeries(cell), cube.getCellSeries(cell));
+		assertEquals(8, lazy.getAnomalyValue(1881, 4, 6), 0);
+		assertEquals(1, lazy.getMinAnomaly(), 0);
+		assertEquals(9, lazy.getMaxAnomaly(), 0);
+
+		//Projeter le cache par fenêtres d'une seule année ou zone, comme un cache de plus de 1 Go
+		AnomalyCube windowed = AnomalyCache.read(source, 12);
+		for (int year = 0; year < cube.getYearCount(); year++)
+			assertArrayEquals(expected.copyYear(year, new float[3]), windowed.copyYear(year, new float[3]), 0);
+		for (int cell = 0; cell < cube.getCellCount(); cell++)
+			assertEquals(expected.getCellSeries(cell), windowed.getCellSeries(cell));
+		assertEquals(9, windowed.get(2, 2), 0);
+
+		//Si le cache ne peut pas être écrit, le CSV est lu en mémoire
+		Files.delete(AnomalyCache.cachePath(source));
+		Path blocked = Files.createFile(Files.createDirectory(AnomalyCache.cachePath(source)).resolve("blocked"));
+		ResourceManager fallback = new ResourceManager();
+		fallback.setLoadMode(ResourceManager.LoadMode.LAZY);
+		fallback.readTemperatureFile(source.toString());
+		assertFalse(fallback.getCube().isMapped());
+		assertEquals(8, fallback.getAnomalyValue(1881, 4, 6), 0);
+		Files.delete(blocked);
+
+		Files.delete(AnomalyCache.cachePath(source));
+		Files.delete(source);
+		Files.delete(directory);
+	}
+
+	@Test
+	public void DecimationTest() {
+		//Une série courte est gardée entière, sans ses valeurs absentes
+		YearAxis years = new YearAxis(new int[] {1880, 1881, 1882, 1883});
+		assertArrayEquals(new int[] {0, 2, 3}, SeriesDecimation.largestTriangleThreeBuckets(years, new float[] {1, Float.NaN, 2, 3}, 3));
+
+		//Une série longue garde ses extrémités et son pic
+		int[] longYears = new int[1000];
+		float[] values = new float[1000];
+		for (int i = 0; i < longYears.length; i++) {
+			longYears[i] = i;
+			values[i] = i == 617 ? 10 : (float) Math.sin(i / 50.0);
+		}
+		int[] kept = SeriesDecimation.largestTriangleThreeBuckets(new YearAxis(longYears), values, 100);
+		assertEquals(100, kept.length);
+		assertEquals(0, kept[0]);
+		assertEquals(999, kept[99]);
+		assertTrue(Arrays.binarySearch(kept, 617) >= 0);
+		for (int i = 1; i < kept.length; i++) assertTrue(kept[i] > kept[i - 1]);
+	}
+}
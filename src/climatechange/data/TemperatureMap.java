@@ -4,7 +4,6 @@ import climatechange.data.Coordinates;
 
 import java.util.*;
 import java.util.function.ToDoubleFunction;
-import java.util.stream.Collectors;
 
 /**
  * Classe représentant une carte des anomalies de températures pour une année,
@@ -23,7 +22,11 @@ public class TemperatureMap extends LinkedHashMap<Coordinates, Float> {
      * @return La valeur minimale des anomalies.
      */
     public Float getMinAnomaly() {
-        return Collections.min(this.values());
+        float minAnomaly = Float.NaN;
+        for (Float anomaly : values()) {
+            if (anomaly < minAnomaly || Float.isNaN(minAnomaly)) minAnomaly = anomaly;
+        }
+        return minAnomaly;
     }
 
     /**
@@ -31,7 +34,11 @@ public class TemperatureMap extends LinkedHashMap<Coordinates, Float> {
      * @return La valeur maximale des anomalies.
      */
     public Float getMaxAnomaly() {
-        return Collections.max(this.values().stream().filter(d -> !Double.isNaN(d)).collect(Collectors.toList())); // pour ignorer les valeurs NaN qui sont considérées plus grandes que les autres
+        float maxAnomaly = Float.NaN;
+        for (Float anomaly : values()) {
+            if (anomaly > maxAnomaly || Float.isNaN(maxAnomaly)) maxAnomaly = anomaly; // les valeurs NaN sont ignorées
+        }
+        return maxAnomaly;
     }
 
     /**
@@ -41,6 +48,6 @@ public class TemperatureMap extends LinkedHashMap<Coordinates, Float> {
      * @return L'anomalie de température de la zone recherchée.
      */
     public Float get(int latitude, int longitude) {
-        return this.getOrDefault(new Coordinates(latitude, longitude), null);
+        return this.getOrDefault(Coordinates.of(latitude, longitude), null);
     }
 }
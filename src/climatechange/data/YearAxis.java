@@ -0,0 +1,122 @@
+package climatechange.data;
+
+import java.util.Arrays;
+
+/**
+ * Axe des années d'un jeu de données : les années sont triées par ordre croissant et sans doublon,
+ * l'indice d'une année étant sa position sur l'axe.
+ * Sans trou, l'indice d'une année se calcule par simple soustraction. Avec des trous, il est lu dans une table
+ * dense tant que l'écart entre la première et la dernière année reste raisonnable, sinon il est recherché
+ * par dichotomie.
+ */
+public class YearAxis {
+    // Au-delà de cette taille (et de 4 cases par année), la table dense est remplacée par une dichotomie
+    private static final int MAX_TABLE_SIZE = 4096;
+
+    private final int[] years;
+    private final int firstYear;
+    private final boolean contiguous;
+    private final int[] table; // null si l'axe est contigu ou trop étendu
+
+    /**
+     * Constructeur de la classe.
+     * @param years Les années, par ordre strictement croissant.
+     */
+    public YearAxis(int[] years) {
+        for (int i = 1; i < years.length; i++)
+            if (years[i] <= years[i - 1]) throw new IllegalArgumentException("Years must be strictly increasing");
+
+        this.years = years;
+        this.firstYear = years.length == 0 ? 0 : years[0];
+        long span = years.length == 0 ? 0 : (long) years[years.length - 1] - firstYear + 1;
+        this.contiguous = span == years.length;
+
+        if (contiguous || span > Math.max(MAX_TABLE_SIZE, 4L * years.length)) table = null;
+        else {
+            table = new int[(int) span];
+            Arrays.fill(table, -1);
+            for (int i = 0; i < years.length; i++) table[years[i] - firstYear] = i;
+        }
+    }
+
+    /**
+     * Renvoie le nombre d'années de l'axe.
+     * @return Le nombre d'années.
+     */
+    public int size() {
+        return years.length;
+    }
+
+    /**
+     * Renvoie l'année correspondant à un indice.
+     * @param index L'indice de l'année.
+     * @return L'année.
+     */
+    public int getYear(int index) {
+        return years[index];
+    }
+
+    /**
+     * Renvoie l'indice d'une année.
+     * @param year L'année recherchée.
+     * @return L'indice de l'année, ou -1 si elle n'est pas sur l'axe.
+     */
+    public int indexOf(int year) {
+        long offset = (long) year - firstYear;
+        if (contiguous) return offset >= 0 && offset < years.length ? (int) offset : -1;
+        if (table != null) return offset >= 0 && offset < table.length ? table[(int) offset] : -1;
+        int index = Arrays.binarySearch(years, year);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Indique si une année est sur l'axe.
+     * @param year L'année recherchée.
+     * @return true si l'année est sur l'axe.
+     */
+    public boolean contains(int year) {
+        return indexOf(year) >= 0;
+    }
+
+    /**
+     * Renvoie l'indice de la première année supérieure ou égale à une année donnée.
+     * @param year L'année.
+     * @return L'indice, égal au nombre d'années si toutes les années sont antérieures.
+     */
+    public int ceilingIndex(int year) {
+        int index = Arrays.binarySearch(years, year);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Indique si l'axe couvre toutes les années entre la première et la dernière.
+     * @return true si l'axe n'a pas de trou.
+     */
+    public boolean isContiguous() {
+        return contiguous;
+    }
+
+    /**
+     * Renvoie la première année de l'axe.
+     * @return La première année, 0 si l'axe est vide.
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * Renvoie la dernière année de l'axe.
+     * @return La dernière année, 0 si l'axe est vide.
+     */
+    public int getLastYear() {
+        return years.length == 0 ? 0 : years[years.length - 1];
+    }
+
+    /**
+     * Renvoie une copie des années de l'axe.
+     * @return Les années, par ordre croissant.
+     */
+    public int[] toArray() {
+        return years.clone();
+    }
+}
@@ -0,0 +1,165 @@
+package climatechange.gui;
+
+import climatechange.data.AnomalyCube;
+import climatechange.gui.rendering.Histograms;
+import climatechange.gui.rendering.MaterialPalette;
+
+import java.util.BitSet;
+
+/**
+ * Niveaux affichés de chaque zone (indice de couleur dans la palette et hauteur d'histogramme, tous deux quantifiés)
+ * et zones à redessiner d'une année à l'autre. Seules les zones dont l'un des niveaux change sont marquées :
+ * une zone sans valeur les deux années, ou qui reste dans la même tranche de couleur et de hauteur, n'est pas touchée.
+ * Les zones qui changent entre deux années consécutives peuvent être précalculées une fois pour toutes :
+ * le défilement année par année n'a alors plus à comparer les zones, ni à quantifier celles qui ne changent pas.
+ * Pour borner la mémoire occupée, seules les premières années d'une très longue série sont précalculées.
+ */
+public class CellLevels {
+    /**
+     * Indice à passer à {@link #update(int, float[])} pour des valeurs qui ne sont pas celles d'une année du cube,
+     * comme un agrégat : toutes les zones sont comparées aux niveaux affichés.
+     */
+    public static final int AGGREGATE = -2;
+    private static final int UNKNOWN = -1;
+    // Taille maximale des transitions précalculées, un bit par zone et par année
+    private static final long MAX_TRANSITION_BYTES = 32 << 20;
+
+    private final AnomalyCube cube;
+    private final MaterialPalette palette;
+    private final float maxTemp;
+    private final int[] colorIndices;
+    private final float[] heights;
+    private final BitSet dirty;
+    private int displayedIndex = UNKNOWN; // toutes les zones sont à redessiner
+    private volatile BitSet[] transitions;
+
+    /**
+     * Constructeur de la classe.
+     * @param cube Les anomalies à afficher.
+     * @param palette La palette donnant les niveaux de couleur.
+     */
+    public CellLevels(AnomalyCube cube, MaterialPalette palette) {
+        this.cube = cube;
+        this.palette = palette;
+        this.maxTemp = palette.getMaxTemp();
+        this.colorIndices = new int[cube.getCellCount()];
+        this.heights = new float[cube.getCellCount()];
+        this.dirty = new BitSet(cube.getCellCount());
+    }
+
+    /**
+     * Précalcule, pour chaque année, les zones dont les niveaux diffèrent de ceux de l'année précédente sur l'axe.
+     * Seules les premières années sont précalculées si les transitions dépassent {@link #MAX_TRANSITION_BYTES} :
+     * les suivantes sont comparées zone par zone.
+     * Peut être appelée en arrière-plan : les transitions ne sont utilisées qu'une fois toutes calculées.
+     */
+    public void precomputeTransitions() {
+        int cellCount = cube.getCellCount();
+        int yearCount = (int) Math.min(cube.getYearCount(), Math.max(2, MAX_TRANSITION_BYTES * 8 / Math.max(1, cellCount)));
+        float[] anomalies = new float[cellCount];
+        int[] previousColors = new int[cellCount], colors = new int[cellCount];
+        float[] previousHeights = new float[cellCount], levels = new float[cellCount];
+
+        BitSet[] computed = new BitSet[cube.getYearCount()];
+        for (int yearIndex = 0; yearIndex < yearCount; yearIndex++) {
+            cube.copyYear(yearIndex, anomalies);
+            for (int i = 0; i < cellCount; i++) {
+                colors[i] = palette.indexOf(anomalies[i]);
+                levels[i] = Histograms.getHeight(anomalies[i], maxTemp);
+            }
+            if (yearIndex > 0) {
+                computed[yearIndex] = new BitSet(cellCount);
+                for (int i = 0; i < cellCount; i++)
+                    if (colors[i] != previousColors[i] || levels[i] != previousHeights[i]) computed[yearIndex].set(i);
+            }
+
+            int[] swapColors = previousColors;
+            previousColors = colors;
+            colors = swapColors;
+            float[] swapHeights = previousHeights;
+            previousHeights = levels;
+            levels = swapHeights;
+        }
+        transitions = computed;
+    }
+
+    /**
+     * Passe aux niveaux d'une année à partir de ses anomalies. Si l'année suit celle affichée et que les transitions
+     * sont précalculées, seules les zones qui changent sont quantifiées.
+     * @param yearIndex L'indice de l'année, ou {@link #AGGREGATE}.
+     * @param anomalies Les anomalies de l'année, dans l'ordre des zones du cube.
+     * @return Les zones dont les niveaux ont changé, valable jusqu'au prochain appel.
+     */
+    public BitSet update(int yearIndex, float[] anomalies) {
+        BitSet[] known = transitions;
+        if (known != null && displayedIndex >= 0 && yearIndex == displayedIndex + 1
+                && yearIndex < known.length && known[yearIndex] != null) {
+            dirty.clear();
+            dirty.or(known[yearIndex]);
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                colorIndices[i] = palette.indexOf(anomalies[i]);
+                heights[i] = Histograms.getHeight(anomalies[i], maxTemp);
+            }
+        }
+        else {
+            boolean all = displayedIndex == UNKNOWN;
+            dirty.clear();
+            for (int i = 0; i < anomalies.length; i++) {
+                int colorIndex = palette.indexOf(anomalies[i]);
+                float height = Histograms.getHeight(anomalies[i], maxTemp);
+                if (all || colorIndex != colorIndices[i] || height != heights[i]) {
+                    colorIndices[i] = colorIndex;
+                    heights[i] = height;
+                    dirty.set(i);
+                }
+            }
+        }
+        displayedIndex = yearIndex;
+        return dirty;
+    }
+
+    /**
+     * Passe aux niveaux d'une année déjà quantifiés, par exemple par le {@link PlaybackBuffer}.
+     * @param yearIndex L'indice de l'année.
+     * @param nextColorIndices L'indice dans la palette de chaque zone.
+     * @param nextHeights La hauteur d'histogramme de chaque zone.
+     * @return Les zones dont les niveaux ont changé, valable jusqu'au prochain appel.
+     */
+    public BitSet update(int yearIndex, int[] nextColorIndices, float[] nextHeights) {
+        boolean all = displayedIndex == UNKNOWN;
+        dirty.clear();
+        for (int i = 0; i < nextColorIndices.length; i++) {
+            if (all || nextColorIndices[i] != colorIndices[i] || nextHeights[i] != heights[i]) {
+                colorIndices[i] = nextColorIndices[i];
+                heights[i] = nextHeights[i];
+                dirty.set(i);
+            }
+        }
+        displayedIndex = yearIndex;
+        return dirty;
+    }
+
+    /**
+     * Oublie les niveaux affichés : la prochaine mise à jour redessine toutes les zones.
+     * À appeler quand de nouveaux nœuds ou maillages remplacent ceux déjà à jour.
+     */
+    public void invalidate() {
+        displayedIndex = UNKNOWN;
+    }
+
+    /**
+     * Méthode d'accès aux niveaux de couleur affichés.
+     * @return L'indice dans la palette de chaque zone.
+     */
+    public int[] getColorIndices() {
+        return colorIndices;
+    }
+
+    /**
+     * Méthode d'accès aux hauteurs d'histogramme affichées.
+     * @return La hauteur de chaque zone.
+     */
+    public float[] getHeights() {
+        return heights;
+    }
+}
@@ -0,0 +1,136 @@
+package climatechange.gui;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encodeur d'images PNG réparti sur plusieurs threads, pour l'export d'une suite d'images par {@link FrameExporter}.
+ * Les pixels d'une image sont écrits dans un tampon emprunté à l'encodeur, puis compressés en arrière-plan
+ * pendant que les images suivantes sont rendues. Le nombre de tampons est borné : si l'encodage prend du retard,
+ * {@link #acquire()} attend qu'un tampon soit rendu, ce qui borne la mémoire utilisée.
+ */
+public class FrameEncoder implements AutoCloseable {
+    private static final DirectColorModel RGB = new DirectColorModel(24, 0xff0000, 0x00ff00, 0x0000ff);
+
+    private final Path directory;
+    private final int width, height;
+    private final ExecutorService executor;
+    private final BlockingQueue<int[]> buffers;
+    private final int maxBuffers;
+    private int allocatedBuffers = 0;
+    private final List<CompletableFuture<Void>> encodings = new ArrayList<>();
+
+    /**
+     * Constructeur de la classe.
+     * @param directory Le dossier où écrire les images, créé s'il n'existe pas.
+     * @param width La largeur des images, en pixels.
+     * @param height La hauteur des images, en pixels.
+     * @param threads Le nombre de threads d'encodage.
+     * @throws IOException Si le dossier ne peut pas être créé.
+     */
+    public FrameEncoder(Path directory, int width, int height, int threads) throws IOException {
+        if (width <= 0 || height <= 0 || threads <= 0) throw new IllegalArgumentException("Invalid frame size or thread count");
+        this.directory = Files.createDirectories(directory);
+        this.width = width;
+        this.height = height;
+        this.maxBuffers = 2 * threads;
+        this.buffers = new ArrayBlockingQueue<>(maxBuffers);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "frame-encoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Emprunte un tampon pour les pixels d'une image, en attendant qu'un tampon soit rendu si tous sont utilisés.
+     * @return Le tampon, de largeur × hauteur pixels au format ARGB, ligne par ligne.
+     * @throws InterruptedException Si l'attente est interrompue.
+     */
+    public int[] acquire() throws InterruptedException {
+        int[] buffer = buffers.poll();
+        if (buffer != null) return buffer;
+        synchronized (this) {
+            if (allocatedBuffers < maxBuffers) {
+                allocatedBuffers++;
+                return new int[width * height];
+            }
+        }
+        return buffers.take();
+    }
+
+    /**
+     * Encode une image en arrière-plan. Le tampon est rendu à l'encodeur une fois l'image écrite.
+     * @param pixels Les pixels de l'image, dans un tampon obtenu par {@link #acquire()}.
+     * @param name Le nom du fichier, sans extension.
+     * @return La fin de l'écriture de l'image.
+     */
+    public CompletableFuture<Void> encode(int[] pixels, String name) {
+        Path file = directory.resolve(name + ".png");
+        CompletableFuture<Void> encoding = CompletableFuture.runAsync(() -> {
+            try {
+                write(pixels, file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                buffers.add(pixels);
+            }
+        }, executor);
+        synchronized (encodings) {
+            encodings.add(encoding);
+        }
+        return encoding;
+    }
+
+    /**
+     * Écrit une image en PNG, sans copier ses pixels.
+     * @param pixels Les pixels de l'image ; la transparence est ignorée.
+     * @param file Le fichier à écrire.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    private void write(int[] pixels, Path file) throws IOException {
+        WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, width * height), width, height, width,
+                RGB.getMasks(), null);
+        BufferedImage image = new BufferedImage(RGB, raster, false, null);
+        if (!ImageIO.write(image, "png", file.toFile())) throw new IOException("No PNG writer available");
+    }
+
+    /**
+     * Attend la fin de l'écriture de toutes les images, puis arrête les threads d'encodage.
+     * @throws IOException Si l'une des images n'a pas pu être écrite.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            CompletableFuture<?>[] pending;
+            synchronized (encodings) {
+                pending = encodings.toArray(new CompletableFuture<?>[0]);
+            }
+            CompletableFuture.allOf(pending).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) throw ((UncheckedIOException) e.getCause()).getCause();
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package climatechange.gui;
+
+import climatechange.data.AnomalyCube;
+import climatechange.data.ResourceManager;
+import climatechange.gui.rendering.EarthMesh;
+import climatechange.gui.rendering.GridMesh;
+import climatechange.gui.rendering.HistogramMesh;
+import climatechange.gui.rendering.MaterialPalette;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.Scene;
+import javafx.scene.SceneAntialiasing;
+import javafx.scene.SubScene;
+import javafx.scene.control.Label;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Point d'entrée de l'export des animations : les anomalies sont rendues année par année dans une scène qui n'est
+ * jamais affichée, puis écrites en une suite d'images PNG nommées d'après l'année, dont on peut faire une vidéo
+ * (par exemple {@code ffmpeg -framerate 8 -start_number 1880 -i year-%d.png anomalies.mp4}).
+ * Chaque image est rendue sur le thread JavaFX pendant que les précédentes sont encodées par un {@link FrameEncoder} ;
+ * les niveaux de chaque zone sont calculés en arrière-plan.
+ * Paramètres, tous facultatifs :
+ * <ul>
+ *     <li>--data : le fichier CSV, par défaut celui de la propriété climatechange.dataFile ou de l'application ;</li>
+ *     <li>--output : le dossier des images, "frames" par défaut ;</li>
+ *     <li>--width et --height : la taille des images, 1920 × 1080 par défaut ;</li>
+ *     <li>--from et --to : les années à exporter, toutes par défaut ;</li>
+ *     <li>--mode : colors (quadrilatères, par défaut) ou histograms ;</li>
+ *     <li>--threads : le nombre de threads d'encodage, par défaut le nombre de processeurs.</li>
+ * </ul>
+ * Pour un export sans écran, la JVM doit être lancée avec -Dglass.platform=Monocle -Dmonocle.platform=Headless
+ * -Dprism.order=sw.
+ */
+public class FrameExporter extends Application {
+
+    private int width, height;
+    private boolean histograms;
+    private Pane frame;
+    private Label yearLabel;
+    private GridMesh gridMesh;
+    private HistogramMesh histogramMesh;
+
+    @Override
+    public void start(Stage stage) {
+        Map<String, String> parameters = getParameters().getNamed();
+        width = Integer.parseInt(parameters.getOrDefault("width", "1920"));
+        height = Integer.parseInt(parameters.getOrDefault("height", "1080"));
+        histograms = "histograms".equals(parameters.get("mode"));
+
+        Thread export = new Thread(() -> {
+            try {
+                export(stage, parameters);
+                Platform.exit();
+            } catch (Exception e) {
+                System.out.println("[Could not export frames]");
+                e.printStackTrace();
+                System.exit(1);
+            }
+        }, "frame-export");
+        export.setDaemon(true);
+        export.start();
+    }
+
+    /**
+     * Charge les données et le maillage de la Terre, construit la scène puis exporte les années demandées.
+     * Exécutée en arrière-plan.
+     */
+    private void export(Stage stage, Map<String, String> parameters) throws Exception {
+        ResourceManager resourceManager = new ResourceManager();
+        resourceManager.readTemperatureFile(dataFile(parameters).toString(), true);
+        AnomalyCube cube = resourceManager.getCube();
+        if (cube.getYearCount() == 0) throw new IllegalStateException("No data to export");
+        EarthMesh earthMesh = EarthMesh.load(FrameExporter.class.getResource("earth/earth.obj"));
+
+        MaterialPalette palette = new MaterialPalette(resourceManager.getMinAnomaly(), resourceManager.getMaxAnomaly(),
+                MaterialPalette.DEFAULT_SIZE);
+        float cellSize = cellSize(resourceManager);
+        onFxThread(() -> initScene(stage, earthMesh, cube, palette, cellSize));
+
+        int from = Integer.parseInt(parameters.getOrDefault("from", Integer.toString(cube.getYear(0))));
+        int to = Integer.parseInt(parameters.getOrDefault("to", Integer.toString(cube.getYear(cube.getYearCount() - 1))));
+        int threads = Integer.parseInt(parameters.getOrDefault("threads", Integer.toString(Runtime.getRuntime().availableProcessors())));
+        Path output = Paths.get(parameters.getOrDefault("output", "frames"));
+
+        long start = System.nanoTime();
+        int frames = 0;
+        CellLevels levels = new CellLevels(cube, palette);
+        CompletableFuture.runAsync(levels::precomputeTransitions); // utilisées dès qu'elles sont prêtes
+        float[] anomalies = new float[cube.getCellCount()];
+        WritableImage image = new WritableImage(width, height);
+        try (FrameEncoder encoder = new FrameEncoder(output, width, height, threads)) {
+            for (int year = from; year <= to; year++) {
+                int yearIndex = cube.getYearIndex(year);
+                if (yearIndex < 0) continue;
+
+                int[] pixels = encoder.acquire();
+                BitSet dirty = levels.update(yearIndex, cube.copyYear(yearIndex, anomalies));
+                String text = Integer.toString(year);
+                onFxThread(() -> {
+                    if (histograms) histogramMesh.update(levels.getColorIndices(), levels.getHeights(), dirty);
+                    else gridMesh.update(levels.getColorIndices(), dirty);
+                    yearLabel.setText(text);
+                    frame.snapshot(null, image);
+                    image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), pixels, 0, width);
+                });
+                encoder.encode(pixels, "year-" + year);
+                frames++;
+            }
+        }
+        System.out.println("[Exported " + frames + " frames to " + output.toAbsolutePath() + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms]");
+    }
+
+    /**
+     * Construit la scène exportée, avec la même caméra que l'application : la Terre, les températures et l'année.
+     * La scène est attachée à la fenêtre, qui n'est pas affichée.
+     */
+    private void initScene(Stage stage, EarthMesh earthMesh, AnomalyCube cube, MaterialPalette palette, float cellSize) {
+        Group earth = new Group(earthMesh.getMeshView());
+        PerspectiveCamera camera = new PerspectiveCamera(true);
+        SubScene subScene = new SubScene(earth, width, height, true, SceneAntialiasing.BALANCED);
+        subScene.setCamera(camera);
+        subScene.setFill(Color.DARKGRAY);
+        new CameraManager(camera, subScene, earth);
+        earthMesh.setLevel(earthMesh.levelFor(-camera.getTranslateZ(),
+                camera.isVerticalFieldOfView() ? height : width, camera.getFieldOfView()));
+
+        int[] latitudes = new int[cube.getCellCount()];
+        int[] longitudes = new int[cube.getCellCount()];
+        for (int i = 0; i < latitudes.length; i++) {
+            latitudes[i] = cube.getLatitude(i);
+            longitudes[i] = cube.getLongitude(i);
+        }
+        if (histograms) {
+            histogramMesh = new HistogramMesh(latitudes, longitudes, palette);
+            earth.getChildren().addAll(histogramMesh.getMeshViews());
+        }
+        else {
+            gridMesh = new GridMesh(latitudes, longitudes, cellSize, palette);
+            earth.getChildren().add(gridMesh.getMeshView());
+        }
+
+        yearLabel = new Label();
+        yearLabel.setFont(Font.font(height / 20.0));
+        yearLabel.setTextFill(Color.WHITE);
+        yearLabel.relocate(height / 40.0, height / 40.0);
+        frame = new Pane(subScene, yearLabel);
+        stage.setScene(new Scene(frame, width, height));
+    }
+
+    /**
+     * Renvoie la taille des quadrilatères : le pas de la grille, ou la taille par défaut de l'application
+     * si les zones ne forment pas une grille régulière.
+     */
+    private static float cellSize(ResourceManager resourceManager) {
+        try {
+            return resourceManager.getSampler().getLatitudeStep();
+        } catch (IllegalArgumentException e) {
+            System.out.println("[Cells are not a regular grid, using " + GlobalWarming3D.DEFAULT_CELL_SIZE + "° cells]");
+            return GlobalWarming3D.DEFAULT_CELL_SIZE;
+        }
+    }
+
+    /**
+     * Renvoie le fichier CSV à exporter : celui du paramètre --data, sinon celui de la propriété
+     * climatechange.dataFile, sinon celui de l'application.
+     */
+    private static Path dataFile(Map<String, String> parameters) throws URISyntaxException {
+        String dataFile = parameters.getOrDefault("data", System.getProperty("climatechange.dataFile"));
+        if (dataFile != null) return Paths.get(dataFile);
+        return Paths.get(ResourceManager.class.getResource("tempanomaly_4x4grid.csv").toURI());
+    }
+
+    /**
+     * Exécute une tâche sur le thread JavaFX et attend sa fin.
+     */
+    private static void onFxThread(Runnable task) throws Exception {
+        FutureTask<Void> future = new FutureTask<>(task, null);
+        Platform.runLater(future);
+        future.get();
+    }
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+}
@@ -0,0 +1,213 @@
+package climatechange.gui;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.control.Label;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Mesures de performance de la vue 3D : durée de chaque étape d'un changement d'année,
+ * délai jusqu'à l'image suivante et intervalle entre deux images.
+ * Les durées sont rangées dans des {@link LatencyHistogram}, affichables dans un calque sur le canevas
+ * et exportables dans un fichier.
+ */
+public class FrameMetrics {
+
+    /**
+     * Étapes mesurées.
+     */
+    public enum Stage {
+        // Lecture des anomalies de l'année
+        FETCH,
+        // Conversion des températures en niveaux de couleur et en hauteurs
+        COLOR,
+        // Modification du graphe de scène
+        SCENE,
+        // Délai entre le début du changement d'année et l'image qui l'affiche
+        LATENCY,
+        // Intervalle entre deux images
+        FRAME
+    }
+
+    private static final long OVERLAY_REFRESH = 500_000_000L;
+
+    private final Map<Stage, LatencyHistogram> histograms = new EnumMap<>(Stage.class);
+    private final Label overlay = new Label();
+    private final AnimationTimer timer;
+    private long lastPulse = -1, pendingChange = -1, windowStart = -1;
+    private int windowFrames;
+    private double fps;
+
+    /**
+     * Constructeur de la classe. Le calque est caché et le chronométrage des images arrêté.
+     */
+    public FrameMetrics() {
+        for (Stage stage : Stage.values()) histograms.put(stage, new LatencyHistogram());
+
+        overlay.setMouseTransparent(true);
+        overlay.setVisible(false);
+        overlay.setStyle("-fx-font-family: monospace; -fx-font-size: 10;");
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long pulse) {
+                onPulse(System.nanoTime());
+            }
+        };
+    }
+
+    /**
+     * Renvoie l'instant présent, à passer à {@link #record(Stage, long)}.
+     * @return L'instant, en nanosecondes.
+     */
+    public long now() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Enregistre la durée d'une étape.
+     * @param stage L'étape.
+     * @param start L'instant de début de l'étape, en nanosecondes.
+     * @return L'instant de fin de l'étape, qui peut servir de début à la suivante.
+     */
+    public long record(Stage stage, long start) {
+        long end = System.nanoTime();
+        histograms.get(stage).record((end - start) / 1000);
+        return end;
+    }
+
+    /**
+     * Signale le début d'un changement d'année : le délai est mesuré jusqu'à l'image suivante.
+     * @param start L'instant de début du changement, en nanosecondes.
+     */
+    public void yearChanged(long start) {
+        if (pendingChange < 0) pendingChange = start;
+    }
+
+    /**
+     * Traite le début d'une image.
+     * @param now L'instant présent, en nanosecondes.
+     */
+    private void onPulse(long now) {
+        if (lastPulse >= 0) histograms.get(Stage.FRAME).record((now - lastPulse) / 1000);
+        lastPulse = now;
+
+        if (pendingChange >= 0) {
+            histograms.get(Stage.LATENCY).record((now - pendingChange) / 1000);
+            pendingChange = -1;
+        }
+
+        // Images par seconde sur la dernière fenêtre, et rafraîchissement du calque
+        if (windowStart < 0) windowStart = now;
+        windowFrames++;
+        if (now - windowStart >= OVERLAY_REFRESH) {
+            fps = windowFrames * 1e9 / (now - windowStart);
+            windowStart = now;
+            windowFrames = 0;
+            if (overlay.isVisible()) overlay.setText(summary());
+        }
+    }
+
+    /**
+     * Lance le chronométrage des images.
+     */
+    public void start() {
+        lastPulse = -1;
+        windowStart = -1;
+        windowFrames = 0;
+        timer.start();
+    }
+
+    /**
+     * Arrête le chronométrage des images.
+     */
+    public void stop() {
+        timer.stop();
+    }
+
+    /**
+     * Renvoie le calque affichant les mesures, à ajouter au canevas.
+     * @return Le label du calque.
+     */
+    public Label getOverlay() {
+        return overlay;
+    }
+
+    /**
+     * Affiche ou cache le calque. L'afficher lance le chronométrage des images.
+     * @param visible true pour afficher le calque.
+     */
+    public void setOverlayVisible(boolean visible) {
+        overlay.setVisible(visible);
+        if (visible) {
+            overlay.setText(summary());
+            start();
+        }
+    }
+
+    /**
+     * Renvoie l'histogramme d'une étape.
+     * @param stage L'étape.
+     * @return Son histogramme.
+     */
+    public LatencyHistogram getHistogram(Stage stage) {
+        return histograms.get(stage);
+    }
+
+    /**
+     * Renvoie le nombre d'images par seconde mesuré sur la dernière fenêtre.
+     * @return Les images par seconde, 0 si le chronométrage n'a pas tourné.
+     */
+    public double getFps() {
+        return fps;
+    }
+
+    /**
+     * Efface toutes les mesures.
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : histograms.values()) histogram.reset();
+        pendingChange = -1;
+    }
+
+    /**
+     * Résume les mesures, une ligne par étape, en millisecondes.
+     * @return Le résumé.
+     */
+    public String summary() {
+        StringBuilder builder = new StringBuilder(String.format(Locale.ROOT, "%.1f fps%n%-8s %6s %7s %7s %7s %7s%n",
+                fps, "ms", "n", "p50", "p90", "p99", "max"));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = histograms.get(stage);
+            builder.append(String.format(Locale.ROOT, "%-8s %6d %7.2f %7.2f %7.2f %7.2f%n", stage, histogram.getCount(),
+                    histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0, histogram.getMax() / 1000.0));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Écrit les mesures dans un fichier, une ligne CSV par étape, en microsecondes.
+     * @param path Le chemin du fichier.
+     * @throws IOException Si le fichier ne peut pas être écrit.
+     */
+    public void dump(Path path) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("stage,count,mean,p50,p90,p99,p999,max");
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = histograms.get(stage);
+                writer.printf(Locale.ROOT, "%s,%d,%.1f,%d,%d,%d,%d,%d%n", stage, histogram.getCount(), histogram.getMean(),
+                        histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(90),
+                        histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMax());
+            }
+            writer.printf(Locale.ROOT, "fps,%.1f%n", fps);
+        }
+        System.out.println("[Metrics written to " + path + "]");
+    }
+}
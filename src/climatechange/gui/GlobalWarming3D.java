@@ -1,19 +1,28 @@
 package climatechange.gui;
 
 import climatechange.gui.rendering.Conversions;
+import climatechange.gui.rendering.EarthMesh;
+import climatechange.gui.rendering.GridMesh;
+import climatechange.gui.rendering.HistogramMesh;
 import climatechange.gui.rendering.Histograms;
+import climatechange.gui.rendering.MaterialPalette;
 import climatechange.gui.rendering.Quadrilaterals;
+import climatechange.data.AnomalyCube;
+import climatechange.data.AnomalySampler;
+import climatechange.data.AnomalyStatistics;
 import climatechange.data.Coordinates;
+import climatechange.data.DatasetRegistry;
 import climatechange.data.ResourceManager;
-import climatechange.data.TemperatureMap;
-import com.interactivemesh.jfx.importer.ImportException;
-import com.interactivemesh.jfx.importer.obj.ObjModelImporter;
+import climatechange.data.SeriesDecimation;
+import climatechange.data.YearAxis;
 import javafx.animation.*;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
-import javafx.geometry.Point3D;
+import javafx.geometry.Pos;
 import javafx.scene.*;
 import javafx.scene.chart.LineChart;
 import javafx.scene.chart.NumberAxis;
@@ -21,17 +30,25 @@ import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
-import javafx.scene.paint.PhongMaterial;
 import javafx.scene.shape.*;
 import javafx.scene.transform.Translate;
 import javafx.util.Duration;
 
+import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.FloatBuffer;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class GlobalWarming3D implements Initializable {
 
@@ -51,38 +68,71 @@ public class GlobalWarming3D implements Initializable {
     @FXML private NumberAxis xAxis;
     @FXML private NumberAxis yAxis;
     Label coordinatesLabel = new Label();
+    Coordinates hoveredCoordinates;
+    double[] hoveredPosition = new double[2];
+    DecimalFormat anomalyFormat = new DecimalFormat("+0.00 °C;-0.00 °C");
 
     // Gestion des ressources
-    public ResourceManager resourceManager = new ResourceManager();
+    DatasetRegistry datasets;
+    String datasetName;
+    ChoiceBox<String> datasetChoiceBox = new ChoiceBox<>();
+    public volatile ResourceManager resourceManager = new ResourceManager();
     private float minTemp, maxTemp;
+    static final float DEFAULT_CELL_SIZE = 4; // taille des quadrilatères si les zones ne forment pas une grille régulière
+    private float cellSize = DEFAULT_CELL_SIZE; // taille des quadrilatères : pas de la grille du jeu affiché
+    private AnomalySampler sampler; // null si les zones du jeu affiché ne forment pas une grille régulière
+    private float[] anomalies;
+    private CellLevels levels;
+    private float[] displayedAggregate; // null si une année est affichée
+    private MaterialPalette palette;
     XYChart.Series<Number, Number> series;
+    boolean chartReady = false;
+    private int chartGeneration = 0; // incrémentée quand les courbes affichées sont remplacées
+    private volatile int chartPoints = 295; // largeur de l'axe des années, en pixels
+    private final ExecutorService chartExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "chart");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService transitionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "transitions");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
 
     // Composants 3D
     Group earth;
+    EarthMesh earthMesh;
+    SubScene subScene;
+    SpherePicker picker;
     List<MeshView> quadrilaterals = new ArrayList<>();
+    GridMesh gridMesh;
+    volatile boolean mergedGrid = Boolean.getBoolean("climatechange.mergedGrid");
     List<Box> histograms = new ArrayList<>();
+    HistogramMesh histogramMesh;
+    volatile boolean mergedHistograms = Boolean.getBoolean("climatechange.mergedHistograms");
     List<Node> key = new ArrayList<>();
 
     // Animation
     boolean animated = false;
     Timeline animation;
+    PlaybackBuffer playback;
+    int playbackDepth = Integer.getInteger("climatechange.playbackDepth", 8);
+    int displayedYear, requestedYear;
+
+    // Mesures de performance
+    FrameMetrics metrics = new FrameMetrics();
+
+    // Chargement
+    CompletableFuture<Void> startup;
+    ProgressBar startupProgress = new ProgressBar(0);
 
     /**
      * Méthode d'initialisation de l'application.
      */
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        // Charger les données
-        try {
-            resourceManager.readTemperatureFile(resourceManager.getClass().getResource("tempanomaly_4x4grid.csv").toURI().getPath());
-        } catch(Exception e) {
-            e.printStackTrace();
-        }
-
-        // Stocker min et max anomalies
-        minTemp = resourceManager.getMinAnomaly();
-        maxTemp = resourceManager.getMaxAnomaly();
-
         // Grouper les radio buttons
         ToggleGroup radioButtonsGroup = new ToggleGroup();
         colorsRadioButton.setToggleGroup(radioButtonsGroup);
@@ -94,14 +144,15 @@ public class GlobalWarming3D implements Initializable {
         valueFactory.setValue(8);
         speedSpinner.setValueFactory(valueFactory);
 
-        // Initialiser Canvas, Listeners et Graphique
+        // Initialiser Canvas, Listeners et Graphique ; les données, la Terre et les températures arrivent ensuite
         initEarthCanvas();
         initListeners();
-        initTemperatures();
         initChart();
-        updateChart(null);
         coordinatesLabel.getTransforms().add(new Translate(10,10));
-        yearTextField.setText("2020");
+        metrics.getOverlay().getTransforms().add(new Translate(10,30));
+        initMetrics();
+        initDatasets();
+        initStartup();
 
         // Ajouter infobulles
         showTempCheckBox.setTooltip(new Tooltip("Display the temperature anomalies on the globe."));
@@ -112,45 +163,312 @@ public class GlobalWarming3D implements Initializable {
         speedSpinner.setTooltip(new Tooltip("Set the animation speed."));
         colorsRadioButton.setTooltip(new Tooltip("Show temperatures with colored quadrilaterals on the surface of the Earth."));
         histogramsRadioButton.setTooltip(new Tooltip("Show temperatures with colored histograms on the surface of the Earth."));
+        datasetChoiceBox.setTooltip(new Tooltip("Choose the dataset to display."));
         Tooltip.install(earthCanvas, new Tooltip("Drag and drop to rotate \nScroll to zoom \nRight click + drag to translate \nPress CTRL for precision \nPress ALT to reset \nClick to show line chart"));
-        Tooltip.install(lineChart, new Tooltip("Click on an area on Earth to show its temperature evolution. \nClick on the background to show the average evolution."));
+        Tooltip.install(lineChart, new Tooltip("Click on an area on Earth to show its temperature evolution. \nClick on the background to show the average evolution. \nShift + click to compare several areas."));
     }
 
     /**
-     * Initialise le canevas 3D représentant la Terre.
+     * Lance le chargement de l'application en arrière-plan, par étapes :
+     * <ul>
+     *     <li>les données et le maillage de la Terre sont lus en parallèle, le globe s'affiche dès que son maillage est prêt ;</li>
+     *     <li>les zones sont construites dès que les données sont lues, puis les températures de la dernière année sont affichées ;</li>
+     *     <li>la série de la moyenne mondiale est calculée en parallèle des zones, puis le graphique est affiché.</li>
+     * </ul>
+     * Une barre de progression reste affichée sous le globe jusqu'à la fin du chargement.
+     * Les étapes d'arrière-plan ne construisent que des objets locaux : les champs du contrôleur ne sont modifiés
+     * que par les étapes exécutées sur le thread JavaFX.
      */
-    public void initEarthCanvas() {
-        //Import earth
-        ObjModelImporter objModelImporter = new ObjModelImporter();
+    public void initStartup() {
+        showTempCheckBox.setDisable(true);
+        startupProgress.setPrefWidth(360);
+        startupProgress.getTransforms().add(new Translate(10, 390));
+
+        StartupPipeline pipeline = new StartupPipeline(8, 3);
+        showProgress(pipeline);
+
+        String name = datasetChoiceBox.getValue();
+        CompletableFuture<Void> data = pipeline.thenAcceptOnFxThread(
+                pipeline.supply("data", () -> loadData(name)), "dataset", this::setDataset);
+        CompletableFuture<Void> globe = pipeline.thenAcceptOnFxThread(
+                pipeline.supply("earth mesh", () -> EarthMesh.load(GlobalWarming3D.class.getResource("earth/earth.obj"))),
+                "globe", this::showEarth);
+
+        startup = pipeline.whenAll(globe, showData(pipeline, data))
+                .whenComplete((value, exception) -> Platform.runLater(this::hideProgress));
+    }
+
+    /**
+     * Enchaîne les étapes qui suivent la lecture des données : les zones sont construites puis les températures
+     * de la dernière année affichées, et en parallèle la série de la moyenne mondiale est calculée puis le graphique affiché.
+     * @param pipeline Le chargement en cours.
+     * @param data La lecture des données, terminée par {@link #setDataset(Dataset)} sur le thread JavaFX.
+     * @return La fin de l'affichage des températures et du graphique.
+     */
+    private CompletableFuture<Void> showData(StartupPipeline pipeline, CompletableFuture<Void> data) {
+        CompletableFuture<Void> temperatures = pipeline.thenAcceptOnFxThread(
+                pipeline.thenApply(data, "grid", ignored -> initTemperatures()),
+                "temperatures", this::showTemperatures);
+        CompletableFuture<Void> chart = pipeline.thenAcceptOnFxThread(
+                pipeline.thenApply(data, "statistics", ignored -> chartData(resourceManager, null, chartPoints)),
+                "chart", this::showWorldChart);
+        return CompletableFuture.allOf(temperatures, chart);
+    }
+
+    /**
+     * Affiche l'avancement d'un chargement sous le globe. Le jeu de données ne peut pas être changé pendant ce temps.
+     * @param pipeline Le chargement.
+     */
+    private void showProgress(StartupPipeline pipeline) {
+        datasetChoiceBox.setDisable(true);
+        startupProgress.progressProperty().bind(pipeline.progressProperty());
+        earthCanvas.getChildren().add(startupProgress);
+    }
+
+    /**
+     * Retire la barre d'avancement à la fin d'un chargement.
+     */
+    private void hideProgress() {
+        earthCanvas.getChildren().remove(startupProgress);
+        datasetChoiceBox.setDisable(false);
+    }
+
+    /**
+     * Crée le registre des jeux de données. La propriété système climatechange.datasets en donne la liste,
+     * sous la forme nom=chemin;nom=chemin ; sinon le seul jeu est le fichier donné par climatechange.dataFile,
+     * ou celui de l'application. La mémoire occupée par les jeux chargés est bornée par climatechange.datasetCacheMB
+     * (256 Mo par défaut). S'il y a plusieurs jeux, une liste de choix est ajoutée à côté de la case "Show temperatures".
+     */
+    public void initDatasets() {
+        long maxBytes = Long.getLong("climatechange.datasetCacheMB", 256) << 20;
+        String specification = System.getProperty("climatechange.datasets");
+        if (specification != null) datasets = DatasetRegistry.parse(specification, maxBytes);
+        else {
+            datasets = new DatasetRegistry(maxBytes);
+            String dataFile = System.getProperty("climatechange.dataFile");
+            try {
+                Path path = dataFile != null ? Paths.get(dataFile)
+                        : Paths.get(ResourceManager.class.getResource("tempanomaly_4x4grid.csv").toURI());
+                datasets.register(path.getFileName().toString(), path);
+            } catch (URISyntaxException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        List<String> names = datasets.getNames();
+        datasetChoiceBox.getItems().setAll(names);
+        datasetChoiceBox.setValue(names.get(0));
+        datasetChoiceBox.valueProperty().addListener((observableValue, oldValue, newValue) -> {
+            if (newValue != null && !newValue.equals(datasetName)) switchDataset(newValue);
+        });
+        if (names.size() > 1) {
+            VBox parent = (VBox) showTempCheckBox.getParent();
+            int index = parent.getChildren().indexOf(showTempCheckBox);
+            parent.getChildren().remove(index);
+            HBox row = new HBox(10, showTempCheckBox, datasetChoiceBox);
+            row.setAlignment(Pos.CENTER);
+            parent.getChildren().add(index, row);
+        }
+    }
+
+    /**
+     * Charge un jeu de données depuis le registre, en le lisant s'il n'y est pas déjà, ainsi que ses bornes.
+     * Exécutée en arrière-plan par {@link #initStartup()} et {@link #switchDataset(String)}.
+     * @param name Le nom du jeu.
+     * @return Le jeu et ses bornes, à installer par {@link #setDataset(Dataset)}.
+     */
+    private Dataset loadData(String name) {
+        ResourceManager manager = datasets.get(name);
+        AnomalySampler sampler;
         try {
-            URL modelUrl = this.getClass().getResource("earth/earth.obj");
-            objModelImporter.read(modelUrl);
-        } catch (ImportException e) {
-            e.printStackTrace();
+            sampler = manager.getSampler();
+        } catch (IllegalArgumentException e) {
+            System.out.println("[Dataset " + name + " is not a regular grid, using " + DEFAULT_CELL_SIZE + "° cells]");
+            sampler = null;
         }
-        MeshView[] meshViews = objModelImporter.getImport();
-        earth = new Group(meshViews);
+        return new Dataset(name, manager, manager.getMinAnomaly(), manager.getMaxAnomaly(), sampler);
+    }
+
+    /**
+     * Installe un jeu de données chargé par {@link #loadData(String)}. Exécutée sur le thread JavaFX.
+     * @param dataset Le jeu et ses bornes.
+     */
+    private void setDataset(Dataset dataset) {
+        resourceManager = dataset.manager;
+        datasetName = dataset.name;
+        minTemp = dataset.minTemp;
+        maxTemp = dataset.maxTemp;
+        sampler = dataset.sampler;
+        cellSize = sampler != null ? sampler.getLatitudeStep() : DEFAULT_CELL_SIZE;
+    }
+
+    /**
+     * Remplace le jeu de données affiché. Les composants des températures de l'ancien jeu sont retirés de la scène
+     * et libérés avant le chargement du nouveau, puis les étapes du démarrage qui suivent la lecture des données
+     * sont relancées en arrière-plan.
+     * @param name Le nom du jeu.
+     * @return La fin de l'affichage du nouveau jeu.
+     */
+    public CompletableFuture<Void> switchDataset(String name) {
+        if (animated) handlePlayPauseButtonAction();
+        showTempCheckBox.setDisable(true);
+        controlsVBox.setDisable(true);
+        releaseTemperatures();
+        datasetName = name;
+        if (!name.equals(datasetChoiceBox.getValue())) datasetChoiceBox.setValue(name);
+
+        StartupPipeline pipeline = new StartupPipeline(6, 2);
+        showProgress(pipeline);
+        CompletableFuture<Void> data = pipeline.thenAcceptOnFxThread(
+                pipeline.supply("data", () -> loadData(name)), "dataset", this::setDataset);
+        return pipeline.whenAll(showData(pipeline, data))
+                .whenComplete((value, exception) -> Platform.runLater(this::hideProgress));
+    }
+
+    /**
+     * Retire de la scène et libère les composants des températures et l'animation du jeu affiché.
+     */
+    private void releaseTemperatures() {
+        disableQuadrilaterals();
+        disableHistograms();
+        disableKey();
+        if (playback != null) playback.shutdown();
+
+        chartReady = false;
+        quadrilaterals.clear();
+        histograms.clear();
+        key.clear();
+        gridMesh = null;
+        histogramMesh = null;
+        levels = null;
+        playback = null;
+        palette = null;
+        anomalies = null;
+        displayedAggregate = null;
+    }
+
+    /**
+     * Renvoie la fin du chargement lancé par {@link #initStartup()}.
+     * @return La fin de toutes les étapes du chargement.
+     */
+    public CompletableFuture<Void> getStartup() {
+        return startup;
+    }
+
+    /**
+     * Active les mesures de performance demandées par les propriétés système :
+     * climatechange.metrics affiche le calque des mesures, climatechange.metricsFile les écrit dans un fichier
+     * à la fermeture de l'application.
+     */
+    public void initMetrics() {
+        if (Boolean.getBoolean("climatechange.metrics")) metrics.setOverlayVisible(true);
+
+        String metricsFile = System.getProperty("climatechange.metricsFile");
+        if (metricsFile != null) {
+            metrics.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    metrics.dump(Paths.get(metricsFile));
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+    }
+
+    /**
+     * Initialise le canevas 3D représentant la Terre.
+     */
+    public void initEarthCanvas() {
+        earth = new Group();
 
         //Add camera
         PerspectiveCamera camera = new PerspectiveCamera(true);
         new CameraManager(camera, earthCanvas, earth);
 
         //Create subscene
-        SubScene subScene = new SubScene(earth, 380, 410, true, SceneAntialiasing.BALANCED);
+        subScene = new SubScene(earth, 380, 410, true, SceneAntialiasing.BALANCED);
         subScene.setCamera(camera);
         subScene.setFill(Color.DARKGRAY);
 
+        // La zone sous la souris est calculée sur une sphère : la Terre et les températures ne sont pas pickables
+        earth.setMouseTransparent(true);
+        picker = new SpherePicker(subScene, camera, 1);
+
         // Add subscene to canvas
-        earthCanvas.getChildren().addAll(subScene, coordinatesLabel);
+        earthCanvas.getChildren().addAll(subScene, coordinatesLabel, metrics.getOverlay());
+    }
+
+    /**
+     * Ajoute le maillage de la Terre à la scène, une fois chargé par {@link #initStartup()}.
+     * @param loaded Le maillage de la Terre.
+     */
+    public void showEarth(EarthMesh loaded) {
+        earthMesh = loaded;
+        earth.getChildren().add(0, earthMesh.getMeshView());
+
+        // Niveau de détail choisi selon la distance de la caméra (modifiée par CameraManager) et la taille de la vue
+        PerspectiveCamera camera = (PerspectiveCamera) subScene.getCamera();
+        InvalidationListener levelOfDetail = observable -> earthMesh.setLevel(earthMesh.levelFor(-camera.getTranslateZ(),
+                camera.isVerticalFieldOfView() ? subScene.getHeight() : subScene.getWidth(), camera.getFieldOfView()));
+        camera.translateZProperty().addListener(levelOfDetail);
+        subScene.widthProperty().addListener(levelOfDetail);
+        subScene.heightProperty().addListener(levelOfDetail);
+        levelOfDetail.invalidated(null);
     }
 
     /**
-     * Initialise l'affichage des températures.
+     * Construit les composants des températures du jeu installé : palette, tampon de l'animation, zones qui changent
+     * d'une année à la suivante (en arrière-plan pour un cube projeté), quadrilatères et histogrammes. Aucun n'est
+     * encore dans la scène ni dans les champs du contrôleur : cette méthode est exécutée en arrière-plan
+     * par {@link #initStartup()}.
+     * @return Les composants, à installer par {@link #showTemperatures(Temperatures)}.
      */
-    public void initTemperatures() {
-        initQuadrilaterals();
-        initHistograms();
+    private Temperatures initTemperatures() {
+        ResourceManager manager = resourceManager;
+        MaterialPalette palette = new MaterialPalette(minTemp, maxTemp, MaterialPalette.DEFAULT_SIZE);
+        CellLevels levels = new CellLevels(manager.getCube(), palette);
+        // Un cube projeté est parcouru en arrière-plan, sans retarder l'affichage : l'animation compare les zones
+        // année par année en attendant
+        if (manager.getCube().isMapped()) transitionExecutor.execute(levels::precomputeTransitions);
+        else levels.precomputeTransitions();
+
+        return new Temperatures(palette, new PlaybackBuffer(manager, palette, playbackDepth), levels,
+                mergedGrid ? Collections.emptyList() : makeQuadrilaterals(manager, palette, cellSize),
+                mergedGrid ? makeGridMesh(manager, palette, cellSize) : null,
+                mergedHistograms ? Collections.emptyList() : makeHistograms(manager, palette),
+                mergedHistograms ? makeHistogramMesh(manager, palette) : null);
+    }
+
+    /**
+     * Installe les composants construits par {@link #initTemperatures()}, puis affiche les températures
+     * de la dernière année et active les contrôles. Le curseur des années couvre les années du jeu.
+     * @param temperatures Les composants des températures.
+     */
+    private void showTemperatures(Temperatures temperatures) {
+        anomalies = new float[resourceManager.getCube().getCellCount()];
+        palette = temperatures.palette;
+        playback = temperatures.playback;
+        levels = temperatures.levels;
+        quadrilaterals.addAll(temperatures.quadrilaterals);
+        gridMesh = temperatures.gridMesh;
+        histograms.addAll(temperatures.histograms);
+        histogramMesh = temperatures.histogramMesh;
+        // Mode d'affichage changé pendant la construction
+        if (mergedGrid && gridMesh == null) initGridMesh();
+        if (!mergedGrid && quadrilaterals.isEmpty()) initQuadrilaterals();
+        if (mergedHistograms && histogramMesh == null) initHistogramMesh();
+        if (!mergedHistograms && histograms.isEmpty()) initHistograms();
+
         initKey();
+        showTempCheckBox.setDisable(false);
+        controlsVBox.setDisable(!showTempCheckBox.isSelected());
+        YearAxis years = resourceManager.getYearAxis();
+        if (years.size() > 0) {
+            yearSlider.setMin(years.getFirstYear());
+            yearSlider.setMax(years.getLastYear());
+            yearTextField.setText(Integer.toString(years.getLastYear()));
+        }
 
         if (showTempCheckBox.isSelected()) {
             enableKey();
@@ -169,23 +487,24 @@ public class GlobalWarming3D implements Initializable {
             // On n'autorise que les entiers
             if (newValue.matches("\\d+")) {
                 int year = Integer.parseInt(newValue);
+                YearAxis years = resourceManager.getYearAxis();
+                if (years.size() == 0) return;
 
-                //Que les entiers entre 1880 et 2020
-                if (year >= 1000) {
-                    if (year < 1880) {
-                        year = 1880;
+                //Que les années du jeu, une fois l'année saisie en entier
+                if (newValue.length() >= Integer.toString(years.getFirstYear()).length()) {
+                    if (year < years.getFirstYear()) {
+                        year = years.getFirstYear();
                         yearTextField.setText(Integer.toString(year));
                     }
-                    if (year > 2020) {
-                        year = 2020;
+                    if (year > years.getLastYear()) {
+                        year = years.getLastYear();
                         yearTextField.setText(Integer.toString(year));
                     }
 
                     // Mise à jour du slider
                     yearSlider.setValue(year);
                     // Mise à jour de la carte
-                    updateQuadrilaterals(year);
-                    updateHistograms(year);
+                    showYear(year);
                 }
             }
             // Suppression des caractères non numériques
@@ -206,7 +525,7 @@ public class GlobalWarming3D implements Initializable {
                 // On change la vitesse de l'animation
                 animation.stop();
                 animation = new Timeline(new KeyFrame(Duration.millis((float) 1000/newValue), event -> {
-                    if (yearSlider.getValue() < 2020) yearSlider.increment();
+                    if (yearSlider.getValue() < yearSlider.getMax()) yearSlider.increment();
                     else stopButton.fire();
                 }));
                 animation.setCycleCount(Timeline.INDEFINITE);
@@ -217,22 +536,29 @@ public class GlobalWarming3D implements Initializable {
 
         // Listeners pour la souris sur la Terre
         // Affichage des coordonnées
-        earth.setOnMouseMoved(mouseEvent -> {
-            Point3D click = mouseEvent.getPickResult().getIntersectedPoint();
-            coordinatesLabel.setText(Conversions.coord3dTogeoCoord(click).toString());
+        subScene.setOnMouseMoved(mouseEvent -> {
+            Coordinates coordinates = pickCoordinates(mouseEvent.getX(), mouseEvent.getY());
+            boolean sampled = levels != null && sampler != null && showTempCheckBox.isSelected() && coordinates != null;
+            if (sampled) {
+                // Anomalie interpolée au point exact survolé, et non à la zone la plus proche
+                coordinatesLabel.setText(coordinates + " " + anomalyFormat.format(hoveredAnomaly()));
+            }
+            // Coordinates partagées : sans anomalie, le texte n'est recréé que si la zone survolée change
+            else if (coordinates != hoveredCoordinates) {
+                coordinatesLabel.setText(coordinates == null ? "" : coordinates.toString());
+            }
+            hoveredCoordinates = coordinates;
             mouseEvent.consume();
         });
-        // Création du graphique
-        earth.setOnMouseClicked(mouseEvent -> {
-            Point3D click = mouseEvent.getPickResult().getIntersectedPoint();
-            Coordinates coordinates = Conversions.coord3dTogeoCoord(click);
-
-            updateChart(coordinates);
+        // Création du graphique (évolution mondiale hors de la Terre)
+        subScene.setOnMouseClicked(mouseEvent -> {
+            updateChart(pickCoordinates(mouseEvent.getX(), mouseEvent.getY()), mouseEvent.isShiftDown());
             mouseEvent.consume();
         });
 
         // Listeners pour la souris hors de la Terre
         earthCanvas.setOnMouseMoved(mouseEvent -> {
+            hoveredCoordinates = null;
             coordinatesLabel.setText("");
         });
         earthCanvas.setOnMouseClicked(mouseEvent -> {
@@ -241,33 +567,138 @@ public class GlobalWarming3D implements Initializable {
     }
 
     /**
-     * Initialise la liste de quadrilatères représentant les anomalies de température pour l'année 2020.
+     * Renvoie la zone du jeu affiché visible sous un point de la sous-scène : le centre de la grille du jeu le plus
+     * proche de la position survolée, qui est gardée dans hoveredPosition. Si les zones du jeu ne forment pas
+     * une grille régulière, la position est arrondie à la grille de 4°.
+     * @param x L'abscisse du point dans la sous-scène.
+     * @param y L'ordonnée du point dans la sous-scène.
+     * @return Les coordonnées de la zone, ou null hors du globe ou de la grille.
      */
-    public void initQuadrilaterals() {
-        TemperatureMap temperatureMap = resourceManager.getMap(2020);
+    private Coordinates pickCoordinates(double x, double y) {
+        if (!picker.pickPosition(x, y, hoveredPosition)) return null;
+        return sampler != null ? sampler.nearestCenter(hoveredPosition[0], hoveredPosition[1]) : picker.pickCoordinates(x, y);
+    }
 
-        for (Map.Entry<Coordinates, Float> entry : temperatureMap.entrySet()) {
-            int latitude = entry.getKey().getLatitude();
-            int longitude = entry.getKey().getLongitude();
-            float temperature = entry.getValue();
+    /**
+     * Renvoie l'anomalie affichée, interpolée entre les zones voisines de la position survolée.
+     * @return L'anomalie, NaN si aucune zone voisine n'est renseignée.
+     */
+    private float hoveredAnomaly() {
+        if (displayedAggregate != null) return sampler.sample(displayedAggregate, hoveredPosition[0], hoveredPosition[1]);
+        int yearIndex = resourceManager.getCube().getYearIndex(displayedYear);
+        return yearIndex < 0 ? Float.NaN : sampler.sample(yearIndex, hoveredPosition[0], hoveredPosition[1]);
+    }
 
-            quadrilaterals.add(Quadrilaterals.makeCenteredQuadrilateral(latitude, longitude, Conversions.temperatureToColor(temperature, minTemp, maxTemp), 4));
-        }
+    /**
+     * Initialise la liste de quadrilatères représentant les anomalies de température pour la dernière année du jeu.
+     */
+    public void initQuadrilaterals() {
+        quadrilaterals.addAll(makeQuadrilaterals(resourceManager, palette, cellSize));
     }
 
     /**
-     * Initialise la liste d'histogrammes représentant les anomalies de température pour l'année 2020.
+     * Initialise le maillage unique représentant les anomalies de température de toutes les zones pour la dernière année du jeu.
+     */
+    public void initGridMesh() {
+        gridMesh = makeGridMesh(resourceManager, palette, cellSize);
+    }
+
+    /**
+     * Initialise la liste d'histogrammes représentant les anomalies de température pour la dernière année du jeu.
      */
     public void initHistograms() {
-        TemperatureMap temperatureMap = resourceManager.getMap(2020);
+        histograms.addAll(makeHistograms(resourceManager, palette));
+    }
 
-        for (Map.Entry<Coordinates, Float> entry : temperatureMap.entrySet()) {
-            int latitude = entry.getKey().getLatitude();
-            int longitude = entry.getKey().getLongitude();
-            float temperature = entry.getValue();
+    /**
+     * Initialise les maillages partagés représentant les histogrammes de toutes les zones pour la dernière année du jeu.
+     */
+    public void initHistogramMesh() {
+        histogramMesh = makeHistogramMesh(resourceManager, palette);
+    }
 
-            histograms.add(Histograms.makeHistogram(latitude, longitude, temperature, maxTemp, minTemp));
+    /**
+     * Crée les quadrilatères représentant les anomalies de température pour la dernière année du jeu, sans toucher au contrôleur.
+     * @param manager Les données.
+     * @param palette La palette des matériaux.
+     * @param size La taille des quadrilatères.
+     * @return Un quadrilatère par zone, dans l'ordre du cube.
+     */
+    private static List<MeshView> makeQuadrilaterals(ResourceManager manager, MaterialPalette palette, float size) {
+        AnomalyCube cube = manager.getCube();
+        float[] anomalies = lastYear(cube);
+        List<MeshView> made = new ArrayList<>();
+        for (int i = 0; i < anomalies.length; i++) {
+            made.add(Quadrilaterals.makeCenteredQuadrilateral(cube.getLatitude(i), cube.getLongitude(i),
+                    palette.getMaterial(anomalies[i]), size));
         }
+        return made;
+    }
+
+    /**
+     * Crée le maillage unique représentant les anomalies de toutes les zones pour la dernière année du jeu, sans toucher au contrôleur.
+     * @param manager Les données.
+     * @param palette La palette dont la rampe de couleurs sert de texture.
+     * @param size La taille des quadrilatères.
+     * @return Le maillage.
+     */
+    private static GridMesh makeGridMesh(ResourceManager manager, MaterialPalette palette, float size) {
+        AnomalyCube cube = manager.getCube();
+        GridMesh made = new GridMesh(latitudes(cube), longitudes(cube), size, palette);
+        made.update(lastYear(cube));
+        return made;
+    }
+
+    /**
+     * Crée les histogrammes représentant les anomalies de température pour la dernière année du jeu, sans toucher au contrôleur.
+     * @param manager Les données.
+     * @param palette La palette des matériaux.
+     * @return Un histogramme par zone, dans l'ordre du cube.
+     */
+    private static List<Box> makeHistograms(ResourceManager manager, MaterialPalette palette) {
+        AnomalyCube cube = manager.getCube();
+        float[] anomalies = lastYear(cube);
+        List<Box> made = new ArrayList<>();
+        for (int i = 0; i < anomalies.length; i++) {
+            made.add(Histograms.makeHistogram(cube.getLatitude(i), cube.getLongitude(i), palette.getMaterial(anomalies[i])));
+        }
+        return made;
+    }
+
+    /**
+     * Crée les maillages partagés représentant les histogrammes de toutes les zones pour la dernière année du jeu,
+     * sans toucher au contrôleur.
+     * @param manager Les données.
+     * @param palette La palette dont la rampe de couleurs sert de texture.
+     * @return Les maillages.
+     */
+    private static HistogramMesh makeHistogramMesh(ResourceManager manager, MaterialPalette palette) {
+        AnomalyCube cube = manager.getCube();
+        HistogramMesh made = new HistogramMesh(latitudes(cube), longitudes(cube), palette);
+        made.update(lastYear(cube));
+        return made;
+    }
+
+    /**
+     * Renvoie les anomalies de la dernière année du cube, affichées au démarrage ; des NaN si le cube est vide.
+     */
+    private static float[] lastYear(AnomalyCube cube) {
+        float[] anomalies = new float[cube.getCellCount()];
+        if (cube.getYearCount() == 0) Arrays.fill(anomalies, Float.NaN);
+        else cube.copyYear(cube.getYearCount() - 1, anomalies);
+        return anomalies;
+    }
+
+    private static int[] latitudes(AnomalyCube cube) {
+        int[] latitudes = new int[cube.getCellCount()];
+        for (int i = 0; i < latitudes.length; i++) latitudes[i] = cube.getLatitude(i);
+        return latitudes;
+    }
+
+    private static int[] longitudes(AnomalyCube cube) {
+        int[] longitudes = new int[cube.getCellCount()];
+        for (int i = 0; i < longitudes.length; i++) longitudes[i] = cube.getLongitude(i);
+        return longitudes;
     }
 
     /**
@@ -295,30 +726,92 @@ public class GlobalWarming3D implements Initializable {
     }
 
     /**
-     * Met à jour la liste de quadrilatères représentant les anomalies de température pour une année donnée.
+     * Affiche les anomalies d'une année.
+     * Pendant l'animation, l'image préparée en arrière-plan est appliquée si elle est prête, sinon elle est perdue
+     * plutôt que de bloquer le thread JavaFX. Hors animation, ou si l'utilisateur déplace le curseur,
+     * les anomalies sont lues directement.
      * @param year L'année à afficher.
      */
-    public void updateQuadrilaterals(int year) {
-        Float[] temperatures = resourceManager.getAnomalies(year);
+    public void showYear(int year) {
+        boolean next = year == requestedYear + 1;
+        requestedYear = year;
+        metrics.yearChanged(metrics.now());
 
-        for (int i = 0; i < temperatures.length; i++) {
-            quadrilaterals.get(i).setMaterial(new PhongMaterial(Conversions.temperatureToColor(temperatures[i], minTemp, maxTemp)));
+        if (animated) {
+            PlaybackBuffer.Frame frame = playback.poll(year);
+            if (frame != null) {
+                long time = metrics.now();
+                BitSet dirty = levels.update(resourceManager.getCube().getYearIndex(frame.getYear()), frame.getColorIndices(), frame.getHeights());
+                applyTemperatures(dirty);
+                metrics.record(FrameMetrics.Stage.SCENE, time);
+                displayedYear = frame.getYear();
+                displayedAggregate = null;
+                playback.release(frame);
+                return;
+            }
+            // Année sautée par l'utilisateur : on reprend la préparation à partir de la suivante
+            if (!next) playback.start(year + 1);
+            else return;
         }
+
+        updateTemperatures(year);
     }
 
     /**
-     * Met à jour la liste d'histogrammes représentant les anomalies de température pour une année donnée.
+     * Met à jour les quadrilatères et les histogrammes représentant les anomalies de température pour une année donnée.
+     * Seules les zones dont la couleur ou la hauteur change par rapport à l'année affichée sont modifiées.
      * @param year L'année à afficher.
      */
-    public void updateHistograms(int year) {
-        Float[] temperatures = resourceManager.getAnomalies(year);
+    public void updateTemperatures(int year) {
+        int yearIndex = resourceManager.getCube().getYearIndex(year);
+        if (yearIndex < 0) return;
 
-        for (int i = 0; i < temperatures.length; i++) {
-            Box histogram = histograms.get(i);
-            float temperature = temperatures[i];
+        long time = metrics.now();
+        resourceManager.getCube().copyYear(yearIndex, anomalies);
+        time = metrics.record(FrameMetrics.Stage.FETCH, time);
+
+        BitSet dirty = levels.update(yearIndex, anomalies);
+        time = metrics.record(FrameMetrics.Stage.COLOR, time);
+
+        applyTemperatures(dirty);
+        metrics.record(FrameMetrics.Stage.SCENE, time);
+        displayedYear = year;
+        displayedAggregate = null;
+    }
 
-            histogram.setMaterial(new PhongMaterial(Conversions.temperatureToColor(temperature, minTemp, maxTemp)));
-            histogram.setHeight(temperature > 0 ? (float)Math.round(60 * temperature/maxTemp) / 100 : 0.01);
+    /**
+     * Affiche des valeurs par zone qui ne sont pas celles d'une année, par exemple un agrégat
+     * de {@link climatechange.data.AnomalyAggregates}, avec la même palette et les mêmes hauteurs que les anomalies.
+     * L'animation doit être arrêtée : la prochaine année affichée remplace l'agrégat.
+     * @param values La valeur de chaque zone, dans l'ordre du cube.
+     */
+    public void showAggregate(float[] values) {
+        long time = metrics.now();
+        BitSet dirty = levels.update(CellLevels.AGGREGATE, values);
+        time = metrics.record(FrameMetrics.Stage.COLOR, time);
+
+        applyTemperatures(dirty);
+        metrics.record(FrameMetrics.Stage.SCENE, time);
+        displayedAggregate = values;
+    }
+
+    /**
+     * Applique les niveaux de couleur et les hauteurs affichés aux quadrilatères et aux histogrammes des zones modifiées.
+     * @param dirty Les zones dont les niveaux ont changé.
+     */
+    private void applyTemperatures(BitSet dirty) {
+        int[] colorIndices = levels.getColorIndices();
+        float[] heights = levels.getHeights();
+
+        if (mergedGrid) gridMesh.update(colorIndices, dirty);
+        else for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1))
+            quadrilaterals.get(i).setMaterial(palette.getMaterial(colorIndices[i]));
+
+        if (mergedHistograms) histogramMesh.update(colorIndices, heights, dirty);
+        else for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+            Box histogram = histograms.get(i);
+            histogram.setMaterial(palette.getMaterial(colorIndices[i]));
+            histogram.setHeight(heights[i]);
         }
     }
 
@@ -326,30 +819,73 @@ public class GlobalWarming3D implements Initializable {
      * Affiche les quadrilatères.
      */
     public void enableQuadrilaterals() {
-        earth.getChildren().addAll(quadrilaterals);
+        if (mergedGrid) earth.getChildren().add(gridMesh.getMeshView());
+        else earth.getChildren().addAll(quadrilaterals);
     }
 
     /**
      * Arrête l'affichage des quadrilatères.
      */
     public void disableQuadrilaterals() {
+        if (gridMesh != null) earth.getChildren().remove(gridMesh.getMeshView());
         earth.getChildren().removeAll(quadrilaterals);
     }
 
+    /**
+     * Choisit l'affichage des quadrilatères : un maillage unique coloré par texture,
+     * ou un MeshView par zone. Le mode initial est donné par la propriété système "climatechange.mergedGrid".
+     * @param merged Vrai pour le maillage unique.
+     */
+    public void setMergedGrid(boolean merged) {
+        if (merged == mergedGrid) return;
+        boolean shown = showTempCheckBox.isSelected() && colorsRadioButton.isSelected();
+        if (shown) disableQuadrilaterals();
+
+        mergedGrid = merged;
+        if (mergedGrid && gridMesh == null) initGridMesh();
+        if (!mergedGrid && quadrilaterals.isEmpty()) initQuadrilaterals();
+        // Les nœuds ou le maillage qui reprennent l'affichage ne sont pas forcément à l'année courante
+        levels.invalidate();
+        updateTemperatures((int) Math.round(yearSlider.getValue()));
+
+        if (shown) enableQuadrilaterals();
+    }
+
     /**
      * Affiche les histogrammes.
      */
     public void enableHistograms() {
-        earth.getChildren().addAll(histograms);
+        if (mergedHistograms) earth.getChildren().addAll(histogramMesh.getMeshViews());
+        else earth.getChildren().addAll(histograms);
     }
 
     /**
      * Arrête l'affichage des histogrammes.
      */
     public void disableHistograms() {
+        if (histogramMesh != null) earth.getChildren().removeAll(histogramMesh.getMeshViews());
         earth.getChildren().removeAll(histograms);
     }
 
+    /**
+     * Choisit l'affichage des histogrammes : quelques maillages partagés colorés par texture,
+     * ou une Box par zone. Le mode initial est donné par la propriété système "climatechange.mergedHistograms".
+     * @param merged Vrai pour les maillages partagés.
+     */
+    public void setMergedHistograms(boolean merged) {
+        if (merged == mergedHistograms) return;
+        boolean shown = showTempCheckBox.isSelected() && histogramsRadioButton.isSelected();
+        if (shown) disableHistograms();
+
+        mergedHistograms = merged;
+        if (mergedHistograms && histogramMesh == null) initHistogramMesh();
+        if (!mergedHistograms && histograms.isEmpty()) initHistograms();
+        levels.invalidate();
+        updateTemperatures((int) Math.round(yearSlider.getValue()));
+
+        if (shown) enableHistograms();
+    }
+
     /**
      * Affiche la légende.
      */
@@ -372,18 +908,39 @@ public class GlobalWarming3D implements Initializable {
         lineChart.setCreateSymbols(false);
         lineChart.setAnimated(false);
 
-        // Bornes des axes
+        // Bornes des axes : celles du curseur, puis celles du jeu affiché (voir showWorldChart)
         xAxis.setAutoRanging(false);
-        xAxis.setLowerBound(1880);
-        xAxis.setUpperBound(2020);
+        xAxis.setLowerBound(yearSlider.getMin());
+        xAxis.setUpperBound(yearSlider.getMax());
 
         yAxis.setAutoRanging(false);
-        yAxis.setLowerBound(minTemp);
-        yAxis.setUpperBound(maxTemp);
 
         // Série de données
         series = new XYChart.Series<>();
         lineChart.getData().add(series);
+
+        // Les séries sont réduites à un point par pixel de l'axe des années
+        xAxis.widthProperty().addListener((observableValue, oldValue, newValue) -> {
+            if (newValue.intValue() > 0) chartPoints = Math.max(3, newValue.intValue());
+        });
+    }
+
+    /**
+     * Affiche l'évolution de la moyenne mondiale, une fois les données chargées et la série calculée.
+     * Les courbes ajoutées pour comparer des zones sont retirées.
+     * @param worldData Les points de la moyenne mondiale, calculés par {@link #chartData(ResourceManager, FloatBuffer, int)}.
+     */
+    public void showWorldChart(List<XYChart.Data<Number, Number>> worldData) {
+        YearAxis years = resourceManager.getYearAxis();
+        if (years.size() > 0) {
+            xAxis.setLowerBound(years.getFirstYear());
+            xAxis.setUpperBound(years.getLastYear());
+        }
+        yAxis.setLowerBound(minTemp);
+        yAxis.setUpperBound(maxTemp);
+        chartGeneration++;
+        showSeries("World", worldData, false);
+        chartReady = true;
     }
 
     /**
@@ -392,33 +949,79 @@ public class GlobalWarming3D implements Initializable {
      *                    ou null pour afficher l'évolution de la moyenne mondiale.
      */
     public void updateChart(Coordinates coordinates) {
-        series.getData().clear();
-        // Afficher pour une année
-        if (coordinates != null && resourceManager.getAreas().contains(coordinates)) {
-            lineChart.setTitle(coordinates + " temperature evolution");
-            for (Integer year : resourceManager.getYears()) {
-                if (!Float.isNaN(resourceManager.getMap(year).get(coordinates)))
-                    series.getData().add(new XYChart.Data<>(year, resourceManager.getMap(year).get(coordinates)));
-            }
+        updateChart(coordinates, false);
+    }
+
+    /**
+     * Affiche l'évolution des températures d'une zone ou de l'ensemble du globe, à la place des courbes affichées
+     * ou en plus de celles-ci. Les points sont calculés et réduits à la largeur du graphique en arrière-plan,
+     * puis publiés en une seule fois sur le thread JavaFX ; un résultat arrivé après que les courbes ont été
+     * remplacées par une demande plus récente est ignoré.
+     * @param coordinates Coordonnées de la zone, ou null pour l'évolution de la moyenne mondiale.
+     * @param overlay Vrai pour ajouter la zone aux courbes affichées, sans effet pour la moyenne mondiale.
+     * @return La fin de l'affichage.
+     */
+    public CompletableFuture<Void> updateChart(Coordinates coordinates, boolean overlay) {
+        // Données encore en cours de chargement
+        if (!chartReady) return CompletableFuture.completedFuture(null);
+
+        ResourceManager manager = resourceManager;
+        FloatBuffer history = coordinates == null ? null : manager.getAnomalySeries(coordinates.getLatitude(), coordinates.getLongitude());
+        if (overlay && history == null) return CompletableFuture.completedFuture(null);
+        int generation = overlay ? chartGeneration : ++chartGeneration;
+        int points = chartPoints;
+        String name = history != null ? coordinates.toString() : "World";
+
+        return CompletableFuture.supplyAsync(() -> chartData(manager, history, points), chartExecutor)
+                .thenAcceptAsync(data -> {
+                    if (chartReady && generation == chartGeneration) showSeries(name, data, overlay);
+                }, Platform::runLater);
+    }
+
+    /**
+     * Publie les points d'une courbe, en une seule modification de la série.
+     * @param name Le nom de la zone, ou "World" pour la moyenne mondiale.
+     * @param data Les points de la courbe.
+     * @param overlay Vrai pour ajouter une courbe, faux pour remplacer toutes les courbes affichées.
+     */
+    private void showSeries(String name, List<XYChart.Data<Number, Number>> data, boolean overlay) {
+        if (overlay) {
+            lineChart.getData().add(new XYChart.Series<>(name, FXCollections.observableArrayList(data)));
+            lineChart.setTitle("Temperature evolution");
+            lineChart.setLegendVisible(true);
+            return;
         }
+        lineChart.getData().remove(1, lineChart.getData().size());
+        lineChart.setLegendVisible(false);
+        lineChart.setTitle("World".equals(name) ? "World temperature evolution" : name + " temperature evolution");
+        series.setName(name);
+        series.getData().setAll(data);
+    }
+
+    /**
+     * Calcule les points du graphe 2D, sans toucher à la scène : peut être appelée hors du thread JavaFX.
+     * La série est lue dans des tableaux primitifs puis réduite par {@link SeriesDecimation}, et seuls les points
+     * gardés sont créés.
+     * @param manager Les données dont la série est extraite.
+     * @param history L'évolution d'une zone, ou null pour l'évolution de la moyenne mondiale.
+     * @param maxPoints Le nombre maximal de points, par exemple la largeur du graphique en pixels.
+     * @return Les points du graphe, les années sans valeur étant omises.
+     */
+    public List<XYChart.Data<Number, Number>> chartData(ResourceManager manager, FloatBuffer history, int maxPoints) {
+        YearAxis years = manager.getYearAxis();
+        float[] values = new float[years.size()];
+        // Afficher pour une zone
+        if (history != null) history.duplicate().get(values);
         // Afficher la moyenne mondiale
         else {
-            lineChart.setTitle("World temperature evolution");
-            for (Integer year : resourceManager.getYears()) {
-                TemperatureMap temperatureMap = resourceManager.getMap(year);
-                float average = 0;
-                int sampleSize = 0;
-                for (Coordinates coord : resourceManager.getAreas()) {
-                    if (!Float.isNaN(temperatureMap.get(coord))) {
-                        average += temperatureMap.get(coord);
-                        sampleSize ++;
-                    }
-                }
-                average /= sampleSize;
-
-                series.getData().add(new XYChart.Data<>(year, average));
-            }
+            AnomalyStatistics statistics = manager.getStatistics();
+            for (int i = 0; i < values.length; i++) values[i] = statistics.getYearMean(i);
         }
+
+        int[] kept = SeriesDecimation.largestTriangleThreeBuckets(years, values, maxPoints);
+        List<XYChart.Data<Number, Number>> data = new ArrayList<>(kept.length);
+        for (int i : kept) data.add(new XYChart.Data<>(years.getYear(i), values[i]));
+        return data;
     }
 
     /**
@@ -466,20 +1069,21 @@ public class GlobalWarming3D implements Initializable {
      */
     public void handlePlayPauseButtonAction() {
         if (!animated) {
-            if (yearSlider.getValue() == 2020) yearSlider.setValue(1880);
+            if (yearSlider.getValue() >= yearSlider.getMax()) yearSlider.setValue(yearSlider.getMin());
             animation = new Timeline(new KeyFrame(Duration.millis((float) 1000/speedSpinner.getValue()), event -> {
-                if (yearSlider.getValue() < 2020) yearSlider.increment();
+                if (yearSlider.getValue() < yearSlider.getMax()) yearSlider.increment();
                 else stopButton.fire();
             }));
             animation.setCycleCount(Timeline.INDEFINITE);
+            playback.start((int) Math.round(yearSlider.getValue()) + 1);
             animation.play();
             playPauseImageView.setImage(new Image("climatechange/gui/icons/pause.png"));
             animated = true;
         }
         else {
             animation.stop();
+            stopPlayback();
             playPauseImageView.setImage(new Image("climatechange/gui/icons/play.png"));
-            animated = false;
         }
     }
 
@@ -491,9 +1095,60 @@ public class GlobalWarming3D implements Initializable {
         if (animated) {
             playPauseImageView.setImage(new Image("climatechange/gui/icons/play.png"));
             animation.stop();
-            animated = false;
+            stopPlayback();
         }
-        yearSlider.setValue(2020);
+        yearSlider.setValue(yearSlider.getMax());
     }
 
+    /**
+     * Arrête la préparation des images de l'animation et affiche l'année courante si son image a été perdue.
+     */
+    private void stopPlayback() {
+        playback.stop();
+        animated = false;
+        if (displayedYear != requestedYear) showYear(requestedYear);
+    }
+
+    /**
+     * Jeu de données chargé en arrière-plan et ses bornes, installés sur le thread JavaFX par {@link #setDataset(Dataset)}.
+     */
+    private static final class Dataset {
+        private final String name;
+        private final ResourceManager manager;
+        private final float minTemp, maxTemp;
+        private final AnomalySampler sampler;
+
+        private Dataset(String name, ResourceManager manager, float minTemp, float maxTemp, AnomalySampler sampler) {
+            this.name = name;
+            this.manager = manager;
+            this.minTemp = minTemp;
+            this.maxTemp = maxTemp;
+            this.sampler = sampler;
+        }
+    }
+
+    /**
+     * Composants des températures construits en arrière-plan, installés sur le thread JavaFX
+     * par {@link #showTemperatures(Temperatures)}. Seuls ceux du mode d'affichage choisi sont construits.
+     */
+    private static final class Temperatures {
+        private final MaterialPalette palette;
+        private final PlaybackBuffer playback;
+        private final CellLevels levels;
+        private final List<MeshView> quadrilaterals;
+        private final GridMesh gridMesh;
+        private final List<Box> histograms;
+        private final HistogramMesh histogramMesh;
+
+        private Temperatures(MaterialPalette palette, PlaybackBuffer playback, CellLevels levels, List<MeshView> quadrilaterals,
+                             GridMesh gridMesh, List<Box> histograms, HistogramMesh histogramMesh) {
+            this.palette = palette;
+            this.playback = playback;
+            this.levels = levels;
+            this.quadrilaterals = quadrilaterals;
+            this.gridMesh = gridMesh;
+            this.histograms = histograms;
+            this.histogramMesh = histogramMesh;
+        }
+    }
 }
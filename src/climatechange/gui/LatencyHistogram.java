@@ -0,0 +1,109 @@
+package climatechange.gui;
+
+import java.util.Arrays;
+
+/**
+ * Histogramme de durées à précision relative constante, sur le principe de HdrHistogram :
+ * les valeurs sont rangées dans des intervalles dont la largeur double à chaque puissance de 2,
+ * chaque puissance étant découpée en {@value #SUB_BUCKETS} sous-intervalles (environ 1,5 % de précision).
+ * L'enregistrement ne fait aucune allocation.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Au-delà, les valeurs sont comptées dans le dernier intervalle (2^40 µs, soit plus de 12 jours)
+    private static final int MAX_EXPONENT = 40;
+
+    private final long[] counts = new long[(MAX_EXPONENT + 2) * SUB_BUCKETS];
+    private long count, total, min = Long.MAX_VALUE, max;
+
+    /**
+     * Enregistre une durée.
+     * @param value La durée, en microsecondes.
+     */
+    public synchronized void record(long value) {
+        if (value < 0) value = 0;
+        counts[indexOf(value)]++;
+        count++;
+        total += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Renvoie la durée en dessous de laquelle se trouve un pourcentage des valeurs enregistrées.
+     * @param percentile Le pourcentage, entre 0 et 100.
+     * @return La durée, en microsecondes, à la précision des intervalles près, ou 0 si rien n'a été enregistré.
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) return Math.min(max, Math.max(min, highestValueAt(index)));
+        }
+        return max;
+    }
+
+    /**
+     * Renvoie le nombre de valeurs enregistrées.
+     * @return Le nombre de valeurs.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Renvoie la moyenne des valeurs enregistrées.
+     * @return La moyenne, en microsecondes, ou 0 si rien n'a été enregistré.
+     */
+    public synchronized double getMean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /**
+     * Renvoie la plus grande valeur enregistrée.
+     * @return Le maximum, en microsecondes, ou 0 si rien n'a été enregistré.
+     */
+    public synchronized long getMax() {
+        return max;
+    }
+
+    /**
+     * Efface toutes les valeurs enregistrées.
+     */
+    public synchronized void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    /**
+     * Renvoie l'intervalle d'une valeur.
+     * Les valeurs inférieures à 2 * {@value #SUB_BUCKETS} sont exactes ; au-delà, on garde les
+     * {@value #SUB_BUCKET_BITS} + 1 bits de poids fort.
+     * @param value La valeur, positive.
+     * @return L'indice de son intervalle.
+     */
+    static int indexOf(long value) {
+        if (value < 2 * SUB_BUCKETS) return (int) value;
+        int exponent = Math.min(63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS, MAX_EXPONENT);
+        long subBucket = Math.min(value >>> exponent, 2 * SUB_BUCKETS - 1);
+        return exponent * SUB_BUCKETS + (int) subBucket;
+    }
+
+    /**
+     * Renvoie la plus grande valeur rangée dans un intervalle.
+     * @param index L'indice de l'intervalle.
+     * @return La borne supérieure de l'intervalle.
+     */
+    static long highestValueAt(int index) {
+        if (index < 2 * SUB_BUCKETS) return index;
+        int exponent = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << exponent) - 1;
+    }
+}
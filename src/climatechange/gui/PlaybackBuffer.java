@@ -0,0 +1,176 @@
+package climatechange.gui;
+
+import climatechange.data.AnomalyCube;
+import climatechange.data.ResourceManager;
+import climatechange.data.YearAxis;
+import climatechange.gui.rendering.Histograms;
+import climatechange.gui.rendering.MaterialPalette;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tampon circulaire d'images de l'animation, préparées en arrière-plan quelques années en avance.
+ * Une image contient, pour chaque zone, le niveau de couleur dans la palette et la hauteur d'histogramme :
+ * le thread JavaFX n'a plus qu'à les appliquer. Les images sont allouées une fois pour toutes et recyclées.
+ */
+public class PlaybackBuffer {
+
+    /**
+     * Image préparée pour une année.
+     */
+    public static class Frame {
+        private int year, generation;
+        private final int[] colorIndices;
+        private final float[] heights;
+
+        private Frame(int cellCount) {
+            colorIndices = new int[cellCount];
+            heights = new float[cellCount];
+        }
+
+        /**
+         * Méthode d'accès à l'année de l'image.
+         * @return L'année.
+         */
+        public int getYear() {
+            return year;
+        }
+
+        /**
+         * Méthode d'accès aux niveaux de couleur des zones.
+         * @return L'indice dans la palette de chaque zone.
+         */
+        public int[] getColorIndices() {
+            return colorIndices;
+        }
+
+        /**
+         * Méthode d'accès aux hauteurs d'histogramme des zones.
+         * @return La hauteur de chaque zone.
+         */
+        public float[] getHeights() {
+            return heights;
+        }
+    }
+
+    private final ResourceManager resourceManager;
+    private final MaterialPalette palette;
+    private final BlockingQueue<Frame> free, ready;
+    private final ExecutorService executor;
+    private Future<?> producer;
+    private volatile int generation = 0;
+    private int droppedFrames = 0;
+
+    /**
+     * Constructeur de la classe.
+     * @param resourceManager Les données à afficher.
+     * @param palette La palette donnant les niveaux de couleur.
+     * @param depth Le nombre d'images préparées à l'avance.
+     */
+    public PlaybackBuffer(ResourceManager resourceManager, MaterialPalette palette, int depth) {
+        this.resourceManager = resourceManager;
+        this.palette = palette;
+        this.free = new ArrayBlockingQueue<>(depth);
+        this.ready = new ArrayBlockingQueue<>(depth);
+        for (int i = 0; i < depth; i++) free.add(new Frame(resourceManager.getCube().getCellCount()));
+
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "playback-buffer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lance la préparation des images à partir d'une année, dans l'ordre croissant des années.
+     * Les images déjà préparées sont abandonnées.
+     * @param fromYear La première année à préparer.
+     */
+    public synchronized void start(int fromYear) {
+        stop();
+        int currentGeneration = ++generation;
+
+        AnomalyCube cube = resourceManager.getCube();
+        YearAxis years = cube.getYearAxis();
+
+        producer = executor.submit(() -> {
+            float[] anomalies = new float[cube.getCellCount()];
+            float maxTemp = palette.getMaxTemp();
+            try {
+                for (int yearIndex = years.ceilingIndex(fromYear); yearIndex < years.size(); yearIndex++) {
+                    int year = years.getYear(yearIndex);
+                    Frame frame = free.take();
+                    cube.copyYear(yearIndex, anomalies);
+                    for (int i = 0; i < anomalies.length; i++) {
+                        frame.colorIndices[i] = palette.indexOf(anomalies[i]);
+                        frame.heights[i] = Histograms.getHeight(anomalies[i], maxTemp);
+                    }
+                    frame.year = year;
+                    frame.generation = currentGeneration;
+                    ready.add(frame);
+                }
+            } catch (InterruptedException e) {
+                // Préparation interrompue par stop()
+            }
+        });
+    }
+
+    /**
+     * Arrête la préparation et recycle toutes les images en attente.
+     */
+    public synchronized void stop() {
+        if (producer != null) {
+            // Une image de l'ancienne préparation peut encore arriver : elle sera recyclée par poll()
+            producer.cancel(true);
+            producer = null;
+        }
+        ready.drainTo(free);
+    }
+
+    /**
+     * Renvoie l'image d'une année si elle est prête. Les images des années antérieures,
+     * ou d'une préparation précédente, sont recyclées.
+     * Si l'image n'est pas encore prête, elle est comptée comme perdue : l'appelant doit passer à la suite
+     * plutôt qu'attendre.
+     * @param year L'année à afficher.
+     * @return L'image, à rendre avec {@link #release(Frame)} une fois appliquée, ou null si elle n'est pas prête.
+     */
+    public Frame poll(int year) {
+        Frame frame;
+        while ((frame = ready.peek()) != null && (frame.generation != generation || frame.year < year)) free.add(ready.poll());
+
+        if (frame == null || frame.year != year) {
+            droppedFrames++;
+            return null;
+        }
+        return ready.poll();
+    }
+
+    /**
+     * Rend une image au tampon pour qu'elle soit réutilisée.
+     * @param frame L'image appliquée.
+     */
+    public void release(Frame frame) {
+        free.add(frame);
+    }
+
+    /**
+     * Renvoie le nombre d'images qui n'étaient pas prêtes à temps depuis la création du tampon.
+     * @return Le nombre d'images perdues.
+     */
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * Arrête définitivement le thread de préparation.
+     */
+    public void shutdown() {
+        stop();
+        executor.shutdownNow();
+    }
+}
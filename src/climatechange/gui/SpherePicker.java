@@ -0,0 +1,110 @@
+package climatechange.gui;
+
+import climatechange.data.AnomalyCube;
+import climatechange.data.Coordinates;
+import climatechange.gui.rendering.Conversions;
+import javafx.scene.PerspectiveCamera;
+import javafx.scene.SubScene;
+import javafx.scene.transform.Transform;
+
+/**
+ * Sélection d'une zone du globe sous la souris, par le calcul plutôt que par le picking JavaFX :
+ * le rayon issu de la caméra est intersecté avec une sphère centrée à l'origine de la scène 3D.
+ * Le maillage de la Terre et les nœuds des températures peuvent ainsi être rendus transparents à la souris.
+ */
+public class SpherePicker {
+    private final SubScene subScene;
+    private final PerspectiveCamera camera;
+    private final double radius;
+
+    /**
+     * Constructeur de la classe.
+     * @param subScene La sous-scène affichant le globe.
+     * @param camera La caméra de la sous-scène, placée par {@link CameraManager} (œil à l'origine de la caméra).
+     * @param radius Le rayon de la sphère.
+     */
+    public SpherePicker(SubScene subScene, PerspectiveCamera camera, double radius) {
+        this.subScene = subScene;
+        this.camera = camera;
+        this.radius = radius;
+    }
+
+    /**
+     * Renvoie les coordonnées géographiques du point du globe visible sous un point de la sous-scène.
+     * @param x L'abscisse du point dans la sous-scène.
+     * @param y L'ordonnée du point dans la sous-scène.
+     * @return Les coordonnées, ou null si le rayon ne rencontre pas le globe.
+     */
+    public Coordinates pickCoordinates(double x, double y) {
+        double[] point = new double[3];
+        return intersect(x, y, point) ? Conversions.coord3dTogeoCoord(point[0], point[1], point[2]) : null;
+    }
+
+    /**
+     * Renvoie la position exacte, non arrondie à une zone, du point du globe visible sous un point de la sous-scène.
+     * @param x L'abscisse du point dans la sous-scène.
+     * @param y L'ordonnée du point dans la sous-scène.
+     * @param position Le tableau recevant la latitude puis la longitude, en degrés.
+     * @return true si le rayon rencontre le globe.
+     */
+    public boolean pickPosition(double x, double y, double[] position) {
+        double[] point = new double[3];
+        if (!intersect(x, y, point)) return false;
+        position[0] = Conversions.latitudeOf(point[1]);
+        position[1] = Conversions.longitudeOf(point[0], point[2]);
+        return true;
+    }
+
+    /**
+     * Renvoie l'indice de la zone du globe visible sous un point de la sous-scène.
+     * @param x L'abscisse du point dans la sous-scène.
+     * @param y L'ordonnée du point dans la sous-scène.
+     * @param cube Le cube dont les indices de zone sont utilisés.
+     * @return L'indice de la zone, ou -1 si le rayon ne rencontre pas le globe ou si la zone n'est pas documentée.
+     */
+    public int pickCell(double x, double y, AnomalyCube cube) {
+        Coordinates coordinates = pickCoordinates(x, y);
+        return coordinates == null ? -1 : cube.getCellIndex(coordinates.getLatitude(), coordinates.getLongitude());
+    }
+
+    /**
+     * Intersecte le rayon issu de la caméra avec la sphère.
+     * @param x L'abscisse du point dans la sous-scène.
+     * @param y L'ordonnée du point dans la sous-scène.
+     * @param point Le tableau recevant le point d'intersection, ramené à une sphère de rayon 1.
+     * @return true si le rayon rencontre la sphère.
+     */
+    private boolean intersect(double x, double y, double[] point) {
+        // Rayon dans le repère de la caméra : l'œil est à l'origine et regarde vers les z positifs, y vers le bas
+        double width = subScene.getWidth(), height = subScene.getHeight();
+        double tanHalfFov = Math.tan(Math.toRadians(camera.getFieldOfView()) / 2);
+        double halfSpan = (camera.isVerticalFieldOfView() ? height : width) / 2;
+        double dx = (x - width / 2) * tanHalfFov / halfSpan;
+        double dy = (y - height / 2) * tanHalfFov / halfSpan;
+        double dz = 1;
+
+        // Passage dans le repère de la scène 3D
+        Transform transform = camera.getLocalToSceneTransform();
+        double ox = transform.getTx(), oy = transform.getTy(), oz = transform.getTz();
+        double rx = transform.getMxx() * dx + transform.getMxy() * dy + transform.getMxz() * dz;
+        double ry = transform.getMyx() * dx + transform.getMyy() * dy + transform.getMyz() * dz;
+        double rz = transform.getMzx() * dx + transform.getMzy() * dy + transform.getMzz() * dz;
+
+        // Première intersection de o + t.r avec la sphère : |o + t.r|² = rayon²
+        double a = rx * rx + ry * ry + rz * rz;
+        double b = 2 * (ox * rx + oy * ry + oz * rz);
+        double c = ox * ox + oy * oy + oz * oz - radius * radius;
+        double discriminant = b * b - 4 * a * c;
+        if (discriminant < 0) return false;
+
+        double sqrt = Math.sqrt(discriminant);
+        double t = (-b - sqrt) / (2 * a);
+        if (t < 0) t = (-b + sqrt) / (2 * a); // œil dans la sphère
+        if (t < 0) return false;
+
+        point[0] = (ox + t * rx) / radius;
+        point[1] = (oy + t * ry) / radius;
+        point[2] = (oz + t * rz) / radius;
+        return true;
+    }
+}
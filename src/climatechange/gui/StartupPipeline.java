@@ -0,0 +1,127 @@
+package climatechange.gui;
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Chargement de l'application par étapes enchaînées : chaque étape s'exécute dès que celles dont elle dépend
+ * sont terminées, en arrière-plan ou sur le thread JavaFX pour celles qui modifient la scène.
+ * La durée de chaque étape est écrite dans la console et l'avancement est exposé pour une barre de progression.
+ */
+public class StartupPipeline {
+    private final ExecutorService executor;
+    private final int stageCount;
+    private final AtomicInteger stageNumber = new AtomicInteger();
+    private final long start = System.nanoTime();
+    private int completedStages = 0;
+    private final ReadOnlyDoubleWrapper progress = new ReadOnlyDoubleWrapper(0);
+
+    /**
+     * Constructeur de la classe.
+     * @param stageCount Le nombre d'étapes, pour le calcul de l'avancement.
+     * @param threads Le nombre de threads d'arrière-plan.
+     */
+    public StartupPipeline(int stageCount, int threads) {
+        this.stageCount = stageCount;
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "startup-" + stageNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lance une étape sans dépendance, en arrière-plan.
+     * @param stage Le nom de l'étape.
+     * @param task L'étape.
+     * @param <T> Le type du résultat.
+     * @return Le résultat de l'étape.
+     */
+    public <T> CompletableFuture<T> supply(String stage, Callable<T> task) {
+        return CompletableFuture.supplyAsync(() -> timed(stage, task), executor);
+    }
+
+    /**
+     * Lance une étape en arrière-plan dès la fin d'une autre.
+     * @param previous L'étape dont elle dépend.
+     * @param stage Le nom de l'étape.
+     * @param task L'étape, qui reçoit le résultat de la précédente.
+     * @param <T> Le type du résultat de l'étape précédente.
+     * @param <R> Le type du résultat.
+     * @return Le résultat de l'étape.
+     */
+    public <T, R> CompletableFuture<R> thenApply(CompletableFuture<T> previous, String stage, Function<? super T, ? extends R> task) {
+        return previous.thenApplyAsync(value -> timed(stage, () -> task.apply(value)), executor);
+    }
+
+    /**
+     * Lance une étape sur le thread JavaFX dès la fin d'une autre.
+     * @param previous L'étape dont elle dépend.
+     * @param stage Le nom de l'étape.
+     * @param task L'étape, qui reçoit le résultat de la précédente.
+     * @param <T> Le type du résultat de l'étape précédente.
+     * @return La fin de l'étape.
+     */
+    public <T> CompletableFuture<Void> thenAcceptOnFxThread(CompletableFuture<T> previous, String stage, Consumer<? super T> task) {
+        return previous.thenAcceptAsync(value -> timed(stage, () -> {
+            task.accept(value);
+            return null;
+        }), Platform::runLater);
+    }
+
+    /**
+     * Attend la fin d'un ensemble d'étapes, puis écrit la durée totale et libère les threads d'arrière-plan.
+     * Une étape en échec n'empêche pas les autres de se terminer.
+     * @param stages Les étapes.
+     * @return La fin de toutes les étapes.
+     */
+    public CompletableFuture<Void> whenAll(CompletableFuture<?>... stages) {
+        return CompletableFuture.allOf(stages).whenComplete((value, exception) -> {
+            System.out.println("[Startup " + (exception == null ? "complete" : "failed") + " after " + elapsed(start) + " ms]");
+            executor.shutdown();
+        });
+    }
+
+    /**
+     * Méthode d'accès à l'avancement, mis à jour sur le thread JavaFX.
+     * @return La part des étapes terminées, entre 0 et 1.
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+        return progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Exécute une étape en mesurant sa durée.
+     * @param stage Le nom de l'étape.
+     * @param task L'étape.
+     * @param <T> Le type du résultat.
+     * @return Le résultat de l'étape.
+     */
+    private <T> T timed(String stage, Callable<T> task) {
+        long stageStart = System.nanoTime();
+        try {
+            T result = task.call();
+            System.out.println("[Startup stage " + stage + " done in " + elapsed(stageStart) + " ms (at " + elapsed(start) + " ms)]");
+            Platform.runLater(() -> progress.set((double) ++completedStages / stageCount));
+            return result;
+        } catch (Exception e) {
+            System.out.println("[Startup stage " + stage + " failed]");
+            e.printStackTrace();
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        }
+    }
+
+    private static long elapsed(long since) {
+        return (System.nanoTime() - since) / 1_000_000;
+    }
+}
@@ -31,8 +31,19 @@ public abstract class Conversions {
      * @return Les coordonnées géographiques correspondantes.
      */
     public static Coordinates coord3dTogeoCoord(Point3D position) {
-        int lat = 90 - (int)(TEXTURE_LAT_OFFSET + Math.toDegrees(Math.acos(-position.getY())));
-        int lon = -(int) (TEXTURE_LON_OFFSET + Math.toDegrees(Math.atan2(position.getX(), position.getZ())));
+        return coord3dTogeoCoord(position.getX(), position.getY(), position.getZ());
+    }
+
+    /**
+     * Renvoie les coordonnées géographiques correspondant à des coordonnées 3D pour une sphère de rayon 1, sans allocation.
+     * @param x L'abscisse du point.
+     * @param y L'ordonnée du point.
+     * @param z La cote du point.
+     * @return Les coordonnées géographiques correspondantes.
+     */
+    public static Coordinates coord3dTogeoCoord(double x, double y, double z) {
+        int lat = 90 - (int)(TEXTURE_LAT_OFFSET + Math.toDegrees(Math.acos(-y)));
+        int lon = -(int) (TEXTURE_LON_OFFSET + Math.toDegrees(Math.atan2(x, z)));
 
         //Arrondir lat et lon pour obtenir une coordonnée présente dans le fichier CSV
         if (lat % 4 != 0) {
@@ -50,7 +61,26 @@ public abstract class Conversions {
         if (lon < -178) lon = -178;
         if (lon > 178)  lon = 178;
 
-        return new Coordinates(lat, lon);
+        return Coordinates.of(lat, lon);
+    }
+
+    /**
+     * Renvoie la latitude exacte, non arrondie à une zone, d'un point d'une sphère de rayon 1.
+     * @param y L'ordonnée du point.
+     * @return La latitude, en degrés.
+     */
+    public static double latitudeOf(double y) {
+        return Math.toDegrees(Math.asin(Math.max(-1, Math.min(1, -y)))) - TEXTURE_LAT_OFFSET;
+    }
+
+    /**
+     * Renvoie la longitude exacte, non arrondie à une zone, d'un point d'une sphère de rayon 1.
+     * @param x L'abscisse du point.
+     * @param z La cote du point.
+     * @return La longitude, en degrés.
+     */
+    public static double longitudeOf(double x, double z) {
+        return -(TEXTURE_LON_OFFSET + Math.toDegrees(Math.atan2(x, z)));
     }
 
     /**
@@ -0,0 +1,606 @@
+package climatechange.gui.rendering;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maillage de la Terre, lu depuis un fichier OBJ, en plusieurs niveaux de détail.
+ * Le niveau 0 est le maillage d'origine. Si celui-ci est une sphère UV (une grille régulière de quadrilatères
+ * en latitude et en longitude), les niveaux suivants regroupent 2, 4 puis 8 × 8 quadrilatères en un seul,
+ * en reprenant les sommets et coordonnées de texture d'origine aux coins des regroupements. Les regroupements
+ * sont alignés sur les coutures de la texture, qui reste donc à sa place.
+ * La géométrie de tous les niveaux est mise en cache dans un fichier binaire voisin de l'OBJ ({@link EarthMeshCache}).
+ * Un seul {@link MeshView} affiche le globe, son maillage est remplacé selon la distance de la caméra.
+ */
+public class EarthMesh {
+    private static final int[] DECIMATION_FACTORS = {1, 2, 4, 8};
+    // Écart maximal toléré, en pixels, entre la silhouette du maillage et celle de la sphère
+    private static final double MAX_SILHOUETTE_ERROR = 0.5;
+
+    private final String name, materialLibrary, materialName;
+    private final int[] segments;
+    private final float[][] points, texCoords;
+    private final int[][] faces;
+    private final TriangleMesh[] meshes;
+    private final MeshView meshView;
+    private int level = 0;
+
+    /**
+     * Constructeur de la classe.
+     * @param name Le nom de l'objet dans le fichier OBJ.
+     * @param materialLibrary Le fichier MTL référencé par l'OBJ, ou null.
+     * @param materialName Le matériau utilisé par l'objet, ou null.
+     * @param segments Le nombre de segments en longitude de chaque niveau, 0 si le maillage n'est pas une sphère UV.
+     * @param points Les coordonnées des sommets de chaque niveau.
+     * @param texCoords Les coordonnées de texture de chaque niveau.
+     * @param faces Les triangles de chaque niveau, au format point/texture de {@link TriangleMesh}.
+     */
+    EarthMesh(String name, String materialLibrary, String materialName, int[] segments, float[][] points, float[][] texCoords, int[][] faces) {
+        this.name = name;
+        this.materialLibrary = materialLibrary;
+        this.materialName = materialName;
+        this.segments = segments;
+        this.points = points;
+        this.texCoords = texCoords;
+        this.faces = faces;
+
+        meshes = new TriangleMesh[segments.length];
+        for (int i = 0; i < meshes.length; i++) {
+            meshes[i] = new TriangleMesh();
+            meshes[i].getPoints().setAll(points[i]);
+            meshes[i].getTexCoords().setAll(texCoords[i]);
+            meshes[i].getFaces().setAll(faces[i]);
+            // Un groupe de lissage unique par face, comme "s off" dans l'OBJ : rendu à facettes
+            meshes[i].getFaceSmoothingGroups().setAll(new int[faces[i].length / 6]);
+        }
+        meshView = new MeshView(meshes[0]);
+        meshView.setId(name);
+    }
+
+    /**
+     * Charge le maillage de la Terre, depuis son cache s'il est à jour, sinon depuis le fichier OBJ
+     * (le cache est alors réécrit). Le matériau est lu dans le fichier MTL référencé par l'OBJ.
+     * Peut être appelée hors du thread JavaFX, tant que le {@link MeshView} n'est pas encore dans la scène.
+     * @param objUrl L'URL du fichier OBJ.
+     * @return Le maillage.
+     * @throws IOException Si le fichier OBJ ne peut pas être lu.
+     */
+    public static EarthMesh load(URL objUrl) throws IOException {
+        Path source = toPath(objUrl);
+        EarthMesh earthMesh = null;
+
+        // Lecture du cache (uniquement pour un fichier local, pas dans une archive)
+        if (source != null) {
+            try {
+                earthMesh = EarthMeshCache.read(source);
+                if (earthMesh != null) System.out.println("[Reading cache " + EarthMeshCache.cachePath(source) + "]");
+            } catch (IOException e) {
+                System.out.println("[Could not read cache of " + source + "]");
+                e.printStackTrace();
+            }
+        }
+
+        if (earthMesh == null) {
+            earthMesh = parse(objUrl);
+            if (source != null) {
+                try {
+                    EarthMeshCache.write(source, earthMesh);
+                    System.out.println("[Wrote cache " + EarthMeshCache.cachePath(source) + "]");
+                } catch (IOException e) {
+                    System.out.println("[Could not write cache of " + source + "]");
+                    e.printStackTrace();
+                }
+            }
+        }
+
+        earthMesh.loadMaterial(objUrl);
+        return earthMesh;
+    }
+
+    /**
+     * Lit un fichier OBJ et calcule ses niveaux de détail. Seuls les sommets, les coordonnées de texture,
+     * les faces, le nom de l'objet et le matériau sont lus ; les polygones sont découpés en éventail de triangles.
+     * @param objUrl L'URL du fichier OBJ.
+     * @return Le maillage.
+     * @throws IOException Si le fichier ne peut pas être lu.
+     */
+    public static EarthMesh parse(URL objUrl) throws IOException {
+        FloatList positions = new FloatList(), uvs = new FloatList();
+        List<int[]> polygons = new ArrayList<>();
+        String name = null, materialLibrary = null, materialName = null;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(objUrl.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] tokens = line.trim().split("\\s+");
+                switch (tokens[0]) {
+                    case "v":
+                        // Repère de Blender (y vers le haut) vers celui de JavaFX (y vers le bas), comme ObjModelImporter
+                        positions.add(Float.parseFloat(tokens[1]), -Float.parseFloat(tokens[2]), -Float.parseFloat(tokens[3]));
+                        break;
+                    case "vt":
+                        // L'axe v des fichiers OBJ est inversé par rapport à celui de JavaFX
+                        uvs.add(Float.parseFloat(tokens[1]), 1 - Float.parseFloat(tokens[2]));
+                        break;
+                    case "f":
+                        // Chaque coin : indice du sommet puis de la coordonnée de texture (-1 si absente)
+                        int[] polygon = new int[(tokens.length - 1) * 2];
+                        for (int i = 1; i < tokens.length; i++) {
+                            String[] indices = tokens[i].split("/");
+                            polygon[(i - 1) * 2] = objIndex(indices[0], positions.size() / 3);
+                            polygon[(i - 1) * 2 + 1] = indices.length > 1 && !indices[1].isEmpty() ? objIndex(indices[1], uvs.size() / 2) : -1;
+                        }
+                        polygons.add(polygon);
+                        break;
+                    case "o":
+                        if (name == null && tokens.length > 1) name = tokens[1];
+                        break;
+                    case "mtllib":
+                        if (tokens.length > 1) materialLibrary = tokens[1];
+                        break;
+                    case "usemtl":
+                        if (materialName == null && tokens.length > 1) materialName = tokens[1];
+                        break;
+                    default:
+                }
+            }
+        }
+
+        // Coordonnée de texture par défaut pour les coins qui n'en ont pas
+        int defaultUv = uvs.size() / 2;
+        uvs.add(0, 0);
+        for (int[] polygon : polygons)
+            for (int i = 1; i < polygon.length; i += 2) if (polygon[i] < 0) polygon[i] = defaultUv;
+
+        float[] fullPoints = positions.toArray(), fullTexCoords = uvs.toArray();
+        SphereGrid grid = SphereGrid.detect(fullPoints, fullTexCoords, polygons);
+
+        List<Integer> levelSegments = new ArrayList<>();
+        List<float[]> levelPoints = new ArrayList<>(), levelTexCoords = new ArrayList<>();
+        List<int[]> levelFaces = new ArrayList<>();
+
+        levelSegments.add(grid == null ? 0 : grid.segments);
+        levelPoints.add(fullPoints);
+        levelTexCoords.add(fullTexCoords);
+        levelFaces.add(triangulate(polygons));
+
+        if (grid != null) {
+            for (int factor : DECIMATION_FACTORS) {
+                if (factor == 1 || !grid.canDecimate(factor)) continue;
+                List<int[]> quads = grid.decimate(polygons, factor);
+
+                // Seuls les sommets et coordonnées de texture utilisés sont conservés, renumérotés
+                int[] pointMap = new int[fullPoints.length / 3], uvMap = new int[fullTexCoords.length / 2];
+                Arrays.fill(pointMap, -1);
+                Arrays.fill(uvMap, -1);
+                FloatList points = new FloatList(), texCoords = new FloatList();
+                for (int[] quad : quads) {
+                    for (int i = 0; i < quad.length; i += 2) {
+                        int p = quad[i], t = quad[i + 1];
+                        if (pointMap[p] < 0) {
+                            pointMap[p] = points.size() / 3;
+                            points.add(fullPoints[p * 3], fullPoints[p * 3 + 1], fullPoints[p * 3 + 2]);
+                        }
+                        if (uvMap[t] < 0) {
+                            uvMap[t] = texCoords.size() / 2;
+                            texCoords.add(fullTexCoords[t * 2], fullTexCoords[t * 2 + 1]);
+                        }
+                        quad[i] = pointMap[p];
+                        quad[i + 1] = uvMap[t];
+                    }
+                }
+
+                levelSegments.add(grid.segments / factor);
+                levelPoints.add(points.toArray());
+                levelTexCoords.add(texCoords.toArray());
+                levelFaces.add(triangulate(quads));
+            }
+        }
+
+        return new EarthMesh(name == null ? "" : name, materialLibrary, materialName,
+                levelSegments.stream().mapToInt(Integer::intValue).toArray(),
+                levelPoints.toArray(new float[0][]), levelTexCoords.toArray(new float[0][]), levelFaces.toArray(new int[0][]));
+    }
+
+    /**
+     * Lit le matériau de l'objet dans le fichier MTL : couleurs diffuse et spéculaire, brillance et texture diffuse.
+     * Sans fichier MTL, le matériau est blanc.
+     * @param objUrl L'URL du fichier OBJ, par rapport à laquelle le fichier MTL et la texture sont cherchés.
+     */
+    private void loadMaterial(URL objUrl) {
+        PhongMaterial material = new PhongMaterial(Color.WHITE);
+        if (materialLibrary != null) {
+            try {
+                URL mtlUrl = new URL(objUrl, materialLibrary);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(mtlUrl.openStream(), StandardCharsets.UTF_8))) {
+                    boolean current = materialName == null;
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        String[] tokens = line.trim().split("\\s+");
+                        if (tokens[0].equals("newmtl")) current = materialName == null || (tokens.length > 1 && tokens[1].equals(materialName));
+                        else if (!current) continue;
+
+                        switch (tokens[0]) {
+                            case "Kd":
+                                material.setDiffuseColor(color(tokens));
+                                break;
+                            case "Ks":
+                                material.setSpecularColor(color(tokens));
+                                break;
+                            case "Ns":
+                                material.setSpecularPower(Double.parseDouble(tokens[1]));
+                                break;
+                            case "map_Kd":
+                                // Chargée en arrière-plan : le globe s'affiche sans attendre la texture
+                                material.setDiffuseMap(new Image(new URL(mtlUrl, tokens[tokens.length - 1]).toExternalForm(), true));
+                                break;
+                            default:
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("[Could not read material library " + materialLibrary + "]");
+                e.printStackTrace();
+            }
+        }
+        meshView.setMaterial(material);
+    }
+
+    /**
+     * Renvoie le niveau de détail le plus grossier dont la silhouette reste à moins d'un demi-pixel de celle
+     * de la sphère, pour une sphère de rayon 1 vue depuis une certaine distance de son centre.
+     * Un polygone régulier à n côtés inscrit dans un cercle de rayon r s'en écarte au plus de r(1 - cos(π/n)).
+     * @param distance La distance entre la caméra et le centre de la sphère.
+     * @param viewportSize La hauteur (ou largeur, selon le champ de vision) de la vue, en pixels.
+     * @param fieldOfView Le champ de vision de la caméra, en degrés.
+     * @return Le niveau de détail.
+     */
+    public int levelFor(double distance, double viewportSize, double fieldOfView) {
+        if (distance <= 1) return 0;
+        // Rayon apparent de la sphère, en pixels
+        double radius = Math.tan(Math.asin(1 / distance)) * (viewportSize / 2) / Math.tan(Math.toRadians(fieldOfView) / 2);
+
+        int best = 0;
+        for (int i = 1; i < segments.length; i++)
+            if (radius * (1 - Math.cos(Math.PI / segments[i])) <= MAX_SILHOUETTE_ERROR) best = i;
+        return best;
+    }
+
+    /**
+     * Affiche un niveau de détail.
+     * @param level Le niveau de détail, entre 0 (maillage d'origine) et {@link #getLevelCount()} - 1.
+     */
+    public void setLevel(int level) {
+        if (level == this.level) return;
+        this.level = level;
+        meshView.setMesh(meshes[level]);
+    }
+
+    /**
+     * Méthode d'accès au niveau de détail affiché.
+     * @return Le niveau de détail.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Renvoie le nombre de niveaux de détail.
+     * @return Le nombre de niveaux, 1 si le maillage n'est pas une sphère UV.
+     */
+    public int getLevelCount() {
+        return segments.length;
+    }
+
+    /**
+     * Renvoie le nombre de triangles d'un niveau de détail.
+     * @param level Le niveau de détail.
+     * @return Le nombre de triangles.
+     */
+    public int getTriangleCount(int level) {
+        return faces[level].length / 6;
+    }
+
+    /**
+     * Méthode d'accès au nœud affichant le globe.
+     * @return Le MeshView.
+     */
+    public MeshView getMeshView() {
+        return meshView;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getMaterialLibrary() {
+        return materialLibrary;
+    }
+
+    String getMaterialName() {
+        return materialName;
+    }
+
+    int[] getSegments() {
+        return segments;
+    }
+
+    float[][] getPoints() {
+        return points;
+    }
+
+    float[][] getTexCoords() {
+        return texCoords;
+    }
+
+    int[][] getFaces() {
+        return faces;
+    }
+
+    /**
+     * Découpe des polygones en éventails de triangles, comme ObjModelImporter.
+     * @param polygons Les polygones, chaque coin étant un couple (sommet, coordonnée de texture).
+     * @return Les faces au format point/texture de {@link TriangleMesh}.
+     */
+    private static int[] triangulate(List<int[]> polygons) {
+        int triangles = 0;
+        for (int[] polygon : polygons) triangles += polygon.length / 2 - 2;
+
+        int[] faces = new int[triangles * 6];
+        int f = 0;
+        for (int[] polygon : polygons) {
+            for (int corner = 1; corner < polygon.length / 2 - 1; corner++) {
+                faces[f++] = polygon[0];                   faces[f++] = polygon[1];
+                faces[f++] = polygon[corner * 2];         faces[f++] = polygon[corner * 2 + 1];
+                faces[f++] = polygon[(corner + 1) * 2];   faces[f++] = polygon[(corner + 1) * 2 + 1];
+            }
+        }
+        return faces;
+    }
+
+    /**
+     * Convertit un indice OBJ (à partir de 1, ou négatif pour compter depuis la fin) en indice à partir de 0.
+     * @param token L'indice lu.
+     * @param count Le nombre d'éléments déjà lus.
+     * @return L'indice à partir de 0.
+     */
+    private static int objIndex(String token, int count) {
+        int index = Integer.parseInt(token);
+        return index < 0 ? count + index : index - 1;
+    }
+
+    private static Color color(String[] tokens) {
+        return Color.color(Double.parseDouble(tokens[1]), Double.parseDouble(tokens[2]), Double.parseDouble(tokens[3]));
+    }
+
+    /**
+     * Renvoie le chemin d'un fichier désigné par une URL locale.
+     * @param url L'URL.
+     * @return Le chemin, ou null si l'URL ne désigne pas un fichier local (ressource dans une archive par exemple).
+     */
+    private static Path toPath(URL url) {
+        if (!"file".equals(url.getProtocol())) return null;
+        try {
+            return Paths.get(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Structure de sphère UV reconnue dans un maillage : chaque quadrilatère occupe une case (anneau, segment)
+     * de la grille en latitude et longitude, et chacun de ses coins y a un rôle (bas ou haut, ouest ou est).
+     */
+    private static class SphereGrid {
+        private final int rings, segments;
+        private final int[] cells;      // case -> indice du quadrilatère
+        private final int[][] roles;    // quadrilatère -> rôle (2 × haut + est) de chaque coin
+        private final boolean[] seams;  // segment -> couture de texture sur son bord ouest
+        private final int firstSeam;
+
+        private SphereGrid(int rings, int segments, int[] cells, int[][] roles, boolean[] seams) {
+            this.rings = rings;
+            this.segments = segments;
+            this.cells = cells;
+            this.roles = roles;
+            this.seams = seams;
+            int first = 0;
+            while (first < segments && !seams[first]) first++;
+            this.firstSeam = first == segments ? 0 : first;
+        }
+
+        /**
+         * Reconnaît une sphère UV d'axe y : uniquement des quadrilatères, de même hauteur en latitude,
+         * couvrant chacun une case distincte d'une grille régulière.
+         * @param points Les coordonnées des sommets.
+         * @param texCoords Les coordonnées de texture.
+         * @param polygons Les polygones.
+         * @return La grille, ou null si le maillage n'est pas une sphère UV.
+         */
+        static SphereGrid detect(float[] points, float[] texCoords, List<int[]> polygons) {
+            if (polygons.isEmpty()) return null;
+            for (int[] polygon : polygons) if (polygon.length != 8) return null;
+
+            // Hauteur en latitude d'un quadrilatère, dont on déduit le nombre d'anneaux puis de segments
+            double[] latitudes = new double[4], longitudes = new double[4];
+            cornerAngles(points, polygons.get(0), latitudes, longitudes);
+            double height = Math.max(Math.max(latitudes[0], latitudes[1]), Math.max(latitudes[2], latitudes[3]))
+                    - Math.min(Math.min(latitudes[0], latitudes[1]), Math.min(latitudes[2], latitudes[3]));
+            if (height <= 0) return null;
+            int rings = (int) Math.round(180 / height);
+            if (rings < 2 || polygons.size() % rings != 0) return null;
+            int segments = polygons.size() / rings;
+            double ringStep = 180.0 / rings, segmentStep = 360.0 / segments;
+
+            int[] cells = new int[rings * segments];
+            Arrays.fill(cells, -1);
+            int[][] roles = new int[polygons.size()][4];
+            for (int q = 0; q < polygons.size(); q++) {
+                int[] polygon = polygons.get(q);
+                cornerAngles(points, polygon, latitudes, longitudes);
+
+                // Centre du quadrilatère, jamais sur un pôle
+                double cx = 0, cy = 0, cz = 0;
+                for (int i = 0; i < 4; i++) {
+                    int p = polygon[i * 2] * 3;
+                    double r = Math.sqrt(points[p] * points[p] + points[p + 1] * points[p + 1] + points[p + 2] * points[p + 2]);
+                    cx += points[p] / r;
+                    cy += points[p + 1] / r;
+                    cz += points[p + 2] / r;
+                }
+                double centerLatitude = Math.toDegrees(Math.atan2(cy, Math.hypot(cx, cz)));
+                double centerLongitude = Math.toDegrees(Math.atan2(cz, cx));
+
+                int ring = (int) Math.floor((centerLatitude + 90) / ringStep);
+                int segment = Math.floorMod((int) Math.floor((centerLongitude + 180) / segmentStep), segments);
+                if (ring < 0 || ring >= rings || cells[ring * segments + segment] >= 0) return null;
+                cells[ring * segments + segment] = q;
+
+                // Rôle des coins ; aux pôles, la longitude n'a pas de sens et le côté est celui du voisin de l'autre anneau
+                int[] up = new int[4], east = new int[4];
+                boolean[] pole = new boolean[4];
+                for (int i = 0; i < 4; i++) {
+                    up[i] = latitudes[i] > centerLatitude ? 1 : 0;
+                    pole[i] = Math.abs(latitudes[i]) > 90 - ringStep / 2;
+                    double offset = longitudes[i] - centerLongitude;
+                    offset -= 360 * Math.floor((offset + 180) / 360);
+                    east[i] = offset > 0 ? 1 : 0;
+                }
+                for (int i = 0; i < 4; i++) {
+                    if (!pole[i]) continue;
+                    int neighbour = up[(i + 1) % 4] != up[i] ? (i + 1) % 4 : (i + 3) % 4;
+                    if (pole[neighbour] || up[neighbour] == up[i]) return null;
+                    east[i] = east[neighbour];
+                }
+                int seen = 0;
+                for (int i = 0; i < 4; i++) {
+                    roles[q][i] = up[i] * 2 + east[i];
+                    seen |= 1 << roles[q][i];
+                }
+                if (seen != 0b1111) return null;
+            }
+
+            // Coutures : deux cases voisines dont un coin commun (hors pôle) n'a pas la même coordonnée de texture
+            boolean[] seams = new boolean[segments];
+            for (int ring = 0; ring < rings; ring++) {
+                for (int segment = 0; segment < segments; segment++) {
+                    int west = cells[ring * segments + Math.floorMod(segment - 1, segments)], east = cells[ring * segments + segment];
+                    for (int up = 0; up < 2; up++) {
+                        int[] westCorner = corner(polygons.get(west), roles[west], up * 2 + 1);
+                        int[] eastCorner = corner(polygons.get(east), roles[east], up * 2);
+                        if (Math.abs(latitude(points, westCorner[0])) > 90 - ringStep / 2) continue;
+                        if (texCoords[westCorner[1] * 2] != texCoords[eastCorner[1] * 2]
+                                || texCoords[westCorner[1] * 2 + 1] != texCoords[eastCorner[1] * 2 + 1]) seams[segment] = true;
+                    }
+                }
+            }
+            return new SphereGrid(rings, segments, cells, roles, seams);
+        }
+
+        /**
+         * Indique si les quadrilatères peuvent être regroupés par blocs de factor × factor cases
+         * sans qu'un bloc ne chevauche une couture de texture.
+         * @param factor Le facteur de réduction.
+         * @return true si le regroupement est possible.
+         */
+        boolean canDecimate(int factor) {
+            if (rings % factor != 0 || segments % factor != 0) return false;
+            for (int segment = 0; segment < segments; segment++)
+                if (seams[segment] && Math.floorMod(segment - firstSeam, factor) != 0) return false;
+            return true;
+        }
+
+        /**
+         * Regroupe les quadrilatères par blocs de factor × factor cases. Chaque coin d'un bloc reprend le sommet
+         * et la coordonnée de texture du coin de même rôle de la case d'angle correspondante, et les coins sont
+         * ordonnés comme ceux de la case d'angle sud-ouest, ce qui conserve l'orientation des faces.
+         * Les blocs commencent à la première couture de texture.
+         * @param polygons Les quadrilatères d'origine.
+         * @param factor Le facteur de réduction, diviseur du nombre d'anneaux et de segments.
+         * @return Les quadrilatères regroupés (indices dans les tableaux d'origine).
+         */
+        List<int[]> decimate(List<int[]> polygons, int factor) {
+            List<int[]> quads = new ArrayList<>(rings / factor * segments / factor);
+            for (int ring = 0; ring < rings; ring += factor) {
+                for (int block = 0; block < segments; block += factor) {
+                    int segment = firstSeam + block;
+                    int origin = cells[ring * segments + segment % segments];
+                    int[] quad = new int[8];
+                    for (int i = 0; i < 4; i++) {
+                        int role = roles[origin][i];
+                        int up = role >> 1, east = role & 1;
+                        int cell = cells[(ring + up * (factor - 1)) * segments + (segment + east * (factor - 1)) % segments];
+                        int[] corner = corner(polygons.get(cell), roles[cell], role);
+                        quad[i * 2] = corner[0];
+                        quad[i * 2 + 1] = corner[1];
+                    }
+                    quads.add(quad);
+                }
+            }
+            return quads;
+        }
+
+        /**
+         * Renvoie le coin d'un quadrilatère ayant un certain rôle.
+         * @param polygon Le quadrilatère.
+         * @param roles Les rôles de ses coins.
+         * @param role Le rôle recherché.
+         * @return Le sommet et la coordonnée de texture du coin.
+         */
+        private static int[] corner(int[] polygon, int[] roles, int role) {
+            int corner = 0;
+            while (roles[corner] != role) corner++;
+            return new int[] {polygon[corner * 2], polygon[corner * 2 + 1]};
+        }
+
+        private static double latitude(float[] points, int point) {
+            int p = point * 3;
+            return Math.toDegrees(Math.atan2(points[p + 1], Math.hypot(points[p], points[p + 2])));
+        }
+
+        private static void cornerAngles(float[] points, int[] polygon, double[] latitudes, double[] longitudes) {
+            for (int i = 0; i < 4; i++) {
+                int p = polygon[i * 2] * 3;
+                latitudes[i] = latitude(points, polygon[i * 2]);
+                longitudes[i] = Math.toDegrees(Math.atan2(points[p + 2], points[p]));
+            }
+        }
+    }
+
+    /**
+     * Liste de float extensible, sans boxing.
+     */
+    private static class FloatList {
+        private float[] values = new float[1024];
+        private int size = 0;
+
+        void add(float... added) {
+            if (size + added.length > values.length) values = Arrays.copyOf(values, Math.max(values.length * 2, size + added.length));
+            System.arraycopy(added, 0, values, size, added.length);
+            size += added.length;
+        }
+
+        int size() {
+            return size;
+        }
+
+        float[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package climatechange.gui.rendering;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Classe gérant le cache binaire du maillage de la Terre.
+ * Le cache est un fichier voisin de l'OBJ, en little-endian, composé :
+ * <ul>
+ *     <li>d'un en-tête (signature, version, taille et date de modification de l'OBJ) ;</li>
+ *     <li>du nom de l'objet, du fichier MTL et du matériau ;</li>
+ *     <li>pour chaque niveau de détail, du nombre de segments, des tailles puis des tableaux bruts
+ *     des sommets, des coordonnées de texture et des faces.</li>
+ * </ul>
+ * Le cache est lu en entier dans le tas, sans être projeté, pour pouvoir être remplacé aussitôt s'il est périmé ;
+ * un cache tronqué ou étranger est ignoré, et l'OBJ relu.
+ */
+public class EarthMeshCache {
+    public static final String EXTENSION = ".gw3m";
+
+    private static final int MAGIC = 0x4D335747; // "GW3M"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 8;
+
+    /**
+     * Renvoie le chemin du cache associé à un fichier OBJ.
+     * @param source Le fichier OBJ.
+     * @return Le chemin du cache.
+     */
+    public static Path cachePath(Path source) {
+        return source.resolveSibling(source.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Lit le cache d'un fichier OBJ s'il existe et correspond toujours au fichier.
+     * @param source Le fichier OBJ.
+     * @return Le maillage, ou null si le cache est absent, périmé ou invalide.
+     * @throws IOException Si le cache ou l'OBJ ne peuvent pas être lus.
+     */
+    public static EarthMesh read(Path source) throws IOException {
+        Path cache = cachePath(source);
+        if (!Files.isRegularFile(cache)) return null;
+
+        try (FileChannel channel = FileChannel.open(cache, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) return null;
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            while (buffer.hasRemaining()) if (channel.read(buffer) < 0) return null;
+            buffer.flip();
+
+            // Validation de l'en-tête
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+            if (buffer.getLong() != Files.size(source) || buffer.getLong() != Files.getLastModifiedTime(source).toMillis()) {
+                System.out.println("[Cache " + cache + " is outdated]");
+                return null;
+            }
+
+            // Chaînes : longueur, -1 pour null, puis octets UTF-8
+            String[] strings = new String[3];
+            for (int i = 0; i < strings.length; i++) {
+                if (buffer.remaining() < 4) return null;
+                int length = buffer.getInt();
+                if (length < -1 || length > buffer.remaining()) return null;
+                if (length >= 0) {
+                    byte[] bytes = new byte[length];
+                    buffer.get(bytes);
+                    strings[i] = new String(bytes, StandardCharsets.UTF_8);
+                }
+            }
+
+            // Niveaux de détail, chaque taille étant vérifiée avant d'allouer le tableau
+            if (buffer.remaining() < 4) return null;
+            int levelCount = buffer.getInt();
+            if (levelCount < 0 || levelCount > buffer.remaining() / 16) return null;
+            int[] segments = new int[levelCount];
+            float[][] points = new float[levelCount][], texCoords = new float[levelCount][];
+            int[][] faces = new int[levelCount][];
+            for (int i = 0; i < levelCount; i++) {
+                if (buffer.remaining() < 16) return null;
+                segments[i] = buffer.getInt();
+                int pointCount = buffer.getInt(), texCoordCount = buffer.getInt(), faceCount = buffer.getInt();
+                if (pointCount < 0 || texCoordCount < 0 || faceCount < 0
+                        || buffer.remaining() < 4L * ((long) pointCount + texCoordCount + faceCount)) return null;
+                points[i] = new float[pointCount];
+                texCoords[i] = new float[texCoordCount];
+                faces[i] = new int[faceCount];
+
+                buffer.asFloatBuffer().get(points[i]);
+                buffer.position(buffer.position() + 4 * points[i].length);
+                buffer.asFloatBuffer().get(texCoords[i]);
+                buffer.position(buffer.position() + 4 * texCoords[i].length);
+                buffer.asIntBuffer().get(faces[i]);
+                buffer.position(buffer.position() + 4 * faces[i].length);
+            }
+            return new EarthMesh(strings[0], strings[1], strings[2], segments, points, texCoords, faces);
+        }
+    }
+
+    /**
+     * Écrit le cache d'un fichier OBJ. Le cache est d'abord écrit dans un fichier temporaire
+     * puis renommé, pour ne jamais laisser de cache partiel.
+     * @param source Le fichier OBJ dont le maillage est issu.
+     * @param earthMesh Le maillage.
+     * @throws IOException Si le cache ne peut pas être écrit.
+     */
+    public static void write(Path source, EarthMesh earthMesh) throws IOException {
+        Path cache = cachePath(source);
+        Path temporary = cache.resolveSibling(cache.getFileName() + ".tmp");
+        int[] segments = earthMesh.getSegments();
+        float[][] points = earthMesh.getPoints(), texCoords = earthMesh.getTexCoords();
+        int[][] faces = earthMesh.getFaces();
+
+        byte[][] strings = {bytes(earthMesh.getName()), bytes(earthMesh.getMaterialLibrary()), bytes(earthMesh.getMaterialName())};
+        long size = HEADER_SIZE + 4;
+        for (byte[] string : strings) size += 4 + (string == null ? 0 : string.length);
+        for (int i = 0; i < segments.length; i++) size += 4 * (4L + points[i].length + texCoords[i].length + faces[i].length);
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        buffer.putLong(Files.size(source));
+        buffer.putLong(Files.getLastModifiedTime(source).toMillis());
+        for (byte[] string : strings) {
+            buffer.putInt(string == null ? -1 : string.length);
+            if (string != null) buffer.put(string);
+        }
+        buffer.putInt(segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            buffer.putInt(segments[i]).putInt(points[i].length).putInt(texCoords[i].length).putInt(faces[i].length);
+            buffer.asFloatBuffer().put(points[i]);
+            buffer.position(buffer.position() + 4 * points[i].length);
+            buffer.asFloatBuffer().put(texCoords[i]);
+            buffer.position(buffer.position() + 4 * texCoords[i].length);
+            buffer.asIntBuffer().put(faces[i]);
+            buffer.position(buffer.position() + 4 * faces[i].length);
+        }
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        }
+        Files.move(temporary, cache, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static byte[] bytes(String string) {
+        return string == null ? null : string.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,116 @@
+package climatechange.gui.rendering;
+
+import javafx.geometry.Point3D;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.BitSet;
+
+/**
+ * Maillage unique portant les quadrilatères de toutes les zones, à la place d'un MeshView par zone.
+ * La couleur d'une zone est donnée par sa coordonnée de texture dans la rampe d'une {@link MaterialPalette}.
+ */
+public class GridMesh {
+    private final MaterialPalette palette;
+    private final TriangleMesh triangleMesh = new TriangleMesh();
+    private final MeshView meshView;
+    private final float[] texCoords;
+    private final int cellCount;
+
+    /**
+     * Crée un unique maillage contenant un quadrilatère par zone de la grille.
+     * Chaque zone a sa propre coordonnée de texture, qui pointe dans la rampe de couleurs de la palette :
+     * changer d'année ne modifie donc que le tableau des coordonnées de texture.
+     * @param latitudes Les latitudes des centres des zones.
+     * @param longitudes Les longitudes des centres des zones.
+     * @param size La taille des quadrilatères.
+     * @param palette La palette dont la rampe de couleurs sert de texture.
+     */
+    public GridMesh(int[] latitudes, int[] longitudes, float size, MaterialPalette palette) {
+        this.palette = palette;
+        this.cellCount = latitudes.length;
+
+        float[] points = new float[cellCount * 4 * 3];
+        int[] faces = new int[cellCount * 2 * 6];
+        texCoords = new float[cellCount * 2];
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            float latitude = latitudes[cell], longitude = longitudes[cell];
+
+            // Mêmes sommets que Quadrilaterals.makeCenteredQuadrilateral
+            putPoint(points, cell * 4,     Conversions.geoCoordTo3dCoord(latitude + size/2, longitude + size/2).multiply(1.01));
+            putPoint(points, cell * 4 + 1, Conversions.geoCoordTo3dCoord(latitude + size/2, longitude - size/2).multiply(1.01));
+            putPoint(points, cell * 4 + 2, Conversions.geoCoordTo3dCoord(latitude - size/2, longitude - size/2).multiply(1.01));
+            putPoint(points, cell * 4 + 3, Conversions.geoCoordTo3dCoord(latitude - size/2, longitude + size/2).multiply(1.01));
+
+            // Deux triangles par zone, tous leurs sommets partagent la coordonnée de texture de la zone
+            int p = cell * 4, f = cell * 12;
+            faces[f]     = p;     faces[f + 1]  = cell;
+            faces[f + 2] = p + 1; faces[f + 3]  = cell;
+            faces[f + 4] = p + 2; faces[f + 5]  = cell;
+            faces[f + 6] = p;     faces[f + 7]  = cell;
+            faces[f + 8] = p + 2; faces[f + 9]  = cell;
+            faces[f + 10] = p + 3; faces[f + 11] = cell;
+
+            texCoords[cell * 2] = palette.getTextureCoordinate(palette.size() - 1);
+            texCoords[cell * 2 + 1] = 0.5f;
+        }
+
+        triangleMesh.getPoints().setAll(points);
+        triangleMesh.getTexCoords().setAll(texCoords);
+        triangleMesh.getFaces().setAll(faces);
+
+        meshView = new MeshView(triangleMesh);
+        meshView.setMaterial(palette.getRampMaterial());
+    }
+
+    /**
+     * Met à jour la couleur de chaque zone en réécrivant les coordonnées de texture.
+     * @param temperatures Les températures des zones, dans l'ordre de création du maillage.
+     */
+    public void update(float[] temperatures) {
+        for (int cell = 0; cell < cellCount; cell++)
+            texCoords[cell * 2] = palette.getTextureCoordinate(palette.indexOf(temperatures[cell]));
+        triangleMesh.getTexCoords().set(0, texCoords, 0, texCoords.length);
+    }
+
+    /**
+     * Met à jour la couleur de chaque zone à partir de niveaux de couleur déjà calculés.
+     * @param colorIndices L'indice dans la palette de chaque zone, dans l'ordre de création du maillage.
+     */
+    public void update(int[] colorIndices) {
+        for (int cell = 0; cell < cellCount; cell++)
+            texCoords[cell * 2] = palette.getTextureCoordinate(colorIndices[cell]);
+        triangleMesh.getTexCoords().set(0, texCoords, 0, texCoords.length);
+    }
+
+    /**
+     * Met à jour la couleur des seules zones qui ont changé. Seule la plage de coordonnées de texture
+     * allant de la première à la dernière de ces zones est recopiée dans le maillage.
+     * @param colorIndices L'indice dans la palette de chaque zone, dans l'ordre de création du maillage.
+     * @param dirty Les zones à mettre à jour.
+     */
+    public void update(int[] colorIndices, BitSet dirty) {
+        int first = dirty.nextSetBit(0);
+        if (first < 0) return;
+        int last = dirty.length() - 1;
+
+        for (int cell = first; cell >= 0; cell = dirty.nextSetBit(cell + 1))
+            texCoords[cell * 2] = palette.getTextureCoordinate(colorIndices[cell]);
+        triangleMesh.getTexCoords().set(first * 2, texCoords, first * 2, (last - first + 1) * 2);
+    }
+
+    /**
+     * Renvoie le nœud affichant le maillage.
+     * @return Le maillage sous forme de MeshView.
+     */
+    public MeshView getMeshView() {
+        return meshView;
+    }
+
+    private static void putPoint(float[] points, int index, Point3D point) {
+        points[index * 3] = (float) point.getX();
+        points[index * 3 + 1] = (float) point.getY();
+        points[index * 3 + 2] = (float) point.getZ();
+    }
+}
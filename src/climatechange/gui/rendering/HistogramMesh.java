@@ -0,0 +1,216 @@
+package climatechange.gui.rendering;
+
+import javafx.geometry.Point3D;
+import javafx.scene.shape.MeshView;
+import javafx.scene.shape.TriangleMesh;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Maillages partagés portant les histogrammes de toutes les zones, à la place d'une Box par zone.
+ * Les colonnes sont réparties en blocs de taille fixe, un maillage par bloc, et leur couleur est donnée
+ * par leur coordonnée de texture dans la rampe d'une {@link MaterialPalette}.
+ */
+public class HistogramMesh {
+    private static final int CHUNK_SIZE = 8192;
+    private static final float HALF_WIDTH = 0.005f;
+
+    private final MaterialPalette palette;
+    private final float maxTemp;
+    private final int columnCount;
+    // Pour chaque colonne : les 4 coins de sa section à la surface, puis la normale
+    private final float[] corners, normals;
+    private final List<TriangleMesh> triangleMeshes = new ArrayList<>();
+    private final List<MeshView> meshViews = new ArrayList<>();
+    private final float[] points, texCoords;
+
+    /**
+     * Crée les histogrammes de toutes les zones dans quelques maillages partagés,
+     * de {@value #CHUNK_SIZE} colonnes au plus chacun. Chaque colonne est un pavé centré sur la surface
+     * et orienté selon l'axe origine-position, comme les Box de {@link Histograms#makeHistogram}.
+     * Changer d'année ne réécrit que les sommets (hauteurs) et les coordonnées de texture (couleurs).
+     * @param latitudes Les latitudes des zones.
+     * @param longitudes Les longitudes des zones.
+     * @param palette La palette dont la rampe de couleurs sert de texture.
+     */
+    public HistogramMesh(int[] latitudes, int[] longitudes, MaterialPalette palette) {
+        this.palette = palette;
+        this.maxTemp = palette.getMaxTemp();
+        this.columnCount = latitudes.length;
+        this.corners = new float[columnCount * 12];
+        this.normals = new float[columnCount * 3];
+        this.points = new float[Math.min(columnCount, CHUNK_SIZE) * 8 * 3];
+        this.texCoords = new float[Math.min(columnCount, CHUNK_SIZE) * 2];
+
+        for (int column = 0; column < columnCount; column++) {
+            Point3D position = Conversions.geoCoordTo3dCoord(latitudes[column], longitudes[column]);
+            Point3D normal = position.normalize();
+
+            // Repère tangent (t1, t2, normale) direct
+            Point3D reference = Math.abs(normal.getY()) < 0.9 ? new Point3D(0, 1, 0) : new Point3D(1, 0, 0);
+            Point3D t1 = reference.crossProduct(normal).normalize();
+            Point3D t2 = normal.crossProduct(t1);
+
+            // Coins dans le sens direct autour de la normale
+            int[][] signs = {{1, 1}, {-1, 1}, {-1, -1}, {1, -1}};
+            for (int corner = 0; corner < 4; corner++) {
+                Point3D point = position.add(t1.multiply(signs[corner][0] * HALF_WIDTH)).add(t2.multiply(signs[corner][1] * HALF_WIDTH));
+                corners[column * 12 + corner * 3] = (float) point.getX();
+                corners[column * 12 + corner * 3 + 1] = (float) point.getY();
+                corners[column * 12 + corner * 3 + 2] = (float) point.getZ();
+            }
+            normals[column * 3] = (float) normal.getX();
+            normals[column * 3 + 1] = (float) normal.getY();
+            normals[column * 3 + 2] = (float) normal.getZ();
+        }
+
+        for (int first = 0; first < columnCount; first += CHUNK_SIZE) {
+            int count = Math.min(CHUNK_SIZE, columnCount - first);
+            TriangleMesh triangleMesh = new TriangleMesh();
+            triangleMesh.getPoints().setAll(points, 0, count * 8 * 3);
+            triangleMesh.getTexCoords().setAll(texCoords, 0, count * 2);
+            triangleMesh.getFaces().setAll(makeFaces(count));
+
+            MeshView meshView = new MeshView(triangleMesh);
+            meshView.setMaterial(palette.getRampMaterial());
+            triangleMeshes.add(triangleMesh);
+            meshViews.add(meshView);
+        }
+    }
+
+    /**
+     * Met à jour la hauteur et la couleur de chaque colonne.
+     * @param temperatures Les températures des zones, dans l'ordre de création.
+     */
+    public void update(float[] temperatures) {
+        for (int chunk = 0; chunk < triangleMeshes.size(); chunk++) {
+            int first = chunk * CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE, columnCount - first);
+
+            for (int i = 0; i < count; i++) {
+                float temperature = temperatures[first + i];
+                putColumn(i, first + i, Histograms.getHeight(temperature, maxTemp), palette.indexOf(temperature));
+            }
+            flush(chunk, count);
+        }
+    }
+
+    /**
+     * Met à jour la hauteur et la couleur de chaque colonne à partir de valeurs déjà calculées.
+     * @param colorIndices L'indice dans la palette de chaque zone, dans l'ordre de création.
+     * @param heights La hauteur de chaque zone, dans l'ordre de création.
+     */
+    public void update(int[] colorIndices, float[] heights) {
+        for (int chunk = 0; chunk < triangleMeshes.size(); chunk++) {
+            int first = chunk * CHUNK_SIZE;
+            int count = Math.min(CHUNK_SIZE, columnCount - first);
+
+            for (int i = 0; i < count; i++) putColumn(i, first + i, heights[first + i], colorIndices[first + i]);
+            flush(chunk, count);
+        }
+    }
+
+    /**
+     * Met à jour la hauteur et la couleur des seules colonnes qui ont changé. Dans chaque maillage,
+     * seule la plage de colonnes allant de la première à la dernière de ces colonnes est réécrite et recopiée ;
+     * un maillage sans colonne modifiée n'est pas touché.
+     * @param colorIndices L'indice dans la palette de chaque zone, dans l'ordre de création.
+     * @param heights La hauteur de chaque zone, dans l'ordre de création.
+     * @param dirty Les colonnes à mettre à jour.
+     */
+    public void update(int[] colorIndices, float[] heights, BitSet dirty) {
+        for (int chunk = 0; chunk < triangleMeshes.size(); chunk++) {
+            int first = chunk * CHUNK_SIZE;
+            int end = first + Math.min(CHUNK_SIZE, columnCount - first);
+
+            int from = dirty.nextSetBit(first);
+            if (from < 0 || from >= end) continue;
+            int to = dirty.previousSetBit(end - 1);
+
+            // Les colonnes intactes de la plage sont réécrites aussi : les tableaux de travail sont partagés entre maillages
+            for (int column = from; column <= to; column++) putColumn(column - first, column, heights[column], colorIndices[column]);
+            flush(chunk, from - first, to - from + 1);
+        }
+    }
+
+    /**
+     * Écrit les sommets et la coordonnée de texture d'une colonne dans les tableaux de travail.
+     * @param i La position de la colonne dans son maillage.
+     * @param column L'indice de la colonne.
+     * @param height La hauteur de la colonne.
+     * @param colorIndex Le niveau de couleur de la colonne.
+     */
+    private void putColumn(int i, int column, float height, int colorIndex) {
+        float halfHeight = height / 2;
+        float nx = normals[column * 3] * halfHeight, ny = normals[column * 3 + 1] * halfHeight, nz = normals[column * 3 + 2] * halfHeight;
+
+        // Sommets 0 à 3 : base, 4 à 7 : sommet de la colonne
+        for (int corner = 0; corner < 4; corner++) {
+            int c = column * 12 + corner * 3, bottom = (i * 8 + corner) * 3, top = bottom + 12;
+            points[bottom] = corners[c] - nx;
+            points[bottom + 1] = corners[c + 1] - ny;
+            points[bottom + 2] = corners[c + 2] - nz;
+            points[top] = corners[c] + nx;
+            points[top + 1] = corners[c + 1] + ny;
+            points[top + 2] = corners[c + 2] + nz;
+        }
+        texCoords[i * 2] = palette.getTextureCoordinate(colorIndex);
+        texCoords[i * 2 + 1] = 0.5f;
+    }
+
+    /**
+     * Copie les tableaux de travail dans le maillage d'un bloc de colonnes.
+     * @param chunk L'indice du maillage.
+     * @param count Le nombre de colonnes du maillage.
+     */
+    private void flush(int chunk, int count) {
+        flush(chunk, 0, count);
+    }
+
+    /**
+     * Copie une plage des tableaux de travail dans le maillage d'un bloc de colonnes.
+     * @param chunk L'indice du maillage.
+     * @param from La position de la première colonne de la plage dans le maillage.
+     * @param count Le nombre de colonnes de la plage.
+     */
+    private void flush(int chunk, int from, int count) {
+        TriangleMesh triangleMesh = triangleMeshes.get(chunk);
+        triangleMesh.getPoints().set(from * 8 * 3, points, from * 8 * 3, count * 8 * 3);
+        triangleMesh.getTexCoords().set(from * 2, texCoords, from * 2, count * 2);
+    }
+
+    /**
+     * Renvoie les nœuds affichant les histogrammes.
+     * @return Les maillages sous forme de MeshView.
+     */
+    public List<MeshView> getMeshViews() {
+        return meshViews;
+    }
+
+    /**
+     * Crée les faces de colonnes consécutives : le dessus et les 4 côtés (la base est dans la Terre).
+     * @param count Le nombre de colonnes.
+     * @return Les faces, au format points/coordonnées de texture de TriangleMesh.
+     */
+    private static int[] makeFaces(int count) {
+        int[] faces = new int[count * 10 * 6];
+        int f = 0;
+        for (int column = 0; column < count; column++) {
+            int b = column * 8, t = b + 4;
+            int[] triangles = {
+                    t, t + 1, t + 2,    t, t + 2, t + 3,
+                    b, b + 1, t + 1,    b, t + 1, t,
+                    b + 1, b + 2, t + 2,    b + 1, t + 2, t + 1,
+                    b + 2, b + 3, t + 3,    b + 2, t + 3, t + 2,
+                    b + 3, b, t,    b + 3, t, t + 3
+            };
+            for (int vertex : triangles) {
+                faces[f++] = vertex;
+                faces[f++] = column;
+            }
+        }
+        return faces;
+    }
+}
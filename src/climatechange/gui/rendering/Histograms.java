@@ -17,6 +17,17 @@ public abstract class Histograms {
      * @return L'histogramme sous forme de Box.
      */
     public static Box makeHistogram(int latitude, int longitude, float temperature, float maxTemp, float minTemp) {
+        return makeHistogram(latitude, longitude, new PhongMaterial(Conversions.temperatureToColor(temperature, minTemp, maxTemp)));
+    }
+
+    /**
+     * Crée un histogramme avec un matériau partagé, centré sur une position géographique donnée.
+     * @param latitude La latitude de la position géographique.
+     * @param longitude La longitude de la position géographique.
+     * @param material Le matériau de l'histogramme, par exemple issu d'une {@link MaterialPalette}.
+     * @return L'histogramme sous forme de Box.
+     */
+    public static Box makeHistogram(int latitude, int longitude, PhongMaterial material) {
         Box box = new Box(0.01, 0.6, 0.01);//temperature > 0 ? 0.6 * temperature/maxTemp : 0.01, 0.01);
         Point3D position = Conversions.geoCoordTo3dCoord(latitude, longitude);
 
@@ -32,8 +43,19 @@ public abstract class Histograms {
         box.getTransforms().addAll(translate, rotate);
 
         // Couleur du cylindre
-        box.setMaterial(new PhongMaterial(Conversions.temperatureToColor(temperature, minTemp, maxTemp)));
+        box.setMaterial(material);
 
         return box;
     }
+
+    /**
+     * Renvoie la hauteur d'un histogramme proportionnelle à une température positive.
+     * Les températures négatives ou non renseignées ont une hauteur minimale.
+     * @param temperature La température.
+     * @param maxTemp L'anomalie de température la plus haute.
+     * @return La hauteur de l'histogramme.
+     */
+    public static float getHeight(float temperature, float maxTemp) {
+        return temperature > 0 ? (float)Math.round(60 * temperature/maxTemp) / 100 : 0.01f;
+    }
 }
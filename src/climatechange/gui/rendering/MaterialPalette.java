@@ -0,0 +1,140 @@
+package climatechange.gui.rendering;
+
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.PhongMaterial;
+
+/**
+ * Palette de matériaux partagés entre toutes les zones : les températures sont quantifiées en niveaux de couleur,
+ * et chaque niveau a un unique PhongMaterial. Les quadrilatères et les histogrammes d'une même couleur partagent
+ * donc leur matériau, et les maillages fusionnés lisent leurs couleurs dans une rampe d'un pixel par niveau.
+ */
+public class MaterialPalette {
+    /** Nombre de niveaux de couleur par défaut, hors valeurs NaN. */
+    public static final int DEFAULT_SIZE = 64;
+
+    private final float minTemp, maxTemp;
+    private final int negativeBuckets, positiveBuckets;
+    private final Color[] colors;
+    private final PhongMaterial[] materials;
+    private PhongMaterial rampMaterial;
+
+    /**
+     * Crée une palette de matériaux partagés, répartis en niveaux de température entre le minimum et le maximum.
+     * Les températures négatives et positives ont chacune la moitié des niveaux, comme les deux échelles
+     * de {@link Conversions#temperatureToColor(float, float, float)}. Un dernier niveau est réservé aux valeurs NaN.
+     * @param minTemp Le minimum de température (= bleu pur).
+     * @param maxTemp Le maximum de température (= rouge pur).
+     * @param size Le nombre de niveaux de couleur, hors valeurs NaN.
+     */
+    public MaterialPalette(float minTemp, float maxTemp, int size) {
+        this.minTemp = minTemp;
+        this.maxTemp = maxTemp;
+        this.negativeBuckets = Math.max(1, size / 2);
+        this.positiveBuckets = Math.max(1, size - negativeBuckets);
+        this.colors = new Color[negativeBuckets + positiveBuckets + 1];
+        this.materials = new PhongMaterial[colors.length];
+
+        // Couleur du centre de chaque niveau
+        for (int i = 0; i < negativeBuckets; i++)
+            colors[i] = Conversions.temperatureToColor(minTemp * (negativeBuckets - i - 0.5f) / negativeBuckets, minTemp, maxTemp);
+        for (int i = 0; i < positiveBuckets; i++)
+            colors[negativeBuckets + i] = Conversions.temperatureToColor(maxTemp * (i + 0.5f) / positiveBuckets, minTemp, maxTemp);
+        colors[colors.length - 1] = Conversions.temperatureToColor(Float.NaN, minTemp, maxTemp);
+
+        for (int i = 0; i < colors.length; i++) materials[i] = new PhongMaterial(colors[i]);
+    }
+
+    /**
+     * Renvoie le niveau de couleur d'une température.
+     * @param temperature La température.
+     * @return L'indice du niveau dans la palette.
+     */
+    public int indexOf(float temperature) {
+        if (temperature != temperature) return colors.length - 1; // NaN
+        if (temperature > 0) {
+            int index = (int) (temperature / maxTemp * positiveBuckets);
+            return negativeBuckets + Math.min(Math.max(index, 0), positiveBuckets - 1);
+        }
+        int index = (int) (temperature / minTemp * negativeBuckets);
+        return negativeBuckets - 1 - Math.min(Math.max(index, 0), negativeBuckets - 1);
+    }
+
+    /**
+     * Renvoie le nombre de niveaux de la palette, niveau NaN compris.
+     * @return La taille de la palette.
+     */
+    public int size() {
+        return colors.length;
+    }
+
+    /**
+     * Renvoie la couleur d'un niveau.
+     * @param index L'indice du niveau.
+     * @return La couleur du niveau.
+     */
+    public Color getColor(int index) {
+        return colors[index];
+    }
+
+    /**
+     * Renvoie le matériau partagé d'un niveau.
+     * @param index L'indice du niveau.
+     * @return Le matériau du niveau.
+     */
+    public PhongMaterial getMaterial(int index) {
+        return materials[index];
+    }
+
+    /**
+     * Renvoie le matériau partagé correspondant à une température.
+     * @param temperature La température.
+     * @return Le matériau de son niveau.
+     */
+    public PhongMaterial getMaterial(float temperature) {
+        return materials[indexOf(temperature)];
+    }
+
+    /**
+     * Renvoie le matériau dont la texture est la rampe de couleurs de la palette,
+     * un pixel par niveau, pour les maillages colorés par coordonnées de texture.
+     * @return Le matériau texturé, créé au premier appel.
+     */
+    public PhongMaterial getRampMaterial() {
+        if (rampMaterial == null) {
+            WritableImage ramp = new WritableImage(colors.length, 1);
+            PixelWriter pixelWriter = ramp.getPixelWriter();
+            for (int i = 0; i < colors.length; i++) pixelWriter.setColor(i, 0, colors[i]);
+
+            rampMaterial = new PhongMaterial();
+            rampMaterial.setDiffuseMap(ramp);
+        }
+        return rampMaterial;
+    }
+
+    /**
+     * Renvoie la coordonnée de texture horizontale du centre d'un niveau dans la rampe de couleurs.
+     * @param index L'indice du niveau.
+     * @return La coordonnée u, entre 0 et 1.
+     */
+    public float getTextureCoordinate(int index) {
+        return (index + 0.5f) / colors.length;
+    }
+
+    /**
+     * Méthode d'accès au minimum de température de la palette.
+     * @return La température la plus froide, affichée en bleu pur.
+     */
+    public float getMinTemp() {
+        return minTemp;
+    }
+
+    /**
+     * Méthode d'accès au maximum de température de la palette.
+     * @return La température la plus chaude, affichée en rouge pur.
+     */
+    public float getMaxTemp() {
+        return maxTemp;
+    }
+}
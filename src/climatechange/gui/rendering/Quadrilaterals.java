@@ -16,10 +16,22 @@ public abstract class Quadrilaterals {
      * @return Le quadrilatère sous forme de MeshView.
      */
     public static MeshView makeCenteredQuadrilateral(float latitude, float longitude, Color color, float size) {
+        return makeCenteredQuadrilateral(latitude, longitude, new PhongMaterial(color), size);
+    }
+
+    /**
+     * Crée un quadrilatère (carré) centré sur des coordonnées géographiques avec un matériau partagé et une taille donnés.
+     * @param latitude Latitude du centre du quadrilatère.
+     * @param longitude Longitude du centre du quadrilatère.
+     * @param material Le matériau du quadrilatère, par exemple issu d'une {@link MaterialPalette}.
+     * @param size La taille du quadrilatère.
+     * @return Le quadrilatère sous forme de MeshView.
+     */
+    public static MeshView makeCenteredQuadrilateral(float latitude, float longitude, PhongMaterial material, float size) {
         return makeQuadrilateral(Conversions.geoCoordTo3dCoord(latitude + size/2, longitude + size/2).multiply(1.01),
                                  Conversions.geoCoordTo3dCoord(latitude - size/2, longitude + size/2).multiply(1.01),
                                  Conversions.geoCoordTo3dCoord(latitude - size/2, longitude - size/2).multiply(1.01),
-                                 Conversions.geoCoordTo3dCoord(latitude + size/2, longitude - size/2).multiply(1.01), color);
+                                 Conversions.geoCoordTo3dCoord(latitude + size/2, longitude - size/2).multiply(1.01), material);
     }
 
     /**
@@ -32,6 +44,19 @@ public abstract class Quadrilaterals {
      * @return Le quadrilatère sous forme de MeshView.
      */
     public static MeshView makeQuadrilateral(Point3D topRight, Point3D bottomRight, Point3D bottomLeft, Point3D topLeft, Color color) {
+        return makeQuadrilateral(topRight, bottomRight, bottomLeft, topLeft, new PhongMaterial(color));
+    }
+
+    /**
+     * Crée un quadrilatère ayant une position et un matériau donnés.
+     * @param topRight Le coin en haut à droite du quadrilatère.
+     * @param bottomRight Le coin en bas à droite du quadrilatère.
+     * @param bottomLeft Le coin en bas à gauche du quadrilatère.
+     * @param topLeft Le coin en haut à gauche du quadrilatère.
+     * @param material Le matériau du quadrilatère.
+     * @return Le quadrilatère sous forme de MeshView.
+     */
+    public static MeshView makeQuadrilateral(Point3D topRight, Point3D bottomRight, Point3D bottomLeft, Point3D topLeft, PhongMaterial material) {
         final TriangleMesh triangleMesh = new TriangleMesh();
 
         final float[] points = {
@@ -58,7 +83,7 @@ public abstract class Quadrilaterals {
         triangleMesh.getFaces().setAll(faces);
 
         final MeshView meshView = new MeshView(triangleMesh);
-        meshView.setMaterial(new PhongMaterial(color));
+        meshView.setMaterial(material);
         return meshView;
     }
 }